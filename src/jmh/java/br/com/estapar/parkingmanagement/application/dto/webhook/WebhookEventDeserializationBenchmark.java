@@ -0,0 +1,42 @@
+package br.com.estapar.parkingmanagement.application.dto.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da desserialização JSON do {@link WebhookEventDTO} para cada {@link EventType}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookEventDeserializationBenchmark {
+
+    @Param({"ENTRY", "PARKED", "EXIT"})
+    public EventType eventType;
+
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        reader = new ObjectMapper().readerFor(WebhookEventDTO.class);
+        String json = switch (eventType) {
+            case ENTRY -> "{\"license_plate\":\"ZUL0001\",\"entry_time\":\"2025-01-01T12:00:00.000Z\",\"event_type\":\"ENTRY\"}";
+            case PARKED -> "{\"license_plate\":\"ZUL0001\",\"lat\":-23.561684,\"lng\":-46.655981,\"event_type\":\"PARKED\"}";
+            case EXIT -> "{\"license_plate\":\"ZUL0001\",\"exit_time\":\"2025-01-01T14:30:00.000Z\",\"event_type\":\"EXIT\"}";
+        };
+        payload = json.getBytes();
+    }
+
+    @Benchmark
+    public WebhookEventDTO deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+}
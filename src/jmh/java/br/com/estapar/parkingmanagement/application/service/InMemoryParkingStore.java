@@ -0,0 +1,289 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.domain.model.*;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.ActiveSessionView;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SectorOccupancyCount;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SpotStatusView;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.ParkingRecordRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorDailyRevenueRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.VehicleRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Repositórios falsos em memória para os benchmarks, implementados com proxies dinâmicos.
+ * Cobrem apenas os métodos usados pelos serviços; qualquer outro lança {@link UnsupportedOperationException}.
+ */
+final class InMemoryParkingStore {
+
+    final Map<String, Vehicle> vehicles = new ConcurrentHashMap<>();
+    final Map<Long, Sector> sectors = new ConcurrentHashMap<>();
+    final Map<Long, Spot> spots = new ConcurrentHashMap<>();
+    final Map<Long, ParkingRecord> records = new ConcurrentHashMap<>();
+    final Map<String, BigDecimal> dailyRevenue = new ConcurrentHashMap<>();
+    private final AtomicLong recordIds = new AtomicLong();
+
+    final VehicleRepository vehicleRepository = proxy(VehicleRepository.class, this::vehicleCall);
+    final SpotRepository spotRepository = proxy(SpotRepository.class, this::spotCall);
+    final SectorRepository sectorRepository = proxy(SectorRepository.class, this::sectorCall);
+    final ParkingRecordRepository parkingRecordRepository = proxy(ParkingRecordRepository.class, this::recordCall);
+    final SectorDailyRevenueRepository sectorDailyRevenueRepository =
+            proxy(SectorDailyRevenueRepository.class, this::dailyRevenueCall);
+
+    /**
+     * Cria um setor com {@code spotCount} vagas dispostas em linha.
+     */
+    void createSector(long sectorId, String name, int spotCount, BigDecimal basePrice) {
+        Sector sector = new Sector();
+        sector.setId(sectorId);
+        sector.setName(name);
+        sector.setMaxCapacity(spotCount);
+        sector.setBasePrice(basePrice);
+        sectors.put(sectorId, sector);
+        for (int i = 0; i < spotCount; i++) {
+            Spot spot = new Spot();
+            spot.setId(sectorId * 100_000 + i);
+            spot.setSector(sector);
+            spot.setLat(-23.5 + i * 0.0001);
+            spot.setLng(-46.6);
+            spots.put(spot.getId(), spot);
+            sector.getSpots().add(spot);
+        }
+    }
+
+    private Object vehicleCall(String method, Object[] args) {
+        return switch (method) {
+            case "findById" -> Optional.ofNullable(vehicles.get((String) args[0]));
+            case "save" -> {
+                Vehicle vehicle = (Vehicle) args[0];
+                vehicles.put(vehicle.getLicensePlate(), vehicle);
+                yield vehicle;
+            }
+            default -> unsupported(method);
+        };
+    }
+
+    private Object spotCall(String method, Object[] args) {
+        return switch (method) {
+            case "findById" -> Optional.ofNullable(spots.get((Long) args[0]));
+            case "findAll" -> new ArrayList<>(spots.values());
+            case "save" -> args[0];
+            case "findByLatAndLng" -> spots.values().stream()
+                    .filter(spot -> spot.getLat().equals(args[0]) && spot.getLng().equals(args[1]))
+                    .findFirst();
+            case "findStatusById" -> Optional.ofNullable(spots.get((Long) args[0])).map(this::spotStatusView);
+            case "findStatusByLatAndLng" -> spots.values().stream()
+                    .filter(spot -> spot.getLat().equals(args[0]) && spot.getLng().equals(args[1]))
+                    .findFirst()
+                    .map(this::spotStatusView);
+            case "getReferenceById" -> spots.get((Long) args[0]);
+            case "claimIfFree" -> updateOccupiedIf((Long) args[0], false, true);
+            case "releaseIfHeld" -> updateOccupiedIf((Long) args[0], true, false);
+            case "countOccupiedGroupedBySector" -> spots.values().stream()
+                    .filter(Spot::isOccupied)
+                    .collect(Collectors.groupingBy(spot -> spot.getSector().getId(), Collectors.counting()))
+                    .entrySet().stream()
+                    .map(entry -> (SectorOccupancyCount) new SectorOccupancyCount() {
+                        @Override
+                        public Long getSectorId() {
+                            return entry.getKey();
+                        }
+
+                        @Override
+                        public long getOccupied() {
+                            return entry.getValue();
+                        }
+                    })
+                    .toList();
+            default -> unsupported(method);
+        };
+    }
+
+    // Como o LEFT JOIN da consulta: sem estadia ativa na vaga, os dados da estadia vêm nulos
+    private SpotStatusView spotStatusView(Spot spot) {
+        Optional<ParkingRecord> active = records.values().stream()
+                .filter(record -> record.getStatus() == ParkingStatus.ACTIVE && record.getSpot().equals(spot))
+                .findFirst();
+        return new SpotStatusView() {
+            @Override
+            public Long getSpotId() {
+                return spot.getId();
+            }
+
+            @Override
+            public Boolean getOccupied() {
+                return spot.isOccupied();
+            }
+
+            @Override
+            public String getLicensePlate() {
+                return active.map(record -> record.getVehicle().getLicensePlate()).orElse(null);
+            }
+
+            @Override
+            public LocalDateTime getEntryTime() {
+                return active.map(ParkingRecord::getEntryTime).orElse(null);
+            }
+
+            @Override
+            public BigDecimal getPricePerHour() {
+                return active.map(ParkingRecord::getPricePerHour).orElse(null);
+            }
+        };
+    }
+
+    // Sincronizado na vaga, como o bloqueio de linha do UPDATE condicional
+    private int updateOccupiedIf(Long spotId, boolean expected, boolean occupied) {
+        Spot spot = spots.get(spotId);
+        if (spot == null) {
+            return 0;
+        }
+        synchronized (spot) {
+            if (spot.isOccupied() != expected) {
+                return 0;
+            }
+            spot.setOccupied(occupied);
+            return 1;
+        }
+    }
+
+    private Object sectorCall(String method, Object[] args) {
+        return switch (method) {
+            case "findById" -> Optional.ofNullable(sectors.get((Long) args[0]));
+            case "findByName" -> sectors.values().stream()
+                    .filter(sector -> sector.getName().equals(args[0]))
+                    .findFirst();
+            default -> unsupported(method);
+        };
+    }
+
+    private Object recordCall(String method, Object[] args) {
+        return switch (method) {
+            case "save" -> {
+                ParkingRecord record = (ParkingRecord) args[0];
+                if (record.getId() == null) {
+                    record.setId(recordIds.incrementAndGet());
+                }
+                records.put(record.getId(), record);
+                yield record;
+            }
+            case "findByVehicleLicensePlateAndStatus" -> records.values().stream()
+                    .filter(record -> record.getStatus() == args[1]
+                            && record.getVehicle().getLicensePlate().equals(args[0]))
+                    .findFirst();
+            case "findSessionByPlateAndStatus" -> records.values().stream()
+                    .filter(record -> record.getStatus() == args[1]
+                            && record.getVehicle().getLicensePlate().equals(args[0]))
+                    .findFirst()
+                    .map(InMemoryParkingStore::sessionView);
+            case "completeActiveRecord" -> {
+                ParkingRecord record = records.get((Long) args[0]);
+                if (record == null || record.getStatus() != ParkingStatus.ACTIVE) {
+                    yield 0;
+                }
+                record.setExitTime((LocalDateTime) args[1]);
+                record.setFinalFare((BigDecimal) args[2]);
+                record.setStatus(ParkingStatus.COMPLETED);
+                yield 1;
+            }
+            case "sumFinalFareBySectorAndDateRange" -> records.values().stream()
+                    .filter(record -> record.getStatus() == args[1]
+                            && record.getSpot().getSector().equals(args[0])
+                            && !record.getExitTime().isBefore((LocalDateTime) args[2])
+                            && record.getExitTime().isBefore((LocalDateTime) args[3]))
+                    .map(ParkingRecord::getFinalFare)
+                    .reduce(BigDecimal::add)
+                    .orElse(null);
+            default -> unsupported(method);
+        };
+    }
+
+    private static ActiveSessionView sessionView(ParkingRecord record) {
+        return new ActiveSessionView() {
+            @Override
+            public Long getRecordId() {
+                return record.getId();
+            }
+
+            @Override
+            public String getLicensePlate() {
+                return record.getVehicle().getLicensePlate();
+            }
+
+            @Override
+            public Long getSpotId() {
+                return record.getSpot().getId();
+            }
+
+            @Override
+            public Long getSectorId() {
+                return record.getSpot().getSector().getId();
+            }
+
+            @Override
+            public Double getLat() {
+                return record.getSpot().getLat();
+            }
+
+            @Override
+            public Double getLng() {
+                return record.getSpot().getLng();
+            }
+
+            @Override
+            public LocalDateTime getEntryTime() {
+                return record.getEntryTime();
+            }
+
+            @Override
+            public BigDecimal getPricePerHour() {
+                return record.getPricePerHour();
+            }
+        };
+    }
+
+    private Object dailyRevenueCall(String method, Object[] args) {
+        return switch (method) {
+            case "findTotalRevenue" -> Optional.ofNullable(dailyRevenue.get(dailyRevenueKey(args)));
+            case "addToTotal" -> dailyRevenue.computeIfPresent(dailyRevenueKey(args),
+                    (key, total) -> total.add((BigDecimal) args[2])) != null ? 1 : 0;
+            case "insertIfAbsent" -> dailyRevenue.putIfAbsent(dailyRevenueKey(args), (BigDecimal) args[2]) == null ? 1 : 0;
+            default -> unsupported(method);
+        };
+    }
+
+    private static String dailyRevenueKey(Object[] args) {
+        return args[0] + "/" + (LocalDate) args[1];
+    }
+
+    private static Object unsupported(String method) {
+        throw new UnsupportedOperationException("Método não suportado pelo repositório em memória: " + method);
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object apply(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> repositoryType, Call call) {
+        InvocationHandler handler = (Object proxy, Method method, Object[] args) -> switch (method.getName()) {
+            case "toString" -> "InMemory" + repositoryType.getSimpleName();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> call.apply(method.getName(), args);
+        };
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler);
+    }
+}
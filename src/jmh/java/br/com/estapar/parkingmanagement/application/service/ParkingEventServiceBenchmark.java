@@ -0,0 +1,126 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.SectorOccupancyRegistry;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex;
+import br.com.estapar.parkingmanagement.application.dto.query.PlateStatusResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.SpotStatusResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dos caminhos críticos do {@link ParkingEventService} com repositórios em memória,
+ * isolando o custo da lógica de serviço e das estruturas em memória do custo do banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParkingEventServiceBenchmark {
+
+    private static final long SECTOR_ID = 1L;
+    private static final int SPOTS = 1_000;
+    // Vagas [0, PARKED_SPOTS) ficam ocupadas durante todo o benchmark; as demais giram no ciclo PARKED/EXIT
+    private static final int PARKED_SPOTS = 500;
+
+    private InMemoryParkingStore store;
+    private ParkingEventService service;
+    private Sector sector;
+    private Spot occupiedSpot;
+    private String parkedPlate;
+    private int cycle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new InMemoryParkingStore();
+        store.createSector(SECTOR_ID, "A", SPOTS, new BigDecimal("10.00"));
+        sector = store.sectors.get(SECTOR_ID);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SectorOccupancyRegistry occupancyRegistry = new SectorOccupancyRegistry(store.spotRepository, meterRegistry);
+        SpotSpatialIndex spatialIndex = new SpotSpatialIndex(0.00001);
+        ActiveSessionCache sessionCache = new ActiveSessionCache(meterRegistry);
+        SpotOccupancyBitmap occupancyBitmap = new SpotOccupancyBitmap();
+        service = new ParkingEventService(store.vehicleRepository, store.spotRepository, store.parkingRecordRepository,
+                store.sectorRepository, occupancyRegistry, spatialIndex, sessionCache, occupancyBitmap, new FareCalculator(),
+                new RevenueRollupService(store.sectorDailyRevenueRepository, false, 12), new ParkingEventMetrics(meterRegistry));
+
+        occupancyRegistry.reload();
+        spatialIndex.rebuild(store.spots.values());
+        occupancyBitmap.rebuild(store.sectors.values(), store.spots.values());
+
+        for (int i = 0; i < SPOTS; i++) {
+            service.processEvent(event(EventType.ENTRY, plate(i), null));
+        }
+        for (int i = 0; i < PARKED_SPOTS; i++) {
+            service.processEvent(event(EventType.PARKED, plate(i), spot(i)));
+        }
+        occupiedSpot = spot(0);
+        parkedPlate = plate(0);
+    }
+
+    @Benchmark
+    public void entryOfKnownVehicle() {
+        service.processEvent(event(EventType.ENTRY, parkedPlate, null));
+    }
+
+    /**
+     * Um ciclo completo PARKED + EXIT (inclui o cálculo da tarifa na saída).
+     */
+    @Benchmark
+    public void parkedThenExit() {
+        int index = PARKED_SPOTS + (cycle++ % (SPOTS - PARKED_SPOTS));
+        String plate = plate(index);
+        service.processEvent(event(EventType.PARKED, plate, spot(index)));
+
+        WebhookEventDTO exit = event(EventType.EXIT, plate, null);
+        exit.setExitTime(LocalDateTime.now().plusHours(2).format(DateTimeFormatter.ISO_DATE_TIME));
+        service.processEvent(exit);
+    }
+
+    @Benchmark
+    public BigDecimal calculateDynamicPrice() {
+        return service.calculateDynamicPrice(sector, PARKED_SPOTS);
+    }
+
+    @Benchmark
+    public PlateStatusResponseDTO plateStatus() {
+        return service.getPlateStatus(parkedPlate);
+    }
+
+    @Benchmark
+    public SpotStatusResponseDTO spotStatusOccupied() {
+        return service.getSpotStatus(occupiedSpot.getLat(), occupiedSpot.getLng());
+    }
+
+    private Spot spot(int index) {
+        return store.spots.get(SECTOR_ID * 100_000 + index);
+    }
+
+    private static String plate(int index) {
+        return "BEN" + index;
+    }
+
+    private static WebhookEventDTO event(EventType type, String plate, Spot spot) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(type);
+        eventDTO.setLicensePlate(plate);
+        if (spot != null) {
+            eventDTO.setLat(spot.getLat());
+            eventDTO.setLng(spot.getLng());
+        }
+        return eventDTO;
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.ParkingManagementApplication;
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.PlateStatusResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.RevenueResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.SpotStatusResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.infrastructure.adapter.out.web.GarageSimulatorClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dos caminhos críticos do {@link ParkingEventService} com o contexto Spring completo
+ * sobre um banco H2 embarcado (modo PostgreSQL), medindo também o custo de JPA/Hibernate e JDBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParkingEventServiceJpaBenchmark {
+
+    private static final int SPOTS = 1_000;
+    private static final int PARKED_SPOTS = 500;
+
+    private ConfigurableApplicationContext context;
+    private ParkingEventService service;
+    private String parkedPlate;
+    private int cycle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ParkingManagementApplication.class, BenchmarkGarageConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        // As migrações usam recursos do PostgreSQL (índices parciais); no H2 o esquema vem do Hibernate
+                        "--spring.flyway.enabled=false",
+                        "--parking.partitions.maintenance.enabled=false",
+                        "--parking.journal.enabled=false",
+                        "--parking.garage.snapshot.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.root=WARN",
+                        "--logging.level.br.com.estapar=WARN");
+        service = context.getBean(ParkingEventService.class);
+        awaitGarageReady();
+
+        for (int i = 0; i < SPOTS; i++) {
+            service.processEvent(event(EventType.ENTRY, plate(i), null, null));
+        }
+        for (int i = 0; i < PARKED_SPOTS; i++) {
+            service.processEvent(event(EventType.PARKED, plate(i), lat(i), BenchmarkGarageConfiguration.LNG));
+        }
+        parkedPlate = plate(0);
+        // Garante o consolidado de faturamento do dia para o benchmark de revenue
+        parkedThenExit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // A garagem é inicializada em segundo plano depois que o contexto sobe
+    private void awaitGarageReady() {
+        try {
+            if (!context.getBean(GarageInitializer.class).awaitReady(Duration.ofMinutes(1))) {
+                throw new IllegalStateException("Garagem não inicializada a tempo para o benchmark.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public void parkedThenExit() {
+        int index = PARKED_SPOTS + (cycle++ % (SPOTS - PARKED_SPOTS));
+        String plate = plate(index);
+        service.processEvent(event(EventType.PARKED, plate, lat(index), BenchmarkGarageConfiguration.LNG));
+
+        WebhookEventDTO exit = event(EventType.EXIT, plate, null, null);
+        exit.setExitTime(LocalDateTime.now().plusHours(2).format(DateTimeFormatter.ISO_DATE_TIME));
+        service.processEvent(exit);
+    }
+
+    @Benchmark
+    public PlateStatusResponseDTO plateStatus() {
+        return service.getPlateStatus(parkedPlate);
+    }
+
+    @Benchmark
+    public SpotStatusResponseDTO spotStatusOccupied() {
+        return service.getSpotStatus(lat(0), BenchmarkGarageConfiguration.LNG);
+    }
+
+    @Benchmark
+    public RevenueResponseDTO revenue() {
+        return service.getRevenueForSectorAndDate("A", LocalDate.now());
+    }
+
+    private static double lat(int index) {
+        return -23.5 + index * 0.0001;
+    }
+
+    private static String plate(int index) {
+        return "BEN" + index;
+    }
+
+    private static WebhookEventDTO event(EventType type, String plate, Double lat, Double lng) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(type);
+        eventDTO.setLicensePlate(plate);
+        eventDTO.setLat(lat);
+        eventDTO.setLng(lng);
+        return eventDTO;
+    }
+
+    /**
+     * Substitui o cliente do simulador por uma garagem gerada localmente.
+     */
+    @Configuration
+    static class BenchmarkGarageConfiguration {
+
+        static final double LNG = -46.6;
+
+        @Bean
+        @Primary
+        GarageSimulatorClient benchmarkGarageSimulatorClient() {
+            return new GarageSimulatorClient(new RestTemplate(), new ObjectMapper(), "http://localhost") {
+                @Override
+                public void streamGarageConfig(GarageConfigHandler handler) {
+                    SectorDTO sector = new SectorDTO();
+                    sector.setName("A");
+                    sector.setBasePrice(new BigDecimal("10.00"));
+                    sector.setMaxCapacity(SPOTS);
+                    sector.setOpenHour("00:00");
+                    sector.setCloseHour("23:59");
+                    handler.onSector(sector);
+
+                    for (int i = 0; i < SPOTS; i++) {
+                        SpotDTO spot = new SpotDTO();
+                        spot.setExternalId((long) i);
+                        spot.setSectorName("A");
+                        spot.setLat(lat(i));
+                        spot.setLng(LNG);
+                        handler.onSpot(spot);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.ActiveSessionView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache write-through das estadias ativas, indexado pela placa.
+ * É populado no PARKED e removido no EXIT, sempre após o commit da transação, e permite responder
+ * o plate-status e finalizar uma estadia sem carregar {@code ParkingRecord}, {@code Spot} e {@code Vehicle}.
+ */
+@Component
+public class ActiveSessionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveSessionCache.class);
+
+    private final Map<String, ActiveSession> sessionsByPlate = new ConcurrentHashMap<>();
+
+    public ActiveSessionCache(MeterRegistry meterRegistry) {
+        Gauge.builder("parking.sessions.active", this, ActiveSessionCache::size)
+                .description("Estadias ativas no cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Estadia ativa em forma compacta: só primitivos, com a entrada em microssegundos (UTC)
+     * e o preço/hora em centavos.
+     */
+    public record ActiveSession(long recordId, long spotId, long sectorId, double lat, double lng,
+                                long entryEpochMicros, long pricePerHourCents) {
+
+        public static ActiveSession of(long recordId, long spotId, long sectorId, double lat, double lng,
+                                       LocalDateTime entryTime, BigDecimal pricePerHour) {
+            long entryEpochMicros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), entryTime);
+            long pricePerHourCents = pricePerHour.movePointRight(2).longValueExact();
+            return new ActiveSession(recordId, spotId, sectorId, lat, lng, entryEpochMicros, pricePerHourCents);
+        }
+
+        public static ActiveSession of(ActiveSessionView view) {
+            return of(view.getRecordId(), view.getSpotId(), view.getSectorId(), view.getLat(), view.getLng(),
+                    view.getEntryTime(), view.getPricePerHour());
+        }
+
+        public LocalDateTime entryTime() {
+            long seconds = Math.floorDiv(entryEpochMicros, 1_000_000L);
+            int nanos = (int) Math.floorMod(entryEpochMicros, 1_000_000L) * 1_000;
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+
+        public BigDecimal pricePerHour() {
+            return BigDecimal.valueOf(pricePerHourCents, 2);
+        }
+    }
+
+    public void put(String licensePlate, ActiveSession session) {
+        sessionsByPlate.put(licensePlate, session);
+    }
+
+    public Optional<ActiveSession> get(String licensePlate) {
+        return Optional.ofNullable(sessionsByPlate.get(licensePlate));
+    }
+
+    public void evict(String licensePlate) {
+        sessionsByPlate.remove(licensePlate);
+    }
+
+    public int size() {
+        return sessionsByPlate.size();
+    }
+
+    /**
+     * Substitui o conteúdo do cache pelas estadias ativas persistidas.
+     */
+    public void reload(Collection<ActiveSessionView> activeSessions) {
+        sessionsByPlate.clear();
+        activeSessions.forEach(view -> sessionsByPlate.put(view.getLicensePlate(), ActiveSession.of(view)));
+        log.info("Cache de estadias ativas carregado com {} registros.", sessionsByPlate.size());
+    }
+}
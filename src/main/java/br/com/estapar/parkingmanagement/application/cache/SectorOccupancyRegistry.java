@@ -0,0 +1,145 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SectorOccupancyCount;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contadores em memória, sem locks, de vagas ocupadas por setor, publicados como {@code parking.sector.occupied}.
+ * Substitui o COUNT(*) sobre a tabela de vagas no caminho do evento PARKED: a verificação de lotação
+ * e a faixa de preço dinâmico passam a ler o mesmo contador, atualizado atomicamente por PARKED e EXIT.
+ * O estado é semeado a partir do banco na inicialização e reconciliado periodicamente com a tabela.
+ */
+@Component
+public class SectorOccupancyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SectorOccupancyRegistry.class);
+
+    private final SpotRepository spotRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, AtomicInteger> occupiedBySector = new ConcurrentHashMap<>();
+
+    // ReentrantLock em vez de synchronized: a recarga consulta o banco e não deve prender uma virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Divergências vistas na última reconciliação, aplicadas só quando se repetem na passada seguinte.
+    private Map<Long, Integer> pendingDrifts = new HashMap<>();
+
+    public SectorOccupancyRegistry(SpotRepository spotRepository, MeterRegistry meterRegistry) {
+        this.spotRepository = spotRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Tenta reservar uma vaga no setor sem ultrapassar a capacidade máxima.
+     * @return a quantidade de vagas ocupadas ANTES da reserva, ou -1 se o setor estiver lotado.
+     */
+    public int tryOccupy(Long sectorId, int maxCapacity) {
+        AtomicInteger counter = counterFor(sectorId);
+        while (true) {
+            int current = counter.get();
+            if (current >= maxCapacity) {
+                return -1;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Libera uma vaga do setor. Nunca deixa o contador negativo.
+     */
+    public void release(Long sectorId) {
+        counterFor(sectorId).updateAndGet(current -> current > 0 ? current - 1 : 0);
+    }
+
+    public int getOccupied(Long sectorId) {
+        AtomicInteger counter = occupiedBySector.get(sectorId);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Descarta os contadores atuais e recarrega todos a partir da tabela de vagas.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            Map<Long, Integer> fromDatabase = loadOccupiedFromDatabase();
+            occupiedBySector.keySet().retainAll(fromDatabase.keySet());
+            fromDatabase.forEach((sectorId, occupied) -> counterFor(sectorId).set(occupied));
+            pendingDrifts = new HashMap<>();
+            log.info("Contadores de ocupação carregados para {} setores.", fromDatabase.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Compara os contadores com a tabela de vagas e corrige as divergências.
+     * Uma transação em andamento pode ter atualizado o contador sem ter commitado ainda, por isso uma
+     * divergência só é corrigida quando aparece com o mesmo valor em duas passadas consecutivas, e a correção
+     * só é aplicada se o contador não tiver mudado desde a leitura.
+     */
+    @Scheduled(initialDelayString = "${parking.occupancy.reconcile-interval-ms:60000}",
+            fixedDelayString = "${parking.occupancy.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        reloadLock.lock();
+        try {
+            Map<Long, Integer> fromDatabase = loadOccupiedFromDatabase();
+            occupiedBySector.keySet().forEach(sectorId -> fromDatabase.putIfAbsent(sectorId, 0));
+
+            Map<Long, Integer> drifts = new HashMap<>();
+            fromDatabase.forEach((sectorId, expected) -> {
+                AtomicInteger counter = counterFor(sectorId);
+                int actual = counter.get();
+                if (actual == expected) {
+                    return;
+                }
+                // O CAS não sobrescreve um tryOccupy/release concorrente; se perder a corrida, a divergência é
+                // reavaliada na próxima passada
+                if (expected.equals(pendingDrifts.get(sectorId)) && counter.compareAndSet(actual, expected)) {
+                    log.warn("Contador de ocupação do setor {} divergente (memória: {}, banco: {}). Corrigido.",
+                            sectorId, actual, expected);
+                } else {
+                    drifts.put(sectorId, expected);
+                }
+            });
+            pendingDrifts = drifts;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private AtomicInteger counterFor(Long sectorId) {
+        return occupiedBySector.computeIfAbsent(sectorId, this::newCounter);
+    }
+
+    // O gauge lê o contador pelo mapa: um setor removido na recarga passa a aparecer como 0
+    private AtomicInteger newCounter(Long sectorId) {
+        Gauge.builder("parking.sector.occupied", this, registry -> registry.getOccupied(sectorId))
+                .description("Vagas ocupadas no setor")
+                .tag("sector", String.valueOf(sectorId))
+                .register(meterRegistry);
+        return new AtomicInteger();
+    }
+
+    private Map<Long, Integer> loadOccupiedFromDatabase() {
+        Map<Long, Integer> occupied = new HashMap<>();
+        for (SectorOccupancyCount count : spotRepository.countOccupiedGroupedBySector()) {
+            occupied.put(count.getSectorId(), Math.toIntExact(count.getOccupied()));
+        }
+        return occupied;
+    }
+}
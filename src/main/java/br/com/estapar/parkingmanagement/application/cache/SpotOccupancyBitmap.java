@@ -0,0 +1,159 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ocupação de todas as vagas em memória, um {@link BitSet} por setor: o bit i representa a i-ésima vaga
+ * do setor em ordem crescente de id. É atualizado pelo PARKED e pelo EXIT após o commit e reconstruído a partir
+ * do banco na inicialização e no replay do diário. Cada alteração incrementa a versão, o que permite a quem lê
+ * reaproveitar uma resposta já montada enquanto nenhuma vaga mudou.
+ */
+@Component
+public class SpotOccupancyBitmap {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotOccupancyBitmap.class);
+
+    /**
+     * Dados do setor necessários para a visão de ocupação.
+     */
+    public record SectorInfo(long sectorId, String name, int maxCapacity, BigDecimal basePrice) {
+    }
+
+    /**
+     * Cópia da ocupação de um setor. {@code spotIds[i]} é a vaga do bit i de {@code occupied}.
+     */
+    public record SectorSnapshot(SectorInfo sector, long[] spotIds, BitSet occupied) {
+    }
+
+    /**
+     * Cópia consistente da ocupação de todos os setores, na versão informada.
+     */
+    public record Snapshot(long version, List<SectorSnapshot> sectors) {
+    }
+
+    private record SpotPosition(BitSet occupied, int bit) {
+    }
+
+    // ReentrantLock em vez de synchronized: as alterações rodam nas threads do Tomcat, possivelmente virtuais
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<SectorSnapshot> sectors = List.of();
+    private Map<Long, SpotPosition> positions = Map.of();
+    private volatile long version;
+
+    /**
+     * Reconstrói o mapa a partir dos setores e vagas persistidos, com a ocupação atual de cada vaga.
+     */
+    public void rebuild(Collection<Sector> sectorEntities, Collection<Spot> spots) {
+        Map<Long, List<Spot>> spotsBySector = new HashMap<>();
+        for (Spot spot : spots) {
+            spotsBySector.computeIfAbsent(spot.getSector().getId(), id -> new ArrayList<>()).add(spot);
+        }
+
+        List<SectorSnapshot> rebuiltSectors = new ArrayList<>(sectorEntities.size());
+        Map<Long, SpotPosition> rebuiltPositions = new HashMap<>(spots.size() * 2);
+        sectorEntities.stream()
+                .sorted(Comparator.comparing(Sector::getName))
+                .forEach(sector -> {
+                    List<Spot> sectorSpots = spotsBySector.getOrDefault(sector.getId(), List.of());
+                    sectorSpots.sort(Comparator.comparing(Spot::getId));
+                    long[] spotIds = new long[sectorSpots.size()];
+                    BitSet occupied = new BitSet(sectorSpots.size());
+                    for (int i = 0; i < spotIds.length; i++) {
+                        Spot spot = sectorSpots.get(i);
+                        spotIds[i] = spot.getId();
+                        occupied.set(i, spot.isOccupied());
+                        rebuiltPositions.put(spot.getId(), new SpotPosition(occupied, i));
+                    }
+                    SectorInfo info = new SectorInfo(sector.getId(), sector.getName(), sector.getMaxCapacity(), sector.getBasePrice());
+                    rebuiltSectors.add(new SectorSnapshot(info, spotIds, occupied));
+                });
+
+        lock.lock();
+        try {
+            this.sectors = rebuiltSectors;
+            this.positions = rebuiltPositions;
+            version++;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Mapa de ocupação construído: {} vagas em {} setores.", rebuiltPositions.size(), rebuiltSectors.size());
+    }
+
+    /**
+     * Substitui a ocupação de todas as vagas, mantendo os setores: ocupadas são exatamente as informadas.
+     */
+    public void reloadOccupied(Collection<Long> occupiedSpotIds) {
+        lock.lock();
+        try {
+            sectors.forEach(sector -> sector.occupied().clear());
+            for (Long spotId : occupiedSpotIds) {
+                SpotPosition position = positions.get(spotId);
+                if (position != null) {
+                    position.occupied().set(position.bit());
+                }
+            }
+            version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markOccupied(long spotId) {
+        update(spotId, true);
+    }
+
+    public void markFree(long spotId) {
+        update(spotId, false);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Copia a ocupação atual. As cópias dos bits são do chamador; os ids das vagas são compartilhados e não devem ser alterados.
+     */
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            List<SectorSnapshot> copies = new ArrayList<>(sectors.size());
+            for (SectorSnapshot sector : sectors) {
+                copies.add(new SectorSnapshot(sector.sector(), sector.spotIds(), (BitSet) sector.occupied().clone()));
+            }
+            return new Snapshot(version, copies);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long spotId, boolean occupied) {
+        lock.lock();
+        try {
+            SpotPosition position = positions.get(spotId);
+            if (position == null) {
+                log.debug("Vaga {} fora do mapa de ocupação; alteração ignorada.", spotId);
+                return;
+            }
+            if (position.occupied().get(position.bit()) != occupied) {
+                position.occupied().set(position.bit(), occupied);
+                version++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Índice espacial em memória das vagas, em uma grade uniforme cujo lado da célula é a tolerância configurada.
+ * Resolve coordenadas para uma vaga em O(1), examinando apenas a célula da coordenada e suas 8 vizinhas,
+ * de modo que pequenas variações de GPS ainda encontram a vaga mais próxima dentro da tolerância.
+ * O índice é reconstruído por inteiro e publicado de uma vez, então leituras nunca veem um estado parcial.
+ */
+@Component
+public class SpotSpatialIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotSpatialIndex.class);
+
+    private final double toleranceDegrees;
+    private volatile Snapshot snapshot;
+
+    public SpotSpatialIndex(@Value("${parking.spot-index.tolerance-degrees:0.00001}") double toleranceDegrees) {
+        if (toleranceDegrees <= 0) {
+            throw new IllegalArgumentException("A tolerância do índice de vagas deve ser positiva.");
+        }
+        this.toleranceDegrees = toleranceDegrees;
+    }
+
+    /**
+     * Localização de uma vaga indexada.
+     */
+    public record SpotLocation(long spotId, long sectorId, double lat, double lng) {
+    }
+
+    /**
+     * Reconstrói o índice a partir das vagas persistidas.
+     */
+    public void rebuild(Collection<Spot> spots) {
+        Map<Long, List<SpotLocation>> cells = new HashMap<>();
+        Map<Long, SpotLocation> byId = new HashMap<>(spots.size() * 2);
+        for (Spot spot : spots) {
+            SpotLocation location = new SpotLocation(spot.getId(), spot.getSector().getId(), spot.getLat(), spot.getLng());
+            cells.computeIfAbsent(cellKey(cellOf(location.lat()), cellOf(location.lng())), key -> new ArrayList<>(1))
+                    .add(location);
+            byId.put(location.spotId(), location);
+        }
+
+        Map<Long, SpotLocation[]> compactCells = new HashMap<>(cells.size() * 2);
+        cells.forEach((key, locations) -> compactCells.put(key, locations.toArray(SpotLocation[]::new)));
+
+        this.snapshot = new Snapshot(compactCells, byId);
+        log.info("Índice espacial de vagas construído: {} vagas em {} células (tolerância de {} graus).",
+                byId.size(), compactCells.size(), toleranceDegrees);
+    }
+
+    /**
+     * Indica se o índice já foi construído. Antes disso, a busca deve ir ao banco.
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Busca a vaga mais próxima das coordenadas, desde que esteja dentro da tolerância em ambos os eixos.
+     */
+    public Optional<SpotLocation> resolve(Double lat, Double lng) {
+        Snapshot current = snapshot;
+        if (current == null || lat == null || lng == null) {
+            return Optional.empty();
+        }
+
+        long cellLat = cellOf(lat);
+        long cellLng = cellOf(lng);
+        SpotLocation nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+
+        for (long dLat = -1; dLat <= 1; dLat++) {
+            for (long dLng = -1; dLng <= 1; dLng++) {
+                SpotLocation[] candidates = current.cells().get(cellKey(cellLat + dLat, cellLng + dLng));
+                if (candidates == null) {
+                    continue;
+                }
+                for (SpotLocation candidate : candidates) {
+                    double diffLat = Math.abs(candidate.lat() - lat);
+                    double diffLng = Math.abs(candidate.lng() - lng);
+                    if (diffLat > toleranceDegrees || diffLng > toleranceDegrees) {
+                        continue;
+                    }
+                    double distance = diffLat * diffLat + diffLng * diffLng;
+                    if (distance < nearestDistance) {
+                        nearest = candidate;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+
+    public Optional<SpotLocation> findById(Long spotId) {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.ofNullable(current.byId().get(spotId));
+    }
+
+    private long cellOf(double coordinate) {
+        return (long) Math.floor(coordinate / toleranceDegrees);
+    }
+
+    // Colisões de chave só acrescentam candidatos, que são filtrados pela distância.
+    private static long cellKey(long cellLat, long cellLng) {
+        return (cellLat << 32) ^ (cellLng & 0xFFFFFFFFL);
+    }
+
+    private record Snapshot(Map<Long, SpotLocation[]> cells, Map<Long, SpotLocation> byId) {
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Deduplicação dos webhooks reenviados pelo simulador, habilitada por {@code parking.webhook.dedup.enabled}.
+ * Cada evento é identificado por tipo, placa, horários e coordenadas; uma nova entrega com a mesma chave dentro
+ * da janela {@code parking.webhook.dedup.window-seconds} é descartada em tempo constante, sem tocar o banco.
+ * O PARKED fica de fora: sem horário no payload, um segundo PARKED legítimo da mesma placa na mesma vaga teria a
+ * mesma chave do primeiro. O reenvio de um PARKED é barrado pela ocupação condicional da vaga.
+ * As chaves ficam em ordem de chegada, o que permite expirar as mais antigas pelo início do mapa, e o total é
+ * limitado por {@code parking.webhook.dedup.max-entries} (ao atingir o limite, a chave mais antiga sai antes de expirar).
+ * Acertos, novas chaves e remoções por limite são publicados como métricas.
+ */
+@Component
+public class WebhookDeduplicationCache {
+
+    /**
+     * Identidade de uma entrega de webhook.
+     */
+    record EventKey(EventType eventType, String licensePlate, String entryTime, String exitTime, Double lat, Double lng) {
+
+        static EventKey of(WebhookEventDTO eventDTO) {
+            return new EventKey(eventDTO.getEventType(), eventDTO.getLicensePlate(), eventDTO.getEntryTime(),
+                    eventDTO.getExitTime(), eventDTO.getLat(), eventDTO.getLng());
+        }
+    }
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    // Chave -> instante (nanoTime) em que expira, na ordem de chegada
+    private final LinkedHashMap<EventKey, Long> expirations = new LinkedHashMap<>();
+    // ReentrantLock em vez de synchronized: a seção crítica roda nas threads do Tomcat, possivelmente virtuais
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public WebhookDeduplicationCache(MeterRegistry meterRegistry,
+                                     @Value("${parking.webhook.dedup.enabled:true}") boolean enabled,
+                                     @Value("${parking.webhook.dedup.window-seconds:300}") long windowSeconds,
+                                     @Value("${parking.webhook.dedup.max-entries:100000}") int maxEntries) {
+        this(meterRegistry, enabled, Duration.ofSeconds(windowSeconds), maxEntries, System::nanoTime);
+    }
+
+    WebhookDeduplicationCache(MeterRegistry meterRegistry, boolean enabled, Duration window, int maxEntries,
+                              LongSupplier nanoClock) {
+        if (window.isNegative() || window.isZero() || maxEntries < 1) {
+            throw new IllegalArgumentException("A janela e o limite da deduplicação de webhooks devem ser positivos.");
+        }
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+        registerMetrics(meterRegistry);
+    }
+
+    /**
+     * Registra a entrega do evento.
+     * @return {@code false} se o mesmo evento já foi recebido dentro da janela (a entrega deve ser descartada).
+     */
+    public boolean register(WebhookEventDTO eventDTO) {
+        if (!isDeduplicated(eventDTO)) {
+            return true;
+        }
+        EventKey key = EventKey.of(eventDTO);
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            expireOlderThan(now);
+            if (expirations.containsKey(key)) {
+                hits.incrementAndGet();
+                return false;
+            }
+            if (expirations.size() >= maxEntries) {
+                Iterator<EventKey> oldest = expirations.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                evictions.incrementAndGet();
+            }
+            expirations.put(key, now + windowNanos);
+            misses.incrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Esquece o evento, para que um reenvio seja processado (ex: a primeira entrega falhou).
+     */
+    public void forget(WebhookEventDTO eventDTO) {
+        if (!isDeduplicated(eventDTO)) {
+            return;
+        }
+        lock.lock();
+        try {
+            expirations.remove(EventKey.of(eventDTO));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isDeduplicated(WebhookEventDTO eventDTO) {
+        return enabled && eventDTO.getEventType() != EventType.PARKED;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return expirations.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Chamado com o lock. Todas as chaves têm a mesma janela, então a ordem de chegada é a ordem de expiração
+    private void expireOlderThan(long now) {
+        Iterator<Map.Entry<EventKey, Long>> iterator = expirations.entrySet().iterator();
+        while (iterator.hasNext() && iterator.next().getValue() - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("parking.webhook.dedup.hits", hits, AtomicLong::get)
+                .description("Entregas de webhook descartadas por serem reenvios de um evento já recebido")
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.webhook.dedup.misses", misses, AtomicLong::get)
+                .description("Entregas de webhook aceitas como eventos novos")
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.webhook.dedup.evictions", evictions, AtomicLong::get)
+                .description("Chaves removidas antes de expirar por causa do limite de entradas")
+                .register(meterRegistry);
+        Gauge.builder("parking.webhook.dedup.size", this, WebhookDeduplicationCache::size)
+                .description("Eventos lembrados na janela de deduplicação")
+                .register(meterRegistry);
+    }
+}
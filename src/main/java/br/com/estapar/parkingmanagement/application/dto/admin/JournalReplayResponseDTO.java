@@ -0,0 +1,24 @@
+package br.com.estapar.parkingmanagement.application.dto.admin;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO com o resultado do replay dos eventos do diário posteriores ao último checkpoint.")
+public class JournalReplayResponseDTO {
+    @Schema(description = "Quantidade de eventos reaplicados.", example = "15230")
+    private long replayedEvents;
+
+    @Schema(description = "Quantidade de eventos posteriores ao checkpoint que já estavam aplicados no banco e foram pulados.", example = "340")
+    private long skippedEvents;
+
+    @Schema(description = "Quantidade de eventos rejeitados no replay (os mesmos rejeitados quando foram recebidos).", example = "12")
+    private long rejectedEvents;
+
+    @Schema(description = "Quantidade de estadias ativas após o replay.", example = "87")
+    private int activeSessions;
+}
@@ -0,0 +1,23 @@
+package br.com.estapar.parkingmanagement.application.dto.admin;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO com o resultado da reconstrução do faturamento consolidado.")
+public class RevenueRebuildResponseDTO {
+    @Schema(description = "Data inicial reconstruída (inclusiva).", example = "2025-01-01")
+    private LocalDate startDate;
+
+    @Schema(description = "Data final reconstruída (inclusiva).", example = "2025-01-31")
+    private LocalDate endDate;
+
+    @Schema(description = "Quantidade de consolidados (setor, dia) recriados.", example = "93")
+    private int rebuiltRows;
+}
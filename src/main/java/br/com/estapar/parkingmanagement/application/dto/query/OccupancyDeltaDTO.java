@@ -0,0 +1,21 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO contendo as mudanças de ocupação acumuladas desde o quadro anterior do stream.")
+public class OccupancyDeltaDTO {
+
+    @Schema(description = "Versão da ocupação após as mudanças.", example = "1530")
+    private long version;
+
+    @Schema(description = "Setores com alguma vaga ocupada ou liberada desde o quadro anterior.")
+    private List<SectorOccupancyDeltaDTO> sectors;
+}
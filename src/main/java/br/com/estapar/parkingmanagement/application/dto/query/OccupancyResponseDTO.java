@@ -0,0 +1,21 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO contendo a ocupação atual de todos os setores da garagem.")
+public class OccupancyResponseDTO {
+
+    @Schema(description = "Versão da ocupação. Muda a cada vaga ocupada ou liberada.", example = "1524")
+    private long version;
+
+    @Schema(description = "Ocupação de cada setor, em ordem de nome.")
+    private List<SectorOccupancyDTO> sectors;
+}
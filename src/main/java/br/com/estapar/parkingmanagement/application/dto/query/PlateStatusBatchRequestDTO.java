@@ -0,0 +1,21 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "DTO para solicitar o status de vários veículos pela placa em uma única requisição.")
+public class PlateStatusBatchRequestDTO {
+
+    @NotEmpty(message = "A lista de placas não pode estar vazia.")
+    @Size(max = 1000, message = "A lista de placas deve ter no máximo {max} itens.")
+    @ArraySchema(schema = @Schema(description = "Placa do veículo a ser consultada.", example = "BRA2E19"),
+            maxItems = 1000)
+    private List<@NotBlank(message = "A placa não pode estar em branco.") String> licensePlates;
+}
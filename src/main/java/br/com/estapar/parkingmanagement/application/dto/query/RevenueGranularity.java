@@ -0,0 +1,30 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Agrupamento dos períodos no relatório de faturamento. Semanas começam na segunda-feira (ISO-8601).
+ */
+public enum RevenueGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate periodEnd(LocalDate periodStart) {
+        return switch (this) {
+            case DAY -> periodStart;
+            case WEEK -> periodStart.plusDays(6);
+            case MONTH -> periodStart.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO com o faturamento de um setor em um período do relatório.")
+public class RevenueReportEntryDTO {
+    @Schema(description = "Primeiro dia do período (limitado à data inicial da consulta).", example = "2025-01-06")
+    private LocalDate periodStart;
+
+    @Schema(description = "Último dia do período (limitado à data final da consulta).", example = "2025-01-12")
+    private LocalDate periodEnd;
+
+    @Schema(description = "Nome do setor.", example = "A")
+    private String sector;
+
+    @Schema(description = "Valor total do faturamento no período.", example = "1520.40")
+    private BigDecimal amount;
+
+    @Schema(description = "Moeda do faturamento.", example = "BRL")
+    private String currency;
+}
@@ -0,0 +1,43 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import br.com.estapar.parkingmanagement.domain.model.PriceTier;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO contendo a ocupação atual de um setor.")
+public class SectorOccupancyDTO {
+
+    @Schema(description = "Nome do setor.", example = "A")
+    private String sector;
+
+    @Schema(description = "Quantidade de vagas ocupadas.", example = "42")
+    private int occupied;
+
+    @Schema(description = "Lotação máxima do setor.", example = "100")
+    private int capacity;
+
+    @Schema(description = "Quantidade de vagas do setor, ou seja, de bits em occupancyBitmap.", example = "100")
+    private int spotCount;
+
+    @Schema(description = "Faixa de preço dinâmico que a próxima entrada no setor receberá.", example = "BASE")
+    private PriceTier priceTier;
+
+    @Schema(description = "Preço/hora que a próxima entrada no setor receberá.", example = "10.00")
+    private BigDecimal pricePerHour;
+
+    @Schema(description = "Ocupação das vagas em Base64: o bit i (byte i/8, bit menos significativo primeiro) indica se a i-ésima vaga do setor, em ordem crescente de id, está ocupada.",
+            example = "AQAAgA==")
+    private String occupancyBitmap;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Ids das vagas na ordem dos bits. Presente somente com includeSpots=true.", nullable = true)
+    private long[] spotIds;
+}
@@ -0,0 +1,38 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import br.com.estapar.parkingmanagement.domain.model.PriceTier;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO contendo as mudanças de ocupação de um setor desde o quadro anterior do stream.")
+public class SectorOccupancyDeltaDTO {
+
+    @Schema(description = "Nome do setor.", example = "A")
+    private String sector;
+
+    @Schema(description = "Quantidade de vagas ocupadas após as mudanças.", example = "43")
+    private int occupied;
+
+    @Schema(description = "Faixa de preço dinâmico após as mudanças.", example = "BASE")
+    private PriceTier priceTier;
+
+    @Schema(description = "Indica se a faixa de preço mudou desde o quadro anterior.", example = "false")
+    private boolean priceTierChanged;
+
+    @Schema(description = "Preço/hora que a próxima entrada no setor receberá.", example = "10.00")
+    private BigDecimal pricePerHour;
+
+    @Schema(description = "Ids das vagas que passaram a estar ocupadas.")
+    private List<Long> occupiedSpotIds;
+
+    @Schema(description = "Ids das vagas que foram liberadas.")
+    private List<Long> freedSpotIds;
+}
@@ -0,0 +1,21 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "DTO para solicitar o status de várias vagas por suas coordenadas em uma única requisição.")
+public class SpotStatusBatchRequestDTO {
+
+    @NotEmpty(message = "A lista de vagas não pode estar vazia.")
+    @Size(max = 1000, message = "A lista de vagas deve ter no máximo {max} itens.")
+    @ArraySchema(schema = @Schema(implementation = SpotStatusRequestDTO.class), maxItems = 1000)
+    private List<@NotNull(message = "As coordenadas da vaga não podem ser nulas.") @Valid SpotStatusRequestDTO> spots;
+}
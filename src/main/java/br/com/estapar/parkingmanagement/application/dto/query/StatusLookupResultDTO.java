@@ -0,0 +1,34 @@
+package br.com.estapar.parkingmanagement.application.dto.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um item de uma consulta de status em lote. Um item não encontrado não interrompe o lote:
+ * ele volta com {@code found = false} e o motivo em {@code message}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado individual de uma consulta de status em lote.")
+public class StatusLookupResultDTO<T> {
+
+    @Schema(description = "Indica se o item consultado foi encontrado.", example = "true")
+    private boolean found;
+
+    @Schema(description = "Status do item, presente somente quando encontrado.")
+    private T status;
+
+    @Schema(description = "Motivo de o item não ter sido encontrado.", example = "Nenhum registro de estacionamento ativo encontrado para a placa: BRA2E19")
+    private String message;
+
+    public static <T> StatusLookupResultDTO<T> found(T status) {
+        return new StatusLookupResultDTO<>(true, status, null);
+    }
+
+    public static <T> StatusLookupResultDTO<T> notFound(String message) {
+        return new StatusLookupResultDTO<>(false, null, message);
+    }
+}
@@ -1,10 +1,13 @@
 package br.com.estapar.parkingmanagement.application.dto.webhook;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Schema(description = "DTO para receber eventos do simulador de garagem via webhook.")
@@ -33,4 +36,14 @@ public class WebhookEventDTO {
     @JsonProperty("lng")
     @Schema(description = "Longitude (para eventos PARKED).", example = "-46.655981", nullable = true)
     private Double lng;
+
+    // Momento em que o webhook chegou à aplicação. Não faz parte do payload do simulador.
+    @JsonIgnore
+    @Schema(hidden = true)
+    private LocalDateTime receivedAt;
+
+    // Sequência do evento no diário de eventos (0 sem diário). Não faz parte do payload do simulador.
+    @JsonIgnore
+    @Schema(hidden = true)
+    private long journalSequence;
 }
@@ -0,0 +1,43 @@
+package br.com.estapar.parkingmanagement.application.dto.webhook;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO com o resultado do processamento de um evento dentro de um lote.")
+public class WebhookEventResultDTO {
+
+    @Schema(description = "Posição do evento no lote recebido (começando em 0).", example = "0")
+    private int index;
+
+    @Schema(description = "Tipo do evento processado.", example = "PARKED")
+    private EventType eventType;
+
+    @Schema(description = "Placa do veículo associado ao evento.", example = "BRA2E19", nullable = true)
+    private String licensePlate;
+
+    @Schema(description = "Indica se o evento foi processado com sucesso.", example = "true")
+    private boolean success;
+
+    @Schema(description = "Mensagem de erro, quando o evento não pôde ser processado.", example = "Vaga já está ocupada.", nullable = true)
+    private String error;
+
+    @Schema(description = "Indica que o evento é um reenvio de um evento já recebido e foi ignorado.", example = "false")
+    private boolean duplicate;
+
+    public static WebhookEventResultDTO success(int index, WebhookEventDTO eventDTO) {
+        return new WebhookEventResultDTO(index, eventDTO.getEventType(), eventDTO.getLicensePlate(), true, null, false);
+    }
+
+    public static WebhookEventResultDTO failure(int index, WebhookEventDTO eventDTO, String error) {
+        return new WebhookEventResultDTO(index, eventDTO.getEventType(), eventDTO.getLicensePlate(), false, error, false);
+    }
+
+    public static WebhookEventResultDTO duplicate(int index, WebhookEventDTO eventDTO) {
+        return new WebhookEventResultDTO(index, eventDTO.getEventType(), eventDTO.getLicensePlate(), true, null, true);
+    }
+}
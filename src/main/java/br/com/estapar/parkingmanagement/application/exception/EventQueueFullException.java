@@ -0,0 +1,7 @@
+package br.com.estapar.parkingmanagement.application.exception;
+
+public class EventQueueFullException extends RuntimeException {
+    public EventQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.estapar.parkingmanagement.application.exception;
+
+public class GarageNotReadyException extends RuntimeException {
+    public GarageNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cálculo de tarifas e do preço até o momento em aritmética inteira (minutos e centavos).
+ * Reproduz exatamente a regra original em BigDecimal: a duração é convertida em horas com 2 casas
+ * (HALF_UP), multiplicada pelo preço/hora e o resultado arredondado para 2 casas (HALF_UP).
+ * Os métodos sobre {@code long} não alocam; a conversão para {@link BigDecimal} fica só na borda (DTOs e banco).
+ */
+@Component
+public class FareCalculator {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int NANOS_PER_MICRO = 1_000;
+
+    /**
+     * Minutos inteiros entre dois instantes, com o mesmo truncamento de {@code Duration.between(start, end).toMinutes()}.
+     */
+    public long minutesBetween(LocalDateTime start, LocalDateTime end) {
+        return minutesBetween(start.toEpochSecond(ZoneOffset.UTC), start.getNano(), end);
+    }
+
+    /**
+     * Variante para a entrada em microssegundos desde a época (UTC), como guardada no cache de estadias.
+     */
+    public long minutesBetween(long startEpochMicros, LocalDateTime end) {
+        long startSeconds = Math.floorDiv(startEpochMicros, MICROS_PER_SECOND);
+        int startNanos = (int) Math.floorMod(startEpochMicros, MICROS_PER_SECOND) * NANOS_PER_MICRO;
+        return minutesBetween(startSeconds, startNanos, end);
+    }
+
+    /**
+     * Duração em centésimos de hora (ex.: 90 minutos = 150), arredondada HALF_UP.
+     */
+    public long hoursInCentis(long minutes) {
+        return divideHalfUp(Math.multiplyExact(minutes, 100L), 60L);
+    }
+
+    /**
+     * Valor em centavos de uma estadia de {@code minutes} minutos ao preço/hora informado em centavos.
+     */
+    public long fareCents(long minutes, long pricePerHourCents) {
+        return divideHalfUp(Math.multiplyExact(hoursInCentis(minutes), pricePerHourCents), 100L);
+    }
+
+    /**
+     * Converte um valor monetário com até 2 casas decimais para centavos.
+     * @throws ArithmeticException se o valor tiver mais de 2 casas significativas.
+     */
+    public long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static long minutesBetween(long startSeconds, int startNanos, LocalDateTime end) {
+        long seconds = end.toEpochSecond(ZoneOffset.UTC) - startSeconds;
+        if (end.getNano() < startNanos) {
+            seconds--;
+        }
+        return seconds / 60;
+    }
+
+    // Divisão inteira com arredondamento HALF_UP (empate se afasta do zero), como em BigDecimal
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+
+/**
+ * Recebe a configuração da garagem elemento a elemento, à medida que é lida (do simulador ou do snapshot local),
+ * sem que a configuração inteira precise ser materializada em memória.
+ * As vagas podem chegar antes do seu setor, dependendo da ordem dos campos no JSON do simulador.
+ */
+public interface GarageConfigHandler {
+
+    void onSector(SectorDTO sector);
+
+    void onSpot(SpotDTO spot);
+
+    /**
+     * Repassa cada elemento aos dois handlers, na ordem.
+     */
+    static GarageConfigHandler tee(GarageConfigHandler first, GarageConfigHandler second) {
+        return new GarageConfigHandler() {
+            @Override
+            public void onSector(SectorDTO sector) {
+                first.onSector(sector);
+                second.onSector(sector);
+            }
+
+            @Override
+            public void onSpot(SpotDTO spot) {
+                first.onSpot(spot);
+                second.onSpot(spot);
+            }
+        };
+    }
+}
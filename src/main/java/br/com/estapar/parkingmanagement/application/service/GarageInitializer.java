@@ -0,0 +1,103 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.service.GarageSetupService.GarageSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa a inicialização da garagem em segundo plano, para que a aplicação suba sem esperar o simulador.
+ * Em caso de falha, tenta novamente a cada {@code parking.garage.init-retry-interval-ms}. Enquanto a garagem
+ * não estiver pronta, o grupo de readiness do actuator fica fora de serviço e os webhooks são recusados com 503.
+ * Com o diário de eventos habilitado, os eventos posteriores ao último checkpoint são reaplicados antes disso.
+ * Quando a configuração vem do banco ou do snapshot local, o simulador é chamado depois, também em segundo plano,
+ * para iniciar a simulação e atualizar o snapshot.
+ */
+@Component
+public class GarageInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(GarageInitializer.class);
+
+    private final GarageSetupService garageSetupService;
+    private final JournalReplayService journalReplayService;
+    private final long retryIntervalMillis;
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+    private volatile String lastError;
+
+    public GarageInitializer(GarageSetupService garageSetupService, JournalReplayService journalReplayService,
+                             @Value("${parking.garage.init-retry-interval-ms:5000}") long retryIntervalMillis) {
+        this.garageSetupService = garageSetupService;
+        this.journalReplayService = journalReplayService;
+        this.retryIntervalMillis = retryIntervalMillis;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        Thread.ofPlatform().name("garage-initializer").daemon().start(this::initialize);
+    }
+
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    /**
+     * Aguarda a garagem ficar pronta.
+     * @return {@code false} se o tempo acabar antes.
+     */
+    public boolean awaitReady(Duration timeout) throws InterruptedException {
+        return ready.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts.get();
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    void initialize() {
+        while (true) {
+            try {
+                long start = System.nanoTime();
+                GarageSource source = garageSetupService.initializeGarage();
+                // Eventos confirmados que não chegaram ao banco antes da última parada
+                journalReplayService.recoverOnStartup();
+                ready.countDown();
+                log.info("Garagem pronta em {} ms (origem: {}).", (System.nanoTime() - start) / 1_000_000,
+                        source.getDescription());
+                if (source.isSimulatorPending()) {
+                    refreshFromSimulator();
+                }
+                return;
+            } catch (RuntimeException e) {
+                lastError = e.getMessage();
+                log.warn("Falha ao inicializar a garagem (tentativa {}): {}. Nova tentativa em {} ms.",
+                        failedAttempts.incrementAndGet(), e.getMessage(), retryIntervalMillis);
+            }
+            try {
+                Thread.sleep(retryIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void refreshFromSimulator() {
+        try {
+            garageSetupService.refreshFromSimulator();
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível atualizar a configuração da garagem a partir do simulador: {}", e.getMessage());
+        }
+    }
+}
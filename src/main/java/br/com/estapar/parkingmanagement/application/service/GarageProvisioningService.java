@@ -0,0 +1,127 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Provisionamento em massa da garagem. Setores e vagas são persistidos à medida que chegam da fonte
+ * (simulador ou snapshot), em uma única transação: as vagas usam ids alocados em blocos pela sequência
+ * {@code spots_seq}, o que permite ao Hibernate agrupar os INSERTs em lotes JDBC ({@code hibernate.jdbc.batch_size}),
+ * e o contexto de persistência é descarregado e limpo a cada {@code parking.garage.provisioning.flush-size} vagas
+ * para que a memória não cresça com o tamanho da garagem.
+ */
+@Service
+public class GarageProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger(GarageProvisioningService.class);
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushSize;
+
+    public GarageProvisioningService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                     @Value("${parking.garage.provisioning.flush-size:1000}") int flushSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * Quantidade de setores e vagas persistidos.
+     */
+    public record ProvisioningResult(int sectors, int spots) {
+    }
+
+    /**
+     * Persiste tudo o que {@code source} entregar ao handler recebido. Se a fonte falhar no meio,
+     * a transação é desfeita e nada fica persistido.
+     */
+    public ProvisioningResult provision(Consumer<GarageConfigHandler> source) {
+        return transactionTemplate.execute(status -> {
+            Provisioner provisioner = new Provisioner();
+            source.accept(provisioner);
+            return provisioner.finish();
+        });
+    }
+
+    private final class Provisioner implements GarageConfigHandler {
+
+        private final Map<String, Long> sectorIds = new HashMap<>();
+        // Vagas recebidas antes do seu setor (o JSON do simulador pode trazer "spots" antes de "garage")
+        private final List<SpotDTO> pendingSpots = new ArrayList<>();
+        private int spots;
+        private int unflushed;
+
+        @Override
+        public void onSector(SectorDTO dto) {
+            Sector sector = new Sector();
+            sector.setName(dto.getName());
+            sector.setBasePrice(dto.getBasePrice());
+            sector.setMaxCapacity(dto.getMaxCapacity());
+            sector.setOpenHour(LocalTime.parse(dto.getOpenHour(), HOUR_FORMAT));
+            sector.setCloseHour(LocalTime.parse(dto.getCloseHour(), HOUR_FORMAT));
+            entityManager.persist(sector);
+            sectorIds.put(sector.getName(), sector.getId());
+        }
+
+        @Override
+        public void onSpot(SpotDTO dto) {
+            Long sectorId = sectorIds.get(dto.getSectorName());
+            if (sectorId == null) {
+                pendingSpots.add(dto);
+                return;
+            }
+            persistSpot(dto, sectorId);
+        }
+
+        private void persistSpot(SpotDTO dto, Long sectorId) {
+            Spot spot = new Spot();
+            spot.setSector(entityManager.getReference(Sector.class, sectorId));
+            spot.setLat(dto.getLat());
+            spot.setLng(dto.getLng());
+            spot.setOccupied(dto.isOccupied());
+            entityManager.persist(spot);
+            spots++;
+            if (++unflushed >= flushSize) {
+                flushAndClear();
+            }
+        }
+
+        private ProvisioningResult finish() {
+            for (SpotDTO dto : pendingSpots) {
+                Long sectorId = sectorIds.get(dto.getSectorName());
+                if (sectorId == null) {
+                    throw new IllegalArgumentException("Vaga referencia setor inexistente: " + dto.getSectorName());
+                }
+                persistSpot(dto, sectorId);
+            }
+            flushAndClear();
+            log.info("Provisionamento da garagem concluído: {} setores e {} vagas.", sectorIds.size(), spots);
+            return new ProvisioningResult(sectorIds.size(), spots);
+        }
+
+        private void flushAndClear() {
+            entityManager.flush();
+            entityManager.clear();
+            unflushed = 0;
+        }
+    }
+}
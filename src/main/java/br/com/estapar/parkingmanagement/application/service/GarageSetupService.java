@@ -1,27 +1,28 @@
 package br.com.estapar.parkingmanagement.application.service;
 
-import br.com.estapar.parkingmanagement.application.dto.GarageConfigDTO;
-import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
-import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
-import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.SectorOccupancyRegistry;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex;
+import br.com.estapar.parkingmanagement.application.service.GarageProvisioningService.ProvisioningResult;
+import br.com.estapar.parkingmanagement.domain.model.ParkingStatus;
 import br.com.estapar.parkingmanagement.domain.model.Spot;
+import br.com.estapar.parkingmanagement.infrastructure.adapter.out.snapshot.GarageConfigSnapshotStore;
+import br.com.estapar.parkingmanagement.infrastructure.adapter.out.snapshot.GarageConfigSnapshotStore.SnapshotWriter;
 import br.com.estapar.parkingmanagement.infrastructure.adapter.out.web.GarageSimulatorClient;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.ParkingRecordRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
-import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
 
+/**
+ * Carrega a configuração da garagem e semeia as estruturas em memória.
+ * Executado em segundo plano pelo {@link GarageInitializer}, fora do caminho de inicialização do contexto.
+ */
 @Service
 public class GarageSetupService {
 
@@ -30,62 +31,116 @@ public class GarageSetupService {
     private final GarageSimulatorClient garageSimulatorClient;
     private final SectorRepository sectorRepository;
     private final SpotRepository spotRepository;
+    private final SectorOccupancyRegistry sectorOccupancyRegistry;
+    private final SpotSpatialIndex spotSpatialIndex;
+    private final SpotOccupancyBitmap spotOccupancyBitmap;
+    private final ParkingRecordRepository parkingRecordRepository;
+    private final ActiveSessionCache activeSessionCache;
+    private final GarageConfigSnapshotStore garageConfigSnapshotStore;
+    private final GarageProvisioningService garageProvisioningService;
 
-    public GarageSetupService(GarageSimulatorClient garageSimulatorClient, SectorRepository sectorRepository, SpotRepository spotRepository) {
+    public GarageSetupService(GarageSimulatorClient garageSimulatorClient, SectorRepository sectorRepository, SpotRepository spotRepository,
+                              SectorOccupancyRegistry sectorOccupancyRegistry, SpotSpatialIndex spotSpatialIndex,
+                              SpotOccupancyBitmap spotOccupancyBitmap,
+                              ParkingRecordRepository parkingRecordRepository, ActiveSessionCache activeSessionCache,
+                              GarageConfigSnapshotStore garageConfigSnapshotStore,
+                              GarageProvisioningService garageProvisioningService) {
         this.garageSimulatorClient = garageSimulatorClient;
         this.sectorRepository = sectorRepository;
         this.spotRepository = spotRepository;
+        this.sectorOccupancyRegistry = sectorOccupancyRegistry;
+        this.spotSpatialIndex = spotSpatialIndex;
+        this.spotOccupancyBitmap = spotOccupancyBitmap;
+        this.parkingRecordRepository = parkingRecordRepository;
+        this.activeSessionCache = activeSessionCache;
+        this.garageConfigSnapshotStore = garageConfigSnapshotStore;
+        this.garageProvisioningService = garageProvisioningService;
     }
 
-    @PostConstruct // Executa este método apenas uma vez quando a aplicação inicia.
-    @Transactional
-    public void initializeGarage() {
-        log.info("Chamando o endpoint /garage do simulador para iniciar a simulação...");
-        GarageConfigDTO config = garageSimulatorClient.fetchGarageConfig();
-
+    /**
+     * Garante a garagem no banco e semeia as estruturas em memória. Com o banco já populado a configuração
+     * não é lida; com o banco vazio ela vem do snapshot local, se houver, ou do simulador.
+     * @return a origem da configuração; fora de {@link GarageSource#SIMULATOR} o simulador ainda não foi chamado
+     * (a simulação é iniciada depois, pelo {@link GarageInitializer}).
+     */
+    public GarageSource initializeGarage() {
+        GarageSource source;
         // Só popula o banco se ele estiver vazio
         if (sectorRepository.count() > 0) {
             log.info("Banco de dados da garagem já inicializado. Pulando a etapa de persistência de dados.");
-            return;
+            source = GarageSource.DATABASE;
+        } else if (provisionFromSnapshot()) {
+            source = GarageSource.SNAPSHOT;
+        } else {
+            provisionFromSimulator();
+            source = GarageSource.SIMULATOR;
         }
 
-        log.info("Iniciando persistência da configuração da garagem no banco de dados...");
-
-        Map<String, List<SpotDTO>> spotsBySector = config.getSpots().stream()
-                .collect(Collectors.groupingBy(SpotDTO::getSectorName));
-
-        config.getSectors().forEach(sectorDto -> {
-            Sector sectorEntity = toSectorEntity(sectorDto);
-            List<SpotDTO> sectorSpotsDto = spotsBySector.get(sectorDto.getName());
-            if (sectorSpotsDto != null) {
-                sectorSpotsDto.forEach(spotDto -> {
-                    Spot spotEntity = toSpotEntity(spotDto, sectorEntity);
-                    sectorEntity.getSpots().add(spotEntity);
-                });
-            }
-            sectorRepository.save(sectorEntity);
-        });
-
-        log.info("Persistência da configuração da garagem concluída com sucesso! {} setores e {} vagas criadas.",
-                config.getSectors().size(), config.getSpots().size());
+        // Semeia as estruturas em memória a partir do estado persistido
+        sectorOccupancyRegistry.reload();
+        List<Spot> spots = spotRepository.findAll();
+        spotSpatialIndex.rebuild(spots);
+        spotOccupancyBitmap.rebuild(sectorRepository.findAll(), spots);
+        activeSessionCache.reload(parkingRecordRepository.findAllSessionsByStatus(ParkingStatus.ACTIVE));
+        return source;
+    }
+
+    /**
+     * Busca a configuração no simulador, o que também inicia a simulação, e atualiza o snapshot local.
+     */
+    public void refreshFromSimulator() {
+        log.info("Chamando o endpoint /garage do simulador para iniciar a simulação...");
+        try (SnapshotWriter snapshotWriter = garageConfigSnapshotStore.openWriter()) {
+            garageSimulatorClient.streamGarageConfig(snapshotWriter);
+            snapshotWriter.commit();
+        }
+    }
+
+    private boolean provisionFromSnapshot() {
+        boolean[] found = new boolean[1];
+        ProvisioningResult result = garageProvisioningService.provision(
+                handler -> found[0] = garageConfigSnapshotStore.read(handler));
+        if (found[0]) {
+            log.info("Garagem provisionada a partir do snapshot local: {} setores e {} vagas.", result.sectors(), result.spots());
+        }
+        return found[0];
     }
 
-    private Sector toSectorEntity(SectorDTO dto) {
-        Sector sector = new Sector();
-        sector.setName(dto.getName());
-        sector.setBasePrice(dto.getBasePrice());
-        sector.setMaxCapacity(dto.getMaxCapacity());
-        sector.setOpenHour(LocalTime.parse(dto.getOpenHour(), DateTimeFormatter.ofPattern("HH:mm")));
-        sector.setCloseHour(LocalTime.parse(dto.getCloseHour(), DateTimeFormatter.ofPattern("HH:mm")));
-        return sector;
+    private void provisionFromSimulator() {
+        log.info("Chamando o endpoint /garage do simulador para iniciar a simulação...");
+        // A resposta do simulador é persistida e gravada no snapshot na mesma passada
+        try (SnapshotWriter snapshotWriter = garageConfigSnapshotStore.openWriter()) {
+            ProvisioningResult result = garageProvisioningService.provision(handler ->
+                    garageSimulatorClient.streamGarageConfig(GarageConfigHandler.tee(handler, snapshotWriter)));
+            snapshotWriter.commit();
+            log.info("Persistência da configuração da garagem concluída com sucesso! {} setores e {} vagas criadas.",
+                    result.sectors(), result.spots());
+        }
     }
 
-    private Spot toSpotEntity(SpotDTO dto, Sector sector) {
-        Spot spot = new Spot();
-        spot.setSector(sector);
-        spot.setLat(dto.getLat());
-        spot.setLng(dto.getLng());
-        spot.setOccupied(dto.isOccupied());
-        return spot;
+    /**
+     * De onde veio a configuração da garagem na inicialização.
+     */
+    public enum GarageSource {
+        /** O banco já estava populado. */
+        DATABASE("banco de dados"),
+        /** O banco estava vazio e foi provisionado pelo snapshot local. */
+        SNAPSHOT("snapshot local"),
+        /** O banco estava vazio e foi provisionado pelo simulador, que já iniciou a simulação. */
+        SIMULATOR("simulador");
+
+        private final String description;
+
+        GarageSource(String description) {
+            this.description = description;
+        }
+
+        public boolean isSimulatorPending() {
+            return this != SIMULATOR;
+        }
+
+        public String getDescription() {
+            return description;
+        }
     }
 }
@@ -0,0 +1,156 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.SectorOccupancyRegistry;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.dto.admin.JournalReplayResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.domain.model.ParkingStatus;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.ParkingRecordRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reaplica, na ordem em que foram recebidos, os eventos do diário posteriores ao último checkpoint: são os
+ * eventos confirmados ao simulador que podem não ter chegado ao banco, por uma queda antes de serem processados.
+ * Executado na inicialização, antes de a garagem aceitar webhooks, e sob demanda pelo endpoint administrativo,
+ * que pressupõe o recebimento de webhooks parado. Nada é apagado: PARKED e EXIT que já estão no banco
+ * são pulados, e o ENTRY, idempotente, é sempre reaplicado.
+ */
+@Service
+public class JournalReplayService {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReplayService.class);
+
+    private static final int REPLAY_CHUNK_SIZE = 1000;
+
+    private final EventJournal eventJournal;
+    private final WebhookBatchService webhookBatchService;
+    private final ParkingRecordRepository parkingRecordRepository;
+    private final SpotRepository spotRepository;
+    private final SectorOccupancyRegistry sectorOccupancyRegistry;
+    private final ActiveSessionCache activeSessionCache;
+    private final SpotOccupancyBitmap spotOccupancyBitmap;
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    public JournalReplayService(EventJournal eventJournal, WebhookBatchService webhookBatchService,
+                                ParkingRecordRepository parkingRecordRepository, SpotRepository spotRepository,
+                                SectorOccupancyRegistry sectorOccupancyRegistry, ActiveSessionCache activeSessionCache,
+                                SpotOccupancyBitmap spotOccupancyBitmap) {
+        this.eventJournal = eventJournal;
+        this.webhookBatchService = webhookBatchService;
+        this.parkingRecordRepository = parkingRecordRepository;
+        this.spotRepository = spotRepository;
+        this.sectorOccupancyRegistry = sectorOccupancyRegistry;
+        this.activeSessionCache = activeSessionCache;
+        this.spotOccupancyBitmap = spotOccupancyBitmap;
+    }
+
+    /**
+     * Reaplica os eventos pendentes do diário, se ele estiver habilitado. Usado na inicialização da garagem.
+     */
+    public void recoverOnStartup() {
+        if (eventJournal.isEnabled()) {
+            replay();
+        }
+    }
+
+    public JournalReplayResponseDTO replay() {
+        if (!eventJournal.isEnabled()) {
+            throw new IllegalStateException("Diário de eventos desabilitado.");
+        }
+        if (!replayLock.tryLock()) {
+            throw new IllegalStateException("Replay do diário de eventos já em andamento.");
+        }
+        try {
+            log.info("Iniciando replay do diário de eventos a partir do checkpoint na sequência {}.",
+                    eventJournal.getCheckpointSequence());
+
+            long[] replayed = new long[1];
+            long[] skipped = new long[1];
+            long[] rejected = new long[1];
+            List<WebhookEventDTO> chunk = new ArrayList<>(REPLAY_CHUNK_SIZE);
+            eventJournal.readFromCheckpoint(entry -> {
+                if (isAlreadyApplied(entry.event())) {
+                    skipped[0]++;
+                    return;
+                }
+                chunk.add(entry.event());
+                replayed[0]++;
+                if (chunk.size() == REPLAY_CHUNK_SIZE) {
+                    rejected[0] += applyChunk(chunk);
+                }
+            });
+            rejected[0] += applyChunk(chunk);
+            eventJournal.markRecovered();
+
+            reloadCaches();
+            int activeSessions = activeSessionCache.size();
+            log.info("Replay do diário concluído: {} eventos reaplicados, {} já aplicados, {} rejeitados, {} estadias ativas.",
+                    replayed[0], skipped[0], rejected[0], activeSessions);
+            return new JournalReplayResponseDTO(replayed[0], skipped[0], rejected[0], activeSessions);
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se o evento já chegou ao banco: o PARKED pela estadia com a mesma placa e entrada, o EXIT pela
+     * estadia com a mesma placa e saída.
+     */
+    private boolean isAlreadyApplied(WebhookEventDTO event) {
+        String licensePlate = event.getLicensePlate();
+        if (licensePlate == null || event.getEventType() == null) {
+            return false;
+        }
+        return switch (event.getEventType()) {
+            case PARKED -> event.getReceivedAt() != null && parkingRecordRepository.existsByVehicleLicensePlateAndEntryTime(
+                    licensePlate, event.getReceivedAt().truncatedTo(ChronoUnit.MICROS));
+            case EXIT -> {
+                LocalDateTime exitTime = parseExitTime(event.getExitTime());
+                yield exitTime != null && parkingRecordRepository.existsByVehicleLicensePlateAndExitTime(licensePlate, exitTime);
+            }
+            default -> false;
+        };
+    }
+
+    // Um horário inválido é reaplicado e rejeitado como no recebimento
+    private static LocalDateTime parseExitTime(String exitTime) {
+        if (exitTime == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(exitTime, DateTimeFormatter.ISO_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private long applyChunk(List<WebhookEventDTO> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        long rejected = webhookBatchService.processBatch(chunk).stream()
+                .filter(result -> !result.isSuccess())
+                .count();
+        chunk.clear();
+        return rejected;
+    }
+
+    private void reloadCaches() {
+        sectorOccupancyRegistry.reload();
+        activeSessionCache.reload(parkingRecordRepository.findAllSessionsByStatus(ParkingStatus.ACTIVE));
+        spotOccupancyBitmap.reloadOccupied(spotRepository.findAllOccupiedIds());
+    }
+}
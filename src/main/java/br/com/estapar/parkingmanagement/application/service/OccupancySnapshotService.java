@@ -0,0 +1,102 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap.SectorSnapshot;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap.Snapshot;
+import br.com.estapar.parkingmanagement.application.dto.query.OccupancyResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.SectorOccupancyDTO;
+import br.com.estapar.parkingmanagement.domain.model.PriceTier;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Monta a visão de ocupação da garagem a partir do {@link SpotOccupancyBitmap}, sem consultar o banco.
+ * O JSON já serializado é guardado junto com a versão do mapa de bits e reaproveitado até a próxima vaga
+ * ocupada ou liberada, de modo que consultas frequentes sem mudanças custam apenas a comparação da versão.
+ */
+@Service
+public class OccupancySnapshotService {
+
+    /**
+     * Resposta serializada e o ETag correspondente (hash do conteúdo).
+     */
+    public record RenderedOccupancy(long version, byte[] json, String etag) {
+    }
+
+    private final SpotOccupancyBitmap spotOccupancyBitmap;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock renderLock = new ReentrantLock();
+
+    private volatile RenderedOccupancy compact;
+    private volatile RenderedOccupancy withSpots;
+
+    public OccupancySnapshotService(SpotOccupancyBitmap spotOccupancyBitmap, ObjectMapper objectMapper) {
+        this.spotOccupancyBitmap = spotOccupancyBitmap;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param includeSpots inclui os ids das vagas de cada setor, na ordem dos bits.
+     */
+    public RenderedOccupancy getOccupancy(boolean includeSpots) {
+        RenderedOccupancy cached = includeSpots ? withSpots : compact;
+        if (cached != null && cached.version() == spotOccupancyBitmap.version()) {
+            return cached;
+        }
+
+        // Uma única thread monta a nova versão; as demais esperam e reaproveitam o resultado
+        renderLock.lock();
+        try {
+            cached = includeSpots ? withSpots : compact;
+            if (cached != null && cached.version() == spotOccupancyBitmap.version()) {
+                return cached;
+            }
+            RenderedOccupancy rendered = render(spotOccupancyBitmap.snapshot(), includeSpots);
+            if (includeSpots) {
+                withSpots = rendered;
+            } else {
+                compact = rendered;
+            }
+            return rendered;
+        } finally {
+            renderLock.unlock();
+        }
+    }
+
+    // Visível no pacote para o stream de ocupação, que envia a mesma visão como quadro inicial
+    RenderedOccupancy render(Snapshot snapshot, boolean includeSpots) {
+        List<SectorOccupancyDTO> sectors = new ArrayList<>(snapshot.sectors().size());
+        for (SectorSnapshot sector : snapshot.sectors()) {
+            int spotCount = sector.spotIds().length;
+            int occupied = sector.occupied().cardinality();
+            PriceTier tier = PriceTier.forOccupancy(occupied, sector.sector().maxCapacity());
+            // Tamanho fixo: toByteArray() omite os bytes finais zerados
+            byte[] bits = Arrays.copyOf(sector.occupied().toByteArray(), (spotCount + 7) / 8);
+            sectors.add(new SectorOccupancyDTO(
+                    sector.sector().name(),
+                    occupied,
+                    sector.sector().maxCapacity(),
+                    spotCount,
+                    tier,
+                    tier.priceFor(sector.sector().basePrice()),
+                    Base64.getEncoder().encodeToString(bits),
+                    includeSpots ? sector.spotIds() : null
+            ));
+        }
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new OccupancyResponseDTO(snapshot.version(), sectors));
+            return new RenderedOccupancy(snapshot.version(), json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a ocupação da garagem.", e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap.SectorSnapshot;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap.Snapshot;
+import br.com.estapar.parkingmanagement.application.dto.query.OccupancyDeltaDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.SectorOccupancyDeltaDTO;
+import br.com.estapar.parkingmanagement.application.service.OccupancySnapshotService.RenderedOccupancy;
+import br.com.estapar.parkingmanagement.domain.model.PriceTier;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stream de ocupação por Server-Sent Events. Cada assinante recebe um quadro {@code snapshot} com a ocupação
+ * completa e, a cada intervalo {@code parking.occupancy.stream.interval-ms} em que alguma vaga mudou, um quadro
+ * {@code delta} com as vagas ocupadas e liberadas e a nova faixa de preço de cada setor alterado.
+ * As mudanças feitas por PARKED e EXIT no {@link SpotOccupancyBitmap} são agrupadas no intervalo, e cada quadro
+ * é calculado e serializado uma única vez e enviado igual a todos os assinantes.
+ * Os envios saem da thread agendada: cada assinante tem uma fila limitada por
+ * {@code parking.occupancy.stream.subscriber-queue-size}, esvaziada em ordem por uma virtual thread, de modo que
+ * um cliente lento só atrasa os próprios quadros. Com a fila cheia o assinante é desconectado (um delta perdido
+ * deixaria o cliente inconsistente) e, ao reconectar, recebe um novo snapshot.
+ */
+@Service
+public class OccupancyStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyStreamService.class);
+
+    private final SpotOccupancyBitmap spotOccupancyBitmap;
+    private final OccupancySnapshotService occupancySnapshotService;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final long heartbeatNanos;
+    private final int subscriberQueueSize;
+    private final Executor senderExecutor;
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    // Protege a base dos deltas: quem assina recebe o snapshot da mesma base usada pelo próximo delta
+    private final ReentrantLock baselineLock = new ReentrantLock();
+    private Snapshot baseline;
+    private RenderedOccupancy renderedBaseline;
+    private long lastFrameNanos = System.nanoTime();
+
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    @Autowired
+    public OccupancyStreamService(SpotOccupancyBitmap spotOccupancyBitmap, OccupancySnapshotService occupancySnapshotService,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  @Value("${parking.occupancy.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                                  @Value("${parking.occupancy.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+                                  @Value("${parking.occupancy.stream.subscriber-queue-size:16}") int subscriberQueueSize) {
+        this(spotOccupancyBitmap, occupancySnapshotService, objectMapper, meterRegistry, emitterTimeoutMs, heartbeatSeconds,
+                subscriberQueueSize,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("occupancy-stream-", 0).factory()));
+    }
+
+    OccupancyStreamService(SpotOccupancyBitmap spotOccupancyBitmap, OccupancySnapshotService occupancySnapshotService,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry, long emitterTimeoutMs,
+                           long heartbeatSeconds, int subscriberQueueSize, Executor senderExecutor) {
+        if (subscriberQueueSize < 1) {
+            throw new IllegalArgumentException("A fila de quadros por assinante deve ter pelo menos 1 posição.");
+        }
+        this.spotOccupancyBitmap = spotOccupancyBitmap;
+        this.occupancySnapshotService = occupancySnapshotService;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatNanos = heartbeatSeconds * 1_000_000_000L;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.senderExecutor = senderExecutor;
+        registerMetrics(meterRegistry);
+    }
+
+    /**
+     * Registra um novo assinante, que recebe de imediato o quadro {@code snapshot}.
+     */
+    public SseEmitter subscribe() {
+        return register(new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter register(SseEmitter emitter) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+
+        baselineLock.lock();
+        try {
+            if (baseline == null) {
+                baseline = spotOccupancyBitmap.snapshot();
+            }
+            if (renderedBaseline == null || renderedBaseline.version() != baseline.version()) {
+                renderedBaseline = occupancySnapshotService.render(baseline, true);
+            }
+            // O snapshot entra na fila antes de qualquer delta da mesma base
+            Subscriber subscriber = new Subscriber(emitter);
+            subscriber.offer(SseEmitter.event()
+                    .name("snapshot")
+                    .id(String.valueOf(renderedBaseline.version()))
+                    .data(new String(renderedBaseline.json(), StandardCharsets.UTF_8), MediaType.APPLICATION_JSON)
+                    .build());
+            subscribers.put(emitter, subscriber);
+        } finally {
+            baselineLock.unlock();
+        }
+        log.debug("Novo assinante do stream de ocupação. Total: {}", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Fecha um quadro: se alguma vaga mudou desde o anterior, calcula o delta e o envia a todos os assinantes.
+     * Sem mudanças, envia apenas um comentário de heartbeat a cada {@code parking.occupancy.stream.heartbeat-seconds},
+     * o que também descarta as conexões já fechadas pelos clientes.
+     */
+    @Scheduled(initialDelayString = "${parking.occupancy.stream.interval-ms:1000}",
+            fixedDelayString = "${parking.occupancy.stream.interval-ms:1000}")
+    public void publishFrame() {
+        SseEventBuilder frame = null;
+        baselineLock.lock();
+        try {
+            if (baseline == null || baseline.version() != spotOccupancyBitmap.version()) {
+                Snapshot current = spotOccupancyBitmap.snapshot();
+                if (baseline != null && !subscribers.isEmpty()) {
+                    frame = frameBetween(baseline, current);
+                }
+                baseline = current;
+            }
+        } finally {
+            baselineLock.unlock();
+        }
+
+        long now = System.nanoTime();
+        if (frame == null && now - lastFrameNanos >= heartbeatNanos && !subscribers.isEmpty()) {
+            frame = SseEmitter.event().comment("heartbeat");
+        }
+        if (frame != null) {
+            lastFrameNanos = now;
+            broadcast(frame);
+        }
+    }
+
+    // Um rebuild do mapa (setores ou vagas diferentes) não cabe em um delta: os assinantes recebem um novo snapshot
+    private SseEventBuilder frameBetween(Snapshot previous, Snapshot current) {
+        if (!sameLayout(previous, current)) {
+            RenderedOccupancy rendered = occupancySnapshotService.render(current, true);
+            renderedBaseline = rendered;
+            return SseEmitter.event()
+                    .name("snapshot")
+                    .id(String.valueOf(rendered.version()))
+                    .data(new String(rendered.json(), StandardCharsets.UTF_8), MediaType.APPLICATION_JSON);
+        }
+
+        List<SectorOccupancyDeltaDTO> sectors = new ArrayList<>();
+        for (int s = 0; s < current.sectors().size(); s++) {
+            SectorSnapshot before = previous.sectors().get(s);
+            SectorSnapshot after = current.sectors().get(s);
+            BitSet changed = (BitSet) before.occupied().clone();
+            changed.xor(after.occupied());
+            if (changed.isEmpty()) {
+                continue;
+            }
+            List<Long> occupiedSpotIds = new ArrayList<>();
+            List<Long> freedSpotIds = new ArrayList<>();
+            for (int bit = changed.nextSetBit(0); bit >= 0; bit = changed.nextSetBit(bit + 1)) {
+                (after.occupied().get(bit) ? occupiedSpotIds : freedSpotIds).add(after.spotIds()[bit]);
+            }
+            int maxCapacity = after.sector().maxCapacity();
+            int occupied = after.occupied().cardinality();
+            PriceTier tier = PriceTier.forOccupancy(occupied, maxCapacity);
+            PriceTier previousTier = PriceTier.forOccupancy(before.occupied().cardinality(), maxCapacity);
+            sectors.add(new SectorOccupancyDeltaDTO(after.sector().name(), occupied, tier, tier != previousTier,
+                    tier.priceFor(after.sector().basePrice()), occupiedSpotIds, freedSpotIds));
+        }
+
+        if (sectors.isEmpty()) {
+            return null;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(new OccupancyDeltaDTO(current.version(), sectors));
+            return SseEmitter.event()
+                    .name("delta")
+                    .id(String.valueOf(current.version()))
+                    .data(json, MediaType.APPLICATION_JSON);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o delta de ocupação.", e);
+        }
+    }
+
+    private static boolean sameLayout(Snapshot previous, Snapshot current) {
+        if (previous.sectors().size() != current.sectors().size()) {
+            return false;
+        }
+        for (int s = 0; s < current.sectors().size(); s++) {
+            // Os ids das vagas são compartilhados entre snapshots de um mesmo rebuild
+            if (previous.sectors().get(s).spotIds() != current.sectors().get(s).spotIds()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void broadcast(SseEventBuilder frame) {
+        frames.incrementAndGet();
+        // Montado uma única vez: o build() do SseEventBuilder não pode ser repetido
+        Set<DataWithMediaType> data = frame.build();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (!subscriber.offer(data)) {
+                log.debug("Fila do assinante do stream de ocupação cheia. Desconectando o cliente.");
+                drop(subscriber, new IllegalStateException("Assinante não acompanha o stream de ocupação."));
+            }
+        }
+    }
+
+    // Fora da thread agendada: encerrar o emitter espera um envio que esteja travado no cliente
+    private void drop(Subscriber subscriber, Exception cause) {
+        if (subscribers.remove(subscriber.emitter, subscriber)) {
+            droppedSubscribers.incrementAndGet();
+            subscriber.queue.clear();
+            senderExecutor.execute(() -> subscriber.emitter.completeWithError(cause));
+        }
+    }
+
+    /**
+     * Assinante com a sua fila de quadros. No máximo um envio por assinante está em andamento, na ordem da fila.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return {@code false} se a fila estiver cheia.
+         */
+        boolean offer(Set<DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senderExecutor.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> frame;
+                while ((frame = queue.poll()) != null) {
+                    try {
+                        emitter.send(frame);
+                    } catch (IOException | IllegalStateException e) {
+                        // Conexão fechada pelo cliente ou emitter já encerrado
+                        drop(this, e);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // Relê a fila: um quadro enfileirado entre o último poll e a liberação da vez não teria quem o enviasse
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("parking.occupancy.stream.subscribers", subscribers, Map::size)
+                .description("Assinantes conectados ao stream de ocupação")
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.occupancy.stream.frames", frames, AtomicLong::get)
+                .description("Quadros (deltas, snapshots e heartbeats) enviados pelo stream de ocupação")
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.occupancy.stream.dropped", droppedSubscribers, AtomicLong::get)
+                .description("Assinantes descartados por falha no envio ou por não acompanharem o stream")
+                .register(meterRegistry);
+    }
+}
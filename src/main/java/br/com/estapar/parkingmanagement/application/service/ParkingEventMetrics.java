@@ -0,0 +1,121 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.domain.exception.ResourceNotFoundException;
+import br.com.estapar.parkingmanagement.domain.exception.SectorFullException;
+import br.com.estapar.parkingmanagement.domain.exception.SpotOccupiedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de processamento de cada evento do webhook, por tipo de evento e resultado, publicado como
+ * {@code parking.event.processing} com histograma de percentis. Os timers de todas as combinações são
+ * registrados na criação, de modo que o registro de um evento não procura nem aloca medidores.
+ * No lugar de uma linha de log por evento, um resumo com as contagens do intervalo é registrado a cada
+ * {@code parking.logging.event-summary-interval-ms}.
+ */
+@Component
+public class ParkingEventMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(ParkingEventMetrics.class);
+
+    /**
+     * Resultado do processamento de um evento.
+     */
+    enum Outcome {
+        OK("ok"),
+        CAPACITY_REJECTED("capacity-rejected"),
+        SPOT_OCCUPIED("spot-occupied"),
+        NOT_FOUND("not-found"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        static Outcome of(Throwable failure) {
+            if (failure == null) {
+                return OK;
+            } else if (failure instanceof SectorFullException) {
+                return CAPACITY_REJECTED;
+            } else if (failure instanceof SpotOccupiedException) {
+                return SPOT_OCCUPIED;
+            } else if (failure instanceof ResourceNotFoundException) {
+                return NOT_FOUND;
+            }
+            return ERROR;
+        }
+    }
+
+    private final Map<EventType, Map<Outcome, Timer>> timers = new EnumMap<>(EventType.class);
+    // Contagens de cada timer no último resumo, indexadas por tipo de evento e resultado
+    private final long[][] summarizedCounts = new long[EventType.values().length][Outcome.values().length];
+
+    public ParkingEventMetrics(MeterRegistry meterRegistry) {
+        for (EventType eventType : EventType.values()) {
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Timer.builder("parking.event.processing")
+                        .description("Tempo de processamento de um evento do webhook")
+                        .tag("type", eventType.name())
+                        .tag("outcome", outcome.tag)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            timers.put(eventType, byOutcome);
+        }
+    }
+
+    /**
+     * Registra o processamento de um evento.
+     * @param failure a exceção que interrompeu o processamento, ou {@code null} se ele terminou com sucesso.
+     */
+    public void record(EventType eventType, Throwable failure, long elapsedNanos) {
+        if (eventType == null) {
+            return;
+        }
+        timers.get(eventType).get(Outcome.of(failure)).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra no log quantos eventos de cada tipo e resultado foram processados desde o resumo anterior.
+     */
+    @Scheduled(initialDelayString = "${parking.logging.event-summary-interval-ms:60000}",
+            fixedDelayString = "${parking.logging.event-summary-interval-ms:60000}")
+    public void logSummary() {
+        String summary = summarize();
+        if (summary != null) {
+            log.info(summary);
+        }
+    }
+
+    // Resumo das contagens desde a chamada anterior, ou null se nenhum evento foi processado no intervalo
+    String summarize() {
+        StringJoiner counts = new StringJoiner(", ");
+        long total = 0;
+        for (Map.Entry<EventType, Map<Outcome, Timer>> byType : timers.entrySet()) {
+            long[] previous = summarizedCounts[byType.getKey().ordinal()];
+            for (Map.Entry<Outcome, Timer> byOutcome : byType.getValue().entrySet()) {
+                long count = byOutcome.getValue().count();
+                long delta = count - previous[byOutcome.getKey().ordinal()];
+                previous[byOutcome.getKey().ordinal()] = count;
+                if (delta > 0) {
+                    counts.add(byType.getKey() + " " + byOutcome.getKey().tag + "=" + delta);
+                    total += delta;
+                }
+            }
+        }
+        return total == 0 ? null : total + " eventos processados no intervalo: " + counts;
+    }
+}
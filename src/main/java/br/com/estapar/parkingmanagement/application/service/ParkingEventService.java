@@ -1,11 +1,23 @@
 package br.com.estapar.parkingmanagement.application.service;
 
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache.ActiveSession;
+import br.com.estapar.parkingmanagement.application.cache.SectorOccupancyRegistry;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex.SpotLocation;
 import br.com.estapar.parkingmanagement.application.dto.query.PlateStatusResponseDTO;
 import br.com.estapar.parkingmanagement.application.dto.query.RevenueResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.SpotStatusRequestDTO;
 import br.com.estapar.parkingmanagement.application.dto.query.SpotStatusResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.StatusLookupResultDTO;
 import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
 import br.com.estapar.parkingmanagement.domain.exception.ResourceNotFoundException;
+import br.com.estapar.parkingmanagement.domain.exception.SectorFullException;
+import br.com.estapar.parkingmanagement.domain.exception.SpotOccupiedException;
 import br.com.estapar.parkingmanagement.domain.model.*;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.ActiveSessionView;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SpotStatusView;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.ParkingRecordRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
@@ -16,12 +28,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ParkingEventService {
@@ -32,25 +51,52 @@ public class ParkingEventService {
     private final SpotRepository spotRepository;
     private final ParkingRecordRepository parkingRecordRepository;
     private final SectorRepository sectorRepository;
+    private final SectorOccupancyRegistry sectorOccupancyRegistry;
+    private final SpotSpatialIndex spotSpatialIndex;
+    private final ActiveSessionCache activeSessionCache;
+    private final SpotOccupancyBitmap spotOccupancyBitmap;
+    private final FareCalculator fareCalculator;
+    private final RevenueRollupService revenueRollupService;
+    private final ParkingEventMetrics parkingEventMetrics;
 
     public ParkingEventService(VehicleRepository vehicleRepository, SpotRepository spotRepository,
-                               ParkingRecordRepository parkingRecordRepository, SectorRepository sectorRepository) {
+                               ParkingRecordRepository parkingRecordRepository, SectorRepository sectorRepository,
+                               SectorOccupancyRegistry sectorOccupancyRegistry, SpotSpatialIndex spotSpatialIndex,
+                               ActiveSessionCache activeSessionCache, SpotOccupancyBitmap spotOccupancyBitmap,
+                               FareCalculator fareCalculator, RevenueRollupService revenueRollupService,
+                               ParkingEventMetrics parkingEventMetrics) {
         this.vehicleRepository = vehicleRepository;
         this.spotRepository = spotRepository;
         this.parkingRecordRepository = parkingRecordRepository;
         this.sectorRepository = sectorRepository;
+        this.sectorOccupancyRegistry = sectorOccupancyRegistry;
+        this.spotSpatialIndex = spotSpatialIndex;
+        this.activeSessionCache = activeSessionCache;
+        this.spotOccupancyBitmap = spotOccupancyBitmap;
+        this.fareCalculator = fareCalculator;
+        this.revenueRollupService = revenueRollupService;
+        this.parkingEventMetrics = parkingEventMetrics;
     }
 
     @Transactional
     public void processEvent(WebhookEventDTO eventDTO) {
-        log.info("Processando evento do tipo: {}", eventDTO.getEventType());
-
-        // Switch para redirecionar o evento para o método correto
-        switch(eventDTO.getEventType()) {
-            case ENTRY -> handleEntryEvent(eventDTO);
-            case PARKED -> handleParkedEvent(eventDTO);
-            case EXIT -> handleExitEvent(eventDTO);
-            default -> log.warn("Tipo de evento desconhecidos recebido: {}", eventDTO.getEventType());
+        log.debug("Processando evento do tipo: {}", eventDTO.getEventType());
+
+        long startNanos = System.nanoTime();
+        RuntimeException failure = null;
+        try {
+            // Switch para redirecionar o evento para o método correto
+            switch(eventDTO.getEventType()) {
+                case ENTRY -> handleEntryEvent(eventDTO);
+                case PARKED -> handleParkedEvent(eventDTO);
+                case EXIT -> handleExitEvent(eventDTO);
+                default -> log.warn("Tipo de evento desconhecidos recebido: {}", eventDTO.getEventType());
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            parkingEventMetrics.record(eventDTO.getEventType(), failure, System.nanoTime() - startNanos);
         }
     }
 
@@ -61,87 +107,101 @@ public class ParkingEventService {
         // Se o veículo nunca foi registrado, então cadastra ele.
         vehicleRepository.findById(licensePlate)
                 .orElseGet(() -> {
-                   log.info("Veículo com placa {} não encontrado. Criando novo registro.", licensePlate);
+                   log.debug("Veículo com placa {} não encontrado. Criando novo registro.", licensePlate);
                    return vehicleRepository.save(new Vehicle(licensePlate));
                 });
 
-        log.info("Evento de ENTRADA processado para o veículo {}.", licensePlate);
+        log.debug("Evento de ENTRADA processado para o veículo {}.", licensePlate);
     }
 
     private void handleParkedEvent(WebhookEventDTO eventDTO) {
         log.debug("Tratando ESTACIONAMENTO para a placa: {}", eventDTO.getLicensePlate());
 
-        // Encontra a vaga e o veículo. Se não encontrar, lança uma exceção.
-        Spot spot = spotRepository.findByLatAndLng(eventDTO.getLat(), eventDTO.getLng())
+        // Encontra a vaga. Se não encontrar, lança uma exceção.
+        SpotLocation location = resolveSpotLocation(eventDTO.getLat(), eventDTO.getLng())
                 .orElseThrow(() -> new ResourceNotFoundException("Vaga não encontrada para as coordenadas fornecidas."));
 
+        // Ocupa a vaga com um UPDATE condicional: se ela já estiver ocupada, nenhuma linha é alterada.
+        // Qualquer falha daqui em diante desfaz a transação e, com ela, a ocupação da vaga.
+        if (spotRepository.claimIfFree(location.spotId()) == 0) {
+            log.debug("Tentativa de estacionar em vaga já ocupada. Vaga ID: {}", location.spotId());
+            throw new SpotOccupiedException("Vaga já está ocupada.");
+        }
+
         Vehicle vehicle = vehicleRepository.findById(eventDTO.getLicensePlate())
                 .orElseThrow(() -> new ResourceNotFoundException("Veículo não encontrado para a placa fornecida."));
 
-        Sector sector = spot.getSector();
+        Sector sector = sectorRepository.findById(location.sectorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Setor da vaga " + location.spotId() + " não encontrado."));
 
-        // Verifica se o setor tem capacidade
-        long occupiedSpots = spotRepository.countBySectorAndOccupied(sector, true);
-        if(occupiedSpots >= sector.getMaxCapacity()) {
-            log.warn("Tentativa de estacionar no setor '{}' que já está com lotação máxima de {} vagas. Rejeitando evento PARKED para a placa {}.",
+        // Reserva atomicamente uma vaga no contador do setor, verificando a lotação máxima
+        int occupiedSpots = sectorOccupancyRegistry.tryOccupy(sector.getId(), sector.getMaxCapacity());
+        if(occupiedSpots < 0) {
+            log.debug("Tentativa de estacionar no setor '{}' que já está com lotação máxima de {} vagas. Rejeitando evento PARKED para a placa {}.",
                     sector.getName(), sector.getMaxCapacity(), eventDTO.getLicensePlate());
-            throw new IllegalStateException("Lotação máxima atingida para o setor " + sector.getName());
-        }
-
-        // Verifica se a vaga já está ocupada
-        if(spot.isOccupied()) {
-            log.error("Tentativa de estacionar em vaga já ocupada. Vaga ID: {}", spot.getId());
-            throw new IllegalStateException("Vaga já está ocupada.");
+            throw new SectorFullException("Lotação máxima atingida para o setor " + sector.getName());
         }
+        // Se a transação não for commitada, devolve a reserva
+        TransactionCallbacks.onRollback(() -> sectorOccupancyRegistry.release(sector.getId()));
 
-        // Calcula o preço/hora dinâmico
-        BigDecimal dynamicPricePerHour = calculateDynamicPrice(sector);
+        // Calcula o preço/hora dinâmico com a ocupação anterior a este veículo
+        BigDecimal dynamicPricePerHour = calculateDynamicPrice(sector, occupiedSpots);
 
         // Cria o registro da estadia
         ParkingRecord record = new ParkingRecord();
         record.setVehicle(vehicle);
-        record.setSpot(spot);
-        record.setEntryTime(LocalDateTime.now());
+        record.setSpot(spotRepository.getReferenceById(location.spotId()));
+        // A entrada é o momento em que o webhook chegou, que pode ser anterior ao processamento no modo assíncrono.
+        // Precisão de microssegundos, a mesma do timestamp do banco, para o cache e o banco concordarem
+        LocalDateTime entryTime = eventDTO.getReceivedAt() != null ? eventDTO.getReceivedAt() : LocalDateTime.now();
+        record.setEntryTime(entryTime.truncatedTo(ChronoUnit.MICROS));
         record.setStatus(ParkingStatus.ACTIVE);
         record.setPricePerHour(dynamicPricePerHour);
 
         parkingRecordRepository.save(record);
 
-        // Atualiza o status da vaga
-        spot.setOccupied(true);
-        spotRepository.save(spot);
+        ActiveSession session = ActiveSession.of(record.getId(), location.spotId(), sector.getId(),
+                location.lat(), location.lng(), record.getEntryTime(), dynamicPricePerHour);
+        TransactionCallbacks.afterCommit(() -> {
+            activeSessionCache.put(vehicle.getLicensePlate(), session);
+            spotOccupancyBitmap.markOccupied(location.spotId());
+        });
 
-        log.info("Veículo {} estacionado na vaga {} do setor {}. Preço/hora aplicado: {}",
-                vehicle.getLicensePlate(), spot.getId(), sector.getName(), dynamicPricePerHour);
+        log.debug("Veículo {} estacionado na vaga {} do setor {}. Preço/hora aplicado: {}",
+                vehicle.getLicensePlate(), location.spotId(), sector.getName(), dynamicPricePerHour);
     }
 
     private void handleExitEvent(WebhookEventDTO eventDTO) {
         log.debug("Tratando SAÍDA para a placa: {}", eventDTO.getLicensePlate());
         String licensePlate = eventDTO.getLicensePlate();
 
+        LocalDateTime exitTime = LocalDateTime.parse(eventDTO.getExitTime(), DateTimeFormatter.ISO_DATE_TIME);
+
+        // Com a estadia em cache, finaliza o registro e libera a vaga sem carregar entidades
+        Optional<ActiveSession> cachedSession = activeSessionCache.get(licensePlate);
+        if (cachedSession.isPresent()) {
+            completeCachedSession(licensePlate, cachedSession.get(), exitTime);
+            return;
+        }
+
         // Encontrar o ParkingRecord ativo para este veículo
         ParkingRecord activeRecord = parkingRecordRepository
                 .findByVehicleLicensePlateAndStatus(licensePlate, ParkingStatus.ACTIVE)
                 .orElseThrow(() -> new ResourceNotFoundException("Nenhum registro de estacionamento ativo encontrado para a placa: " + licensePlate));
 
         // Definir hora da saída
-        LocalDateTime exitTime = LocalDateTime.parse(eventDTO.getExitTime(), DateTimeFormatter.ISO_DATE_TIME);
         activeRecord.setExitTime(exitTime);
 
-        // Calcular o valor final
-        LocalDateTime entryTime = activeRecord.getEntryTime();
-        BigDecimal pricePerHour = activeRecord.getPricePerHour();
-
         // Calcula a duração em minutos
-        long durationInMinutes = Duration.between(entryTime, exitTime).toMinutes();
+        long durationInMinutes = fareCalculator.minutesBetween(activeRecord.getEntryTime(), exitTime);
 
         if(durationInMinutes <= 0) {
             durationInMinutes = 0;
         }
 
-        // Converte minutos para horas e calcula o valor
-        BigDecimal durationInHours = new BigDecimal(durationInMinutes).divide(new BigDecimal("60"), 2, RoundingMode.HALF_UP);
-        BigDecimal finalFare = durationInHours.multiply(pricePerHour).setScale(2, RoundingMode.HALF_UP);
+        // Calcular o valor final
+        long pricePerHourCents = fareCalculator.toCents(activeRecord.getPricePerHour());
+        BigDecimal finalFare = fareCalculator.toAmount(fareCalculator.fareCents(durationInMinutes, pricePerHourCents));
 
         activeRecord.setFinalFare(finalFare);
 
@@ -149,110 +209,226 @@ public class ParkingEventService {
         activeRecord.setStatus(ParkingStatus.COMPLETED);
         parkingRecordRepository.save(activeRecord);
 
-        // Liberar a vaga
+        // Liberar a vaga (os ids são lidos antes: o UPDATE limpa o contexto de persistência)
         Spot spot = activeRecord.getSpot();
-        spot.setOccupied(false);
-        spotRepository.save(spot);
+        Long spotId = spot.getId();
+        Long sectorId = spot.getSector().getId();
+        releaseSpot(licensePlate, spotId, sectorId);
+        revenueRollupService.recordExit(sectorId, exitTime, finalFare);
+
+        log.debug("Saída registrada para o veículo {}. Tempo: {} minutos. Valor: R${}. Vaga {} liberada.",
+                licensePlate, durationInMinutes, finalFare, spotId);
+    }
+
+    private void completeCachedSession(String licensePlate, ActiveSession session, LocalDateTime exitTime) {
+        long durationInMinutes = fareCalculator.minutesBetween(session.entryEpochMicros(), exitTime);
+
+        if(durationInMinutes <= 0) {
+            durationInMinutes = 0;
+        }
+
+        BigDecimal finalFare = fareCalculator.toAmount(fareCalculator.fareCents(durationInMinutes, session.pricePerHourCents()));
+
+        int updated = parkingRecordRepository.completeActiveRecord(session.recordId(), exitTime, finalFare);
+        if (updated == 0) {
+            // O registro já não está mais ativo no banco: o cache estava desatualizado
+            activeSessionCache.evict(licensePlate);
+            throw new ResourceNotFoundException("Nenhum registro de estacionamento ativo encontrado para a placa: " + licensePlate);
+        }
+        releaseSpot(licensePlate, session.spotId(), session.sectorId());
+        revenueRollupService.recordExit(session.sectorId(), exitTime, finalFare);
+
+        log.debug("Saída registrada para o veículo {}. Tempo: {} minutos. Valor: R${}. Vaga {} liberada.",
+                licensePlate, durationInMinutes, finalFare, session.spotId());
+    }
 
-        log.info("Saída registrada para o veículo {}. Tempo: {} minutos. Valor: R${}. Vaga {} liberada.",
-                licensePlate, durationInMinutes, finalFare, spot.getId());
+    /**
+     * Libera a vaga com um UPDATE condicional e, após o commit, devolve a vaga ao contador do setor e remove a estadia do cache.
+     * O contador só é devolvido se a vaga estava de fato ocupada.
+     */
+    private void releaseSpot(String licensePlate, Long spotId, Long sectorId) {
+        boolean released = spotRepository.releaseIfHeld(spotId) == 1;
+        if (!released) {
+            log.warn("Vaga {} já estava livre na saída do veículo {}.", spotId, licensePlate);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            if (released) {
+                sectorOccupancyRegistry.release(sectorId);
+                spotOccupancyBitmap.markFree(spotId);
+            }
+            activeSessionCache.evict(licensePlate);
+        });
     }
 
+    @Transactional(readOnly = true)
     public PlateStatusResponseDTO getPlateStatus(String licensePlate) {
         log.debug("Buscando status para a placa: {}", licensePlate);
 
-        ParkingRecord activeRecord = parkingRecordRepository
-                .findByVehicleLicensePlateAndStatus(licensePlate, ParkingStatus.ACTIVE)
+        // Responde direto da memória quando a estadia está em cache
+        Optional<ActiveSession> cachedSession = activeSessionCache.get(licensePlate);
+        if (cachedSession.isPresent()) {
+            return toPlateStatus(licensePlate, cachedSession.get());
+        }
+
+        // Estadia, vaga e placa em uma única consulta, sem carregar as entidades
+        ActiveSessionView session = parkingRecordRepository
+                .findSessionByPlateAndStatus(licensePlate, ParkingStatus.ACTIVE)
                 .orElseThrow(() -> new ResourceNotFoundException("Nenhum registro de estacionamento ativo encontrado para a placa: " + licensePlate));
 
-        // Extrair dados
-        Spot spot = activeRecord.getSpot();
-        Vehicle vehicle = activeRecord.getVehicle();
+        PlateStatusResponseDTO responseDTO = toPlateStatus(licensePlate, ActiveSession.of(session));
+        log.debug("Status encontrado para a placa {}: {}", licensePlate, responseDTO);
+        return responseDTO;
+    }
 
-        LocalDateTime entryTime = activeRecord.getEntryTime();
+    private PlateStatusResponseDTO toPlateStatus(String licensePlate, ActiveSession session) {
+        LocalDateTime entryTime = session.entryTime();
         LocalDateTime currentTime = LocalDateTime.now();
         Duration duration = Duration.between(entryTime, currentTime);
 
-        // Calcula o preço até o momento
-        BigDecimal pricePerHour = activeRecord.getPricePerHour();
+        long minutes = fareCalculator.minutesBetween(session.entryEpochMicros(), currentTime);
+        BigDecimal priceUntilNow = fareCalculator.toAmount(fareCalculator.fareCents(minutes, session.pricePerHourCents()));
 
-        // Converte a duração para horas decimais (ex: 1.5 para 1 hora e 30 min).
-        // Usa 2 casas de precisão para a divisão para evitar dízimas no cálculo de horas.
-        BigDecimal durationInHours = new BigDecimal(duration.toMinutes())
-                .divide(new BigDecimal("60"), 2, RoundingMode.HALF_UP);
-
-        BigDecimal priceUntilNow = durationInHours.multiply(pricePerHour)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        // Monta DTO da Resposta
-        PlateStatusResponseDTO responseDTO = new PlateStatusResponseDTO(
-                vehicle.getLicensePlate(),
+        return new PlateStatusResponseDTO(
+                licensePlate,
                 priceUntilNow,
                 entryTime.format(DateTimeFormatter.ISO_DATE_TIME),
                 duration.toString(),
-                spot.getLat(),
-                spot.getLng()
+                session.lat(),
+                session.lng()
         );
-
-        log.info("Status encontrado para a placa {}: {}", licensePlate, responseDTO);
-        return responseDTO;
     }
 
+    @Transactional(readOnly = true)
     public SpotStatusResponseDTO getSpotStatus(Double lat, Double lng) {
         log.debug("Buscando status para a vaga em lat: {}, lng: {}", lat, lng);
 
-        Spot spot = spotRepository.findByLatAndLng(lat, lng)
+        // Vaga, estadia ativa e placa em uma única consulta, sem carregar as entidades
+        SpotStatusView spot = findSpotStatusByCoordinates(lat, lng)
                 .orElseThrow(() -> new ResourceNotFoundException("Nenhuma vaga encontrada para as coordenadas lat: " + lat + ", lng: " + lng));
 
-        SpotStatusResponseDTO responseDTO = new SpotStatusResponseDTO();
-        responseDTO.setOccupied(spot.isOccupied());
-
-        // Se a vaga estiver OCUPADA, encontra os detalhes do veículo e da estadia.
-        if (spot.isOccupied()) {
-            // Busca o registro de estacionamento ATIVO para ESTA vaga específica.
-            Optional<ParkingRecord> activeRecordOpt = parkingRecordRepository
-                    .findBySpotAndStatus(spot, ParkingStatus.ACTIVE);
-
-            if (activeRecordOpt.isPresent()) {
-                ParkingRecord activeRecord = activeRecordOpt.get();
-                Vehicle vehicle = activeRecord.getVehicle();
-
-                LocalDateTime entryTime = activeRecord.getEntryTime();
-                LocalDateTime currentTime = LocalDateTime.now();
-                Duration duration = Duration.between(entryTime, currentTime);
-
-                BigDecimal pricePerHour = activeRecord.getPricePerHour();
-                BigDecimal durationInHours = new BigDecimal(duration.toMinutes())
-                        .divide(new BigDecimal("60"), 2, RoundingMode.HALF_UP);
-                BigDecimal priceUntilNow = durationInHours.multiply(pricePerHour)
-                        .setScale(2, RoundingMode.HALF_UP);
-
-                responseDTO.setLicensePlate(vehicle.getLicensePlate());
-                responseDTO.setPriceUntilNow(priceUntilNow);
-                responseDTO.setEntryTime(entryTime.format(DateTimeFormatter.ISO_DATE_TIME));
-                responseDTO.setTimeParked(duration.toString()); // Formato ISO "PTnHnMnS"
+        if (!Boolean.TRUE.equals(spot.getOccupied())) {
+            // Vaga livre: os campos de veículo e tempo ficam nulos
+            return new SpotStatusResponseDTO(false, null, BigDecimal.ZERO, null, null);
+        }
+        if (spot.getLicensePlate() == null) {
+            return inconsistentSpotStatus(spot.getSpotId());
+        }
+
+        LocalDateTime entryTime = spot.getEntryTime();
+        LocalDateTime currentTime = LocalDateTime.now();
+        Duration duration = Duration.between(entryTime, currentTime);
+
+        return new SpotStatusResponseDTO(
+                true,
+                spot.getLicensePlate(),
+                priceUntil(entryTime, currentTime, spot.getPricePerHour()),
+                entryTime.format(DateTimeFormatter.ISO_DATE_TIME),
+                duration.toString() // Formato ISO "PTnHnMnS"
+        );
+    }
+
+    /**
+     * Status de várias placas de uma vez. As estadias em cache respondem direto da memória e as demais
+     * são buscadas em uma única consulta; placas sem estadia ativa voltam marcadas como não encontradas.
+     * @return o resultado de cada placa, na ordem da requisição (placas repetidas aparecem uma única vez).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, StatusLookupResultDTO<PlateStatusResponseDTO>> getPlateStatuses(List<String> licensePlates) {
+        log.debug("Buscando status em lote para {} placas.", licensePlates.size());
+
+        Map<String, ActiveSession> sessions = new HashMap<>();
+        Set<String> cacheMisses = new LinkedHashSet<>();
+        for (String licensePlate : licensePlates) {
+            activeSessionCache.get(licensePlate).ifPresentOrElse(
+                    session -> sessions.put(licensePlate, session),
+                    () -> cacheMisses.add(licensePlate));
+        }
+        if (!cacheMisses.isEmpty()) {
+            parkingRecordRepository.findSessionsByPlatesAndStatus(cacheMisses, ParkingStatus.ACTIVE)
+                    .forEach(view -> sessions.put(view.getLicensePlate(), ActiveSession.of(view)));
+        }
+
+        Map<String, StatusLookupResultDTO<PlateStatusResponseDTO>> results = new LinkedHashMap<>();
+        for (String licensePlate : licensePlates) {
+            ActiveSession session = sessions.get(licensePlate);
+            results.put(licensePlate, session != null
+                    ? StatusLookupResultDTO.found(toPlateStatus(licensePlate, session))
+                    : StatusLookupResultDTO.notFound("Nenhum registro de estacionamento ativo encontrado para a placa: " + licensePlate));
+        }
+        return results;
+    }
+
+    /**
+     * Status de várias vagas de uma vez. As coordenadas são resolvidas pelo índice espacial e a ocupação
+     * e as estadias ativas das vagas são buscadas com uma consulta cada, independente do tamanho do lote.
+     * @return o resultado de cada vaga, indexado por "lat,lng", na ordem da requisição.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, StatusLookupResultDTO<SpotStatusResponseDTO>> getSpotStatuses(List<SpotStatusRequestDTO> spots) {
+        log.debug("Buscando status em lote para {} vagas.", spots.size());
+
+        // Chave "lat,lng" -> vaga resolvida (null se não existir vaga nas coordenadas)
+        Map<String, Long> spotIdByKey = new LinkedHashMap<>();
+        for (SpotStatusRequestDTO spot : spots) {
+            String key = spot.getLat() + "," + spot.getLng();
+            if (!spotIdByKey.containsKey(key)) {
+                spotIdByKey.put(key, findSpotIdByCoordinates(spot.getLat(), spot.getLng()).orElse(null));
+            }
+        }
+
+        Set<Long> spotIds = new HashSet<>(spotIdByKey.values());
+        spotIds.remove(null);
+        Set<Long> occupiedIds = spotIds.isEmpty() ? Set.of() : new HashSet<>(spotRepository.findOccupiedIds(spotIds));
+        Map<Long, ActiveSessionView> sessionsBySpot = new HashMap<>();
+        if (!occupiedIds.isEmpty()) {
+            parkingRecordRepository.findSessionsBySpotIdsAndStatus(occupiedIds, ParkingStatus.ACTIVE)
+                    .forEach(view -> sessionsBySpot.put(view.getSpotId(), view));
+        }
+
+        Map<String, StatusLookupResultDTO<SpotStatusResponseDTO>> results = new LinkedHashMap<>();
+        spotIdByKey.forEach((key, spotId) -> {
+            if (spotId == null) {
+                results.put(key, StatusLookupResultDTO.notFound("Nenhuma vaga encontrada para as coordenadas " + key));
             } else {
-                log.error("INCONSISTÊNCIA DE DADOS: Vaga ID {} está marcada como ocupada, mas não foi encontrado ParkingRecord ativo.", spot.getId());
-                responseDTO.setLicensePlate("ERRO_INTERNO_VAGA_SEM_REGISTRO_ATIVO");
+                results.put(key, StatusLookupResultDTO.found(
+                        toSpotStatus(spotId, occupiedIds.contains(spotId), sessionsBySpot.get(spotId))));
             }
-        } else {
-            // Se a vaga não está ocupada, os campos de veículo, preço e tempo permanecem nulos.
-            responseDTO.setLicensePlate(null);
-            responseDTO.setPriceUntilNow(BigDecimal.ZERO);
-            responseDTO.setEntryTime(null);
-            responseDTO.setTimeParked(null);
+        });
+        return results;
+    }
+
+    private SpotStatusResponseDTO toSpotStatus(Long spotId, boolean occupied, ActiveSessionView session) {
+        if (!occupied) {
+            return new SpotStatusResponseDTO(false, null, BigDecimal.ZERO, null, null);
+        }
+        if (session == null) {
+            return inconsistentSpotStatus(spotId);
         }
+        PlateStatusResponseDTO plateStatus = toPlateStatus(session.getLicensePlate(), ActiveSession.of(session));
+        return new SpotStatusResponseDTO(true, plateStatus.getLicensePlate(), plateStatus.getPriceUntilNow(),
+                plateStatus.getEntryTime(), plateStatus.getTimeParked());
+    }
 
-        return responseDTO;
+    private SpotStatusResponseDTO inconsistentSpotStatus(Long spotId) {
+        log.error("INCONSISTÊNCIA DE DADOS: Vaga ID {} está marcada como ocupada, mas não foi encontrado ParkingRecord ativo.", spotId);
+        return new SpotStatusResponseDTO(true, "ERRO_INTERNO_VAGA_SEM_REGISTRO_ATIVO", null, null, null);
     }
 
+    @Transactional(readOnly = true)
     public RevenueResponseDTO getRevenueForSectorAndDate(String sectorName, LocalDate date) {
         log.debug("Calculando faturamento para o setor {} na data {}", sectorName, date);
 
         Sector sector = sectorRepository.findByName(sectorName)
                 .orElseThrow(() -> new ResourceNotFoundException("Setor com nome '" + sectorName + "' não encontrado."));
 
-        // Definindo o intervalo de tempo de consulta
+        // Leitura direta do consolidado diário, mantido a cada saída
+        Optional<BigDecimal> rolledUpRevenue = revenueRollupService.findTotalRevenue(sector.getId(), date);
+        if (rolledUpRevenue.isPresent()) {
+            log.info("Faturamento consolidado para o setor {} na data {}: R$ {}", sectorName, date, rolledUpRevenue.get());
+            return new RevenueResponseDTO(rolledUpRevenue.get(), "BRL", LocalDateTime.now());
+        }
+
+        // Sem consolidado para o dia (nenhuma saída; o histórico anterior ao consolidado é preenchido pela migração V5)
         LocalDateTime startDate = date.atStartOfDay();
         LocalDateTime endDate = date.plusDays(1).atStartOfDay();
 
@@ -273,24 +449,38 @@ public class ParkingEventService {
         return new RevenueResponseDTO(totalRevenue, "BRL", LocalDateTime.now());
     }
 
-    private BigDecimal calculateDynamicPrice(Sector sector) {
-        // Verifica quantas vagas estão ocupadas no setor
-        long occupiedSpots = spotRepository.countBySectorAndOccupied(sector, true);
-        double occupancyRate = (double) occupiedSpots / sector.getMaxCapacity();
-
-        BigDecimal basePrice = sector.getBasePrice();
-        BigDecimal dynamicPrice;
-
-        if(occupancyRate < 0.25) {
-            dynamicPrice = basePrice.multiply(new BigDecimal("0.90"));
-        } else if (occupancyRate < 0.50) {
-            dynamicPrice = basePrice;
-        } else if (occupancyRate < 0.75) {
-            dynamicPrice = basePrice.multiply(new BigDecimal("1.10"));
-        } else {
-            dynamicPrice = basePrice.multiply(new BigDecimal("1.25"));
+    private BigDecimal priceUntil(LocalDateTime entryTime, LocalDateTime currentTime, BigDecimal pricePerHour) {
+        long minutes = fareCalculator.minutesBetween(entryTime, currentTime);
+        return fareCalculator.toAmount(fareCalculator.fareCents(minutes, fareCalculator.toCents(pricePerHour)));
+    }
+
+    private Optional<SpotLocation> resolveSpotLocation(Double lat, Double lng) {
+        // Enquanto o índice espacial não estiver construído, busca pela igualdade exata no banco
+        if (!spotSpatialIndex.isReady()) {
+            return spotRepository.findByLatAndLng(lat, lng)
+                    .map(spot -> new SpotLocation(spot.getId(), spot.getSector().getId(), spot.getLat(), spot.getLng()));
+        }
+        return spotSpatialIndex.resolve(lat, lng);
+    }
+
+    private Optional<Long> findSpotIdByCoordinates(Double lat, Double lng) {
+        if (!spotSpatialIndex.isReady()) {
+            return spotRepository.findByLatAndLng(lat, lng).map(Spot::getId);
         }
+        return spotSpatialIndex.resolve(lat, lng).map(SpotLocation::spotId);
+    }
+
+    private Optional<SpotStatusView> findSpotStatusByCoordinates(Double lat, Double lng) {
+        // Enquanto o índice espacial não estiver construído, busca pela igualdade exata no banco
+        if (!spotSpatialIndex.isReady()) {
+            return spotRepository.findStatusByLatAndLng(lat, lng);
+        }
+        return spotSpatialIndex.resolve(lat, lng)
+                .flatMap(location -> spotRepository.findStatusById(location.spotId()));
+    }
 
-        return dynamicPrice.setScale(2, RoundingMode.HALF_UP);
+    // Visível no pacote para os benchmarks JMH
+    BigDecimal calculateDynamicPrice(Sector sector, int occupiedSpots) {
+        return PriceTier.forOccupancy(occupiedSpots, sector.getMaxCapacity()).priceFor(sector.getBasePrice());
     }
 }
@@ -0,0 +1,112 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.query.RevenueGranularity;
+import br.com.estapar.parkingmanagement.application.dto.query.RevenueReportEntryDTO;
+import br.com.estapar.parkingmanagement.domain.exception.ResourceNotFoundException;
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.DailyRevenueView;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorDailyRevenueRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Relatório de faturamento por intervalo de datas, setores e período (dia, semana ou mês).
+ * Lê o consolidado {@code sector_daily_revenue} em uma única consulta ordenada por data e agrega os períodos
+ * enquanto as linhas chegam, entregando cada período assim que ele fecha, sem materializar o resultado inteiro.
+ */
+@Service
+public class RevenueReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueReportService.class);
+
+    private final SectorRepository sectorRepository;
+    private final SectorDailyRevenueRepository sectorDailyRevenueRepository;
+
+    public RevenueReportService(SectorRepository sectorRepository,
+                                SectorDailyRevenueRepository sectorDailyRevenueRepository) {
+        this.sectorRepository = sectorRepository;
+        this.sectorDailyRevenueRepository = sectorDailyRevenueRepository;
+    }
+
+    /**
+     * Consulta validada do relatório. {@code sectorIds} vazio significa todos os setores.
+     */
+    public record ReportQuery(LocalDate startDate, LocalDate endDate, List<Long> sectorIds,
+                              RevenueGranularity granularity) {
+    }
+
+    /**
+     * Valida o intervalo e resolve os nomes dos setores antes de a resposta começar a ser escrita,
+     * para que erros ainda possam ser devolvidos com o status HTTP adequado.
+     */
+    @Transactional(readOnly = true)
+    public ReportQuery prepareQuery(LocalDate startDate, LocalDate endDate, Collection<String> sectorNames,
+                                    RevenueGranularity granularity) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial.");
+        }
+        List<Long> sectorIds = new ArrayList<>();
+        if (sectorNames != null) {
+            for (String sectorName : new LinkedHashSet<>(sectorNames)) {
+                Sector sector = sectorRepository.findByName(sectorName)
+                        .orElseThrow(() -> new ResourceNotFoundException("Setor com nome '" + sectorName + "' não encontrado."));
+                sectorIds.add(sector.getId());
+            }
+        }
+        return new ReportQuery(startDate, endDate, List.copyOf(sectorIds), granularity);
+    }
+
+    /**
+     * Entrega ao {@code consumer}, em ordem de período e setor, o faturamento de cada setor em cada período.
+     * Setores sem faturamento em um período não aparecem.
+     */
+    @Transactional(readOnly = true)
+    public void streamReport(ReportQuery query, Consumer<RevenueReportEntryDTO> consumer) {
+        log.debug("Gerando relatório de faturamento: {}", query);
+        RevenueGranularity granularity = query.granularity();
+
+        try (Stream<DailyRevenueView> rows = query.sectorIds().isEmpty()
+                ? sectorDailyRevenueRepository.streamByDateRange(query.startDate(), query.endDate())
+                : sectorDailyRevenueRepository.streamByDateRangeAndSectorIds(query.startDate(), query.endDate(), query.sectorIds())) {
+
+            LocalDate currentPeriod = null;
+            Map<String, BigDecimal> totalsBySector = new TreeMap<>();
+            for (Iterator<DailyRevenueView> iterator = rows.iterator(); iterator.hasNext(); ) {
+                DailyRevenueView row = iterator.next();
+                LocalDate period = granularity.periodStart(row.getRevenueDate());
+                if (!period.equals(currentPeriod)) {
+                    emit(query, currentPeriod, totalsBySector, consumer);
+                    currentPeriod = period;
+                }
+                totalsBySector.merge(row.getSectorName(), row.getTotalRevenue(), BigDecimal::add);
+            }
+            emit(query, currentPeriod, totalsBySector, consumer);
+        }
+    }
+
+    private static void emit(ReportQuery query, LocalDate period, Map<String, BigDecimal> totalsBySector,
+                             Consumer<RevenueReportEntryDTO> consumer) {
+        if (period == null) {
+            return;
+        }
+        // Períodos parciais nas pontas ficam limitados ao intervalo consultado
+        LocalDate periodStart = period.isBefore(query.startDate()) ? query.startDate() : period;
+        LocalDate periodEnd = query.granularity().periodEnd(period);
+        if (periodEnd.isAfter(query.endDate())) {
+            periodEnd = query.endDate();
+        }
+        for (Map.Entry<String, BigDecimal> entry : totalsBySector.entrySet()) {
+            consumer.accept(new RevenueReportEntryDTO(periodStart, periodEnd, entry.getKey(), entry.getValue(), "BRL"));
+        }
+        totalsBySector.clear();
+    }
+}
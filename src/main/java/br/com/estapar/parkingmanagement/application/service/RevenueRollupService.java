@@ -0,0 +1,88 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorDailyRevenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Mantém a tabela {@code sector_daily_revenue}: um total por setor e dia, somado incrementalmente a cada
+ * saída, para que a consulta de faturamento não precise agregar o histórico de {@code parking_records}.
+ */
+@Service
+public class RevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    private final SectorDailyRevenueRepository sectorDailyRevenueRepository;
+    private final boolean archivingEnabled;
+    private final int retentionMonths;
+
+    public RevenueRollupService(SectorDailyRevenueRepository sectorDailyRevenueRepository,
+                                @Value("${parking.partitions.maintenance.enabled:true}") boolean archivingEnabled,
+                                @Value("${parking.partitions.retention-months:12}") int retentionMonths) {
+        this.sectorDailyRevenueRepository = sectorDailyRevenueRepository;
+        this.archivingEnabled = archivingEnabled;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Soma a tarifa de uma saída ao consolidado do setor no dia da saída. Participa da transação do EXIT.
+     * No caminho comum é um único UPDATE; a primeira saída do dia cria a linha e, se outra transação
+     * criou a mesma linha em paralelo, o INSERT é ignorado e o valor é somado por um novo UPDATE.
+     */
+    @Transactional
+    public void recordExit(Long sectorId, LocalDateTime exitTime, BigDecimal finalFare) {
+        LocalDate date = exitTime.toLocalDate();
+        if (sectorDailyRevenueRepository.addToTotal(sectorId, date, finalFare) > 0) {
+            return;
+        }
+        if (sectorDailyRevenueRepository.insertIfAbsent(sectorId, date, finalFare) > 0) {
+            return;
+        }
+        sectorDailyRevenueRepository.addToTotal(sectorId, date, finalFare);
+    }
+
+    public Optional<BigDecimal> findTotalRevenue(Long sectorId, LocalDate date) {
+        return sectorDailyRevenueRepository.findTotalRevenue(sectorId, date);
+    }
+
+    /**
+     * Recalcula os consolidados de todos os setores no intervalo de datas (inclusivo) a partir dos registros.
+     * Saídas registradas durante a reconstrução podem ser perdidas ou contadas duas vezes nos dias do intervalo,
+     * por isso o ideal é reconstruir dias já encerrados ou com o tráfego parado.
+     * Com a manutenção de partições habilitada, os meses além da retenção já foram movidos para o schema
+     * {@code parking_archive} e não podem ser reconstruídos: seus consolidados seriam apagados e não recriados.
+     * @return a quantidade de consolidados (setor, dia) recriados.
+     */
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        return rebuild(startDate, endDate, LocalDate.now());
+    }
+
+    int rebuild(LocalDate startDate, LocalDate endDate, LocalDate today) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial.");
+        }
+        // Mesmo corte da ParkingRecordPartitionMaintenance: meses anteriores a ele são arquivados
+        LocalDate oldestRetained = YearMonth.from(today).minusMonths(retentionMonths).atDay(1);
+        if (archivingEnabled && startDate.isBefore(oldestRetained)) {
+            throw new IllegalArgumentException("A data inicial não pode ser anterior a " + oldestRetained
+                    + ": os registros mais antigos estão arquivados e o consolidado desses dias seria perdido.");
+        }
+        int deleted = sectorDailyRevenueRepository.deleteByDateRange(startDate, endDate);
+        int rebuilt = sectorDailyRevenueRepository.insertFromParkingRecords(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        log.info("Consolidado de faturamento reconstruído de {} a {}: {} linhas removidas, {} recriadas.",
+                startDate, endDate, deleted, rebuilt);
+        return rebuilt;
+    }
+}
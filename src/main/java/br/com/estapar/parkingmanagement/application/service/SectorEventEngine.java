@@ -0,0 +1,268 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache.ActiveSession;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex.SpotLocation;
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventResultDTO;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Motor de eventos particionado por setor, habilitado por {@code parking.engine.enabled}.
+ * Cada setor pertence a um único laço de eventos (thread), que aplica em ordem os eventos do setor: eventos de
+ * setores diferentes rodam em paralelo e os de um mesmo setor não concorrem entre si. O PARKED é roteado pelo
+ * setor da vaga (índice espacial) e o EXIT segue o setor do PARKED da mesma placa. O ENTRY, que ainda não tem
+ * setor, é aplicado na hora. Cada laço acumula os eventos da sua fila e os persiste em lotes, pelo
+ * {@link WebhookBatchService}.
+ * <p>
+ * O laço não é o único escritor do setor nem guarda estado próprio: a ocupação continua no
+ * {@code SectorOccupancyRegistry} compartilhado e nos UPDATEs condicionais das vagas, porque eventos sem setor
+ * conhecido, o replay do diário e a reconciliação também escrevem nelas. O ganho do motor é a serialização por
+ * setor, que elimina a disputa entre eventos do mesmo setor, e a persistência em lote.
+ */
+@Component
+public class SectorEventEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SectorEventEngine.class);
+
+    // Inicia antes e para depois do servidor web, para drenar as filas quando ele não aceita mais requisições
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ParkingEventService parkingEventService;
+    private final WebhookBatchService webhookBatchService;
+    private final SpotSpatialIndex spotSpatialIndex;
+    private final ActiveSessionCache activeSessionCache;
+    private final EventJournal eventJournal;
+    private final boolean enabled;
+    private final int batchSize;
+    private final EventLoop[] loops;
+
+    // Setor de cada placa já roteada para um PARKED e ainda sem EXIT, para o EXIT ir para o mesmo laço
+    private final Map<String, Long> sectorByPlate = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public SectorEventEngine(ParkingEventService parkingEventService, WebhookBatchService webhookBatchService,
+                             SpotSpatialIndex spotSpatialIndex, ActiveSessionCache activeSessionCache,
+                             EventJournal eventJournal, MeterRegistry meterRegistry,
+                             @Value("${parking.engine.enabled:false}") boolean enabled,
+                             @Value("${parking.engine.loops:4}") int loopCount,
+                             @Value("${parking.engine.queue-capacity:10000}") int queueCapacity,
+                             @Value("${parking.engine.batch-size:100}") int batchSize) {
+        if (enabled && (loopCount < 1 || batchSize < 1)) {
+            throw new IllegalArgumentException("O motor de eventos precisa de pelo menos um laço e lotes de pelo menos um evento.");
+        }
+        this.parkingEventService = parkingEventService;
+        this.webhookBatchService = webhookBatchService;
+        this.spotSpatialIndex = spotSpatialIndex;
+        this.activeSessionCache = activeSessionCache;
+        this.eventJournal = eventJournal;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.loops = new EventLoop[enabled ? loopCount : 0];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i, queueCapacity);
+            registerMetrics(meterRegistry, loops[i]);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Entrega o evento ao laço do seu setor. O ENTRY é aplicado na thread de quem chama.
+     * @return {@code false} se a fila do laço estiver cheia.
+     */
+    public boolean submit(WebhookEventDTO eventDTO) {
+        if (eventDTO.getEventType() == EventType.ENTRY) {
+            // Só cadastra o veículo: não toca nenhum setor e precisa estar aplicado antes do PARKED
+            try {
+                parkingEventService.processEvent(eventDTO);
+            } finally {
+                eventJournal.markApplied(eventDTO);
+            }
+            return true;
+        }
+
+        String licensePlate = eventDTO.getLicensePlate();
+        Long sectorId = switch (eventDTO.getEventType()) {
+            case PARKED -> spotSpatialIndex.resolve(eventDTO.getLat(), eventDTO.getLng())
+                    .map(SpotLocation::sectorId)
+                    .orElse(null);
+            case EXIT -> exitSectorOf(licensePlate);
+            default -> null;
+        };
+
+        boolean accepted = loops[loopOf(sectorId)].queue.offer(eventDTO);
+        if (licensePlate != null && sectorId != null) {
+            if (eventDTO.getEventType() == EventType.PARKED && accepted) {
+                sectorByPlate.put(licensePlate, sectorId);
+            } else if (eventDTO.getEventType() == EventType.EXIT && !accepted) {
+                // O reenvio do EXIT precisa encontrar o mesmo setor
+                sectorByPlate.putIfAbsent(licensePlate, sectorId);
+            }
+        }
+        return accepted;
+    }
+
+    private Long exitSectorOf(String licensePlate) {
+        if (licensePlate == null) {
+            return null;
+        }
+        Long sectorId = sectorByPlate.remove(licensePlate);
+        if (sectorId != null) {
+            return sectorId;
+        }
+        // Estadia iniciada antes do motor (ou antes de um reinício): o setor vem do cache das estadias ativas
+        return activeSessionCache.get(licensePlate).map(ActiveSession::sectorId).orElse(null);
+    }
+
+    // Sem a estadia, o EXIT da placa volta a ser roteado pelo cache das estadias ativas
+    private void forgetRejectedParked(WebhookEventDTO eventDTO) {
+        if (eventDTO.getEventType() != EventType.PARKED || eventDTO.getLicensePlate() == null) {
+            return;
+        }
+        spotSpatialIndex.resolve(eventDTO.getLat(), eventDTO.getLng())
+                .ifPresent(location -> sectorByPlate.remove(eventDTO.getLicensePlate(), location.sectorId()));
+    }
+
+    // Eventos sem setor conhecido vão para o primeiro laço, onde falham com a mensagem de sempre
+    private int loopOf(Long sectorId) {
+        return sectorId == null ? 0 : Math.floorMod(sectorId, loops.length);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (EventLoop loop : loops) {
+            loop.worker = Thread.ofPlatform().name("sector-engine-" + loop.index).start(() -> consume(loop));
+        }
+        log.info("Motor de eventos por setor iniciado com {} laços (lotes de até {} eventos).", loops.length, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (EventLoop loop : loops) {
+            try {
+                loop.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Motor de eventos por setor encerrado após drenar as filas.");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void consume(EventLoop loop) {
+        List<WebhookEventDTO> batch = new ArrayList<>(batchSize);
+        // Ao parar, continua até esvaziar a fila
+        while (running || !loop.queue.isEmpty()) {
+            WebhookEventDTO first;
+            try {
+                first = loop.queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            loop.queue.drainTo(batch, batchSize - 1);
+            persist(loop, batch);
+            batch.clear();
+        }
+    }
+
+    private void persist(EventLoop loop, List<WebhookEventDTO> events) {
+        loop.batches.incrementAndGet();
+        try {
+            for (WebhookEventResultDTO result : webhookBatchService.processBatch(events)) {
+                if (result.isSuccess()) {
+                    loop.processed.incrementAndGet();
+                } else {
+                    loop.failed.incrementAndGet();
+                    forgetRejectedParked(events.get(result.getIndex()));
+                    log.warn("Falha ao processar evento {} da placa {} no laço {}: {}",
+                            result.getEventType(), result.getLicensePlate(), loop.index, result.getError());
+                }
+            }
+        } catch (RuntimeException e) {
+            loop.failed.addAndGet(events.size());
+            events.forEach(this::forgetRejectedParked);
+            log.error("Falha ao persistir lote de {} eventos no laço {}.", events.size(), loop.index, e);
+        } finally {
+            events.forEach(eventJournal::markApplied);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry, EventLoop loop) {
+        String index = String.valueOf(loop.index);
+        Gauge.builder("parking.engine.queue.depth", loop.queue, BlockingQueue::size)
+                .description("Eventos aguardando processamento no laço")
+                .tag("loop", index)
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.engine.batches", loop.batches, AtomicLong::get)
+                .description("Lotes persistidos pelo laço")
+                .tag("loop", index)
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.engine.processed", loop.processed, AtomicLong::get)
+                .description("Eventos processados com sucesso pelo laço")
+                .tag("loop", index)
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.engine.failed", loop.failed, AtomicLong::get)
+                .description("Eventos rejeitados durante o processamento no laço")
+                .tag("loop", index)
+                .register(meterRegistry);
+    }
+
+    private static final class EventLoop {
+        private final int index;
+        private final BlockingQueue<WebhookEventDTO> queue;
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private Thread worker;
+
+        private EventLoop(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
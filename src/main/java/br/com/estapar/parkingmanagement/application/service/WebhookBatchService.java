@@ -0,0 +1,68 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class WebhookBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookBatchService.class);
+
+    private final ParkingEventService parkingEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public WebhookBatchService(ParkingEventService parkingEventService, PlatformTransactionManager transactionManager,
+                               @Value("${parking.webhook.batch.chunk-size:100}") int chunkSize) {
+        this.parkingEventService = parkingEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Processa os eventos na ordem recebida, em blocos de {@code chunkSize} eventos por transação.
+     * Se algum evento do bloco falhar, o bloco inteiro é desfeito e reprocessado evento a evento,
+     * cada um em sua própria transação, para que só o evento inválido seja rejeitado.
+     */
+    public List<WebhookEventResultDTO> processBatch(List<WebhookEventDTO> events) {
+        log.info("Processando lote de {} eventos em blocos de {}.", events.size(), chunkSize);
+        List<WebhookEventResultDTO> results = new ArrayList<>(events.size());
+
+        for (int start = 0; start < events.size(); start += chunkSize) {
+            List<WebhookEventDTO> chunk = events.subList(start, Math.min(start + chunkSize, events.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> chunk.forEach(parkingEventService::processEvent));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(WebhookEventResultDTO.success(start + i, chunk.get(i)));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Falha no bloco de eventos [{}, {}): {}. Reprocessando evento a evento.",
+                        start, start + chunk.size(), e.getMessage());
+                processIndividually(start, chunk, results);
+            }
+        }
+        return results;
+    }
+
+    private void processIndividually(int start, List<WebhookEventDTO> chunk, List<WebhookEventResultDTO> results) {
+        for (int i = 0; i < chunk.size(); i++) {
+            WebhookEventDTO eventDTO = chunk.get(i);
+            try {
+                parkingEventService.processEvent(eventDTO);
+                results.add(WebhookEventResultDTO.success(start + i, eventDTO));
+            } catch (RuntimeException e) {
+                log.warn("Evento {} do lote rejeitado: {}", start + i, e.getMessage());
+                results.add(WebhookEventResultDTO.failure(start + i, eventDTO, e.getMessage()));
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipeline assíncrono de ingestão de webhooks, habilitado por {@code parking.webhook.async.enabled} ou pelo diário de
+ * eventos ({@code parking.journal.enabled}): com o diário, o webhook é confirmado assim que está em disco e o
+ * processamento fica para o pipeline.
+ * Os eventos são distribuídos em partições pela placa: cada partição tem uma fila limitada e uma única
+ * thread consumidora, o que preserva a ordem ENTRY/PARKED/EXIT de um mesmo veículo enquanto veículos
+ * diferentes são processados em paralelo. Profundidade, atraso e vazão de cada partição são publicados como métricas.
+ */
+@Component
+public class WebhookEventDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookEventDispatcher.class);
+
+    // Inicia antes e para depois do servidor web, para drenar as filas quando ele não aceita mais requisições
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ParkingEventService parkingEventService;
+    private final EventJournal eventJournal;
+    private final boolean enabled;
+    private final boolean virtualThreads;
+    private final Partition[] partitions;
+    private volatile boolean running;
+
+    public WebhookEventDispatcher(ParkingEventService parkingEventService, EventJournal eventJournal,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${parking.webhook.async.enabled:false}") boolean asyncEnabled,
+                                  @Value("${parking.journal.enabled:false}") boolean journalEnabled,
+                                  @Value("${parking.webhook.async.partitions:4}") int partitionCount,
+                                  @Value("${parking.webhook.async.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.parkingEventService = parkingEventService;
+        this.eventJournal = eventJournal;
+        this.enabled = asyncEnabled || journalEnabled;
+        this.virtualThreads = virtualThreads;
+        this.partitions = new Partition[enabled ? partitionCount : 0];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, queueCapacity);
+            registerMetrics(meterRegistry, partitions[i]);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enfileira o evento na partição da sua placa.
+     * @return {@code false} se a fila da partição estiver cheia.
+     */
+    public boolean submit(WebhookEventDTO eventDTO) {
+        Partition partition = partitions[partitionOf(eventDTO.getLicensePlate())];
+        return partition.queue.offer(new QueuedEvent(eventDTO, System.nanoTime()));
+    }
+
+    private int partitionOf(String licensePlate) {
+        return licensePlate == null ? 0 : Math.floorMod(licensePlate.hashCode(), partitions.length);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (Partition partition : partitions) {
+            Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+            partition.worker = builder.name("webhook-partition-" + partition.index)
+                    .start(() -> consume(partition));
+        }
+        log.info("Pipeline assíncrono de webhooks iniciado com {} partições ({} threads).",
+                partitions.length, virtualThreads ? "virtual" : "platform");
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Partition partition : partitions) {
+            try {
+                partition.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Pipeline assíncrono de webhooks encerrado após drenar as filas.");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void consume(Partition partition) {
+        // Ao parar, continua até esvaziar a fila
+        while (running || !partition.queue.isEmpty()) {
+            QueuedEvent queued;
+            try {
+                queued = partition.queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (queued == null) {
+                continue;
+            }
+            try {
+                parkingEventService.processEvent(queued.eventDTO());
+                partition.processed.incrementAndGet();
+            } catch (RuntimeException e) {
+                partition.failed.incrementAndGet();
+                log.warn("Falha ao processar evento {} da placa {} na partição {}: {}",
+                        queued.eventDTO().getEventType(), queued.eventDTO().getLicensePlate(), partition.index, e.getMessage());
+            } finally {
+                eventJournal.markApplied(queued.eventDTO());
+            }
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry, Partition partition) {
+        String index = String.valueOf(partition.index);
+        Gauge.builder("parking.webhook.queue.depth", partition.queue, BlockingQueue::size)
+                .description("Eventos aguardando processamento na partição")
+                .tag("partition", index)
+                .register(meterRegistry);
+        Gauge.builder("parking.webhook.queue.lag", partition, Partition::headLagMillis)
+                .description("Tempo de espera, em ms, do evento mais antigo da partição")
+                .baseUnit("milliseconds")
+                .tag("partition", index)
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.webhook.queue.processed", partition.processed, AtomicLong::get)
+                .description("Eventos processados com sucesso pela partição")
+                .tag("partition", index)
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.webhook.queue.failed", partition.failed, AtomicLong::get)
+                .description("Eventos rejeitados durante o processamento na partição")
+                .tag("partition", index)
+                .register(meterRegistry);
+    }
+
+    private record QueuedEvent(WebhookEventDTO eventDTO, long enqueuedAtNanos) {
+    }
+
+    private static final class Partition {
+        private final int index;
+        private final BlockingQueue<QueuedEvent> queue;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private Thread worker;
+
+        private Partition(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private double headLagMillis() {
+            QueuedEvent head = queue.peek();
+            return head == null ? 0 : (System.nanoTime() - head.enqueuedAtNanos()) / 1_000_000.0;
+        }
+    }
+}
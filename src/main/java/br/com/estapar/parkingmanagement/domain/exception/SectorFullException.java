@@ -0,0 +1,10 @@
+package br.com.estapar.parkingmanagement.domain.exception;
+
+/**
+ * PARKED em um setor que já atingiu a lotação máxima.
+ */
+public class SectorFullException extends IllegalStateException {
+    public SectorFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.estapar.parkingmanagement.domain.exception;
+
+/**
+ * PARKED em uma vaga que já está ocupada.
+ */
+public class SpotOccupiedException extends IllegalStateException {
+    public SpotOccupiedException(String message) {
+        super(message);
+    }
+}
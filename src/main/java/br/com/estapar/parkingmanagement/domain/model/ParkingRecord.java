@@ -15,7 +15,8 @@ public class ParkingRecord {
 
     @EqualsAndHashCode.Include
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parking_records_seq")
+    @SequenceGenerator(name = "parking_records_seq", sequenceName = "parking_records_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
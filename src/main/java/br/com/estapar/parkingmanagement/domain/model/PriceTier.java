@@ -0,0 +1,36 @@
+package br.com.estapar.parkingmanagement.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Faixas do preço dinâmico, pela taxa de ocupação do setor no momento da entrada.
+ */
+public enum PriceTier {
+    DISCOUNT(new BigDecimal("0.90")),   // menos de 25% ocupado
+    BASE(new BigDecimal("1.00")),       // de 25% a 50%
+    HIGH(new BigDecimal("1.10")),       // de 50% a 75%
+    PEAK(new BigDecimal("1.25"));       // 75% ou mais
+
+    private final BigDecimal multiplier;
+
+    PriceTier(BigDecimal multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public static PriceTier forOccupancy(int occupiedSpots, int maxCapacity) {
+        double occupancyRate = (double) occupiedSpots / maxCapacity;
+        if (occupancyRate < 0.25) {
+            return DISCOUNT;
+        } else if (occupancyRate < 0.50) {
+            return BASE;
+        } else if (occupancyRate < 0.75) {
+            return HIGH;
+        }
+        return PEAK;
+    }
+
+    public BigDecimal priceFor(BigDecimal basePrice) {
+        return basePrice.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.estapar.parkingmanagement.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Faturamento consolidado de um setor em um dia, atualizado a cada saída na mesma transação do EXIT.
+ */
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "sector_daily_revenue",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sector_daily_revenue_sector_date",
+                columnNames = {"sector_id", "revenue_date"}))
+public class SectorDailyRevenue {
+
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sector_id", nullable = false)
+    private Sector sector;
+
+    @Column(name = "revenue_date", nullable = false)
+    private LocalDate revenueDate;
+
+    @Column(name = "total_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalRevenue;
+}
@@ -12,7 +12,8 @@ public class Spot {
 
     @EqualsAndHashCode.Include
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "spots_seq")
+    @SequenceGenerator(name = "spots_seq", sequenceName = "spots_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
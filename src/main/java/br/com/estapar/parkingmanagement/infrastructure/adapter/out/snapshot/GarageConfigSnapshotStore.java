@@ -0,0 +1,268 @@
+package br.com.estapar.parkingmanagement.infrastructure.adapter.out.snapshot;
+
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+import br.com.estapar.parkingmanagement.application.service.GarageConfigHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot binário local da última configuração da garagem recebida do simulador.
+ * Permite que reinícios subam sem depender do simulador. O arquivo é uma sequência de registros compactos
+ * (setor ou vaga, com o preço gravado como inteiro e escala) terminada por um marcador de fim e um CRC32
+ * do conteúdo; um arquivo truncado ou corrompido é ignorado. Tanto a gravação quanto a leitura são feitas
+ * elemento a elemento, sem materializar a configuração inteira, e a gravação é atômica (arquivo temporário + rename).
+ */
+@Component
+public class GarageConfigSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GarageConfigSnapshotStore.class);
+
+    private static final int MAGIC = 0x47415247; // "GARG"
+    private static final byte VERSION = 2;
+    private static final byte END_RECORD = 0;
+    private static final byte SECTOR_RECORD = 1;
+    private static final byte SPOT_RECORD = 2;
+
+    private final boolean enabled;
+    private final Path path;
+
+    public GarageConfigSnapshotStore(@Value("${parking.garage.snapshot.enabled:true}") boolean enabled,
+                                     @Value("${parking.garage.snapshot.path:data/garage-config.snapshot}") String path) {
+        this.enabled = enabled;
+        this.path = Path.of(path);
+    }
+
+    /**
+     * Entrega ao {@code handler} os setores e vagas do snapshot, na ordem em que foram gravados.
+     * O checksum é verificado antes de o primeiro elemento ser entregue.
+     * @return {@code false} se não houver snapshot válido (nada é entregue nesse caso).
+     */
+    public boolean read(GarageConfigHandler handler) {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return false;
+        }
+        // O mesmo canal é lido duas vezes, para que um snapshot novo gravado entre as passadas não seja misturado
+        SeekableByteChannel channel;
+        try {
+            channel = Files.newByteChannel(path);
+        } catch (IOException e) {
+            log.warn("Snapshot da configuração da garagem em {} ignorado: {}", path, e.getMessage());
+            return false;
+        }
+        try (channel) {
+            try {
+                validate(channel);
+            } catch (IOException e) {
+                log.warn("Snapshot da configuração da garagem em {} ignorado: {}", path, e.getMessage());
+                return false;
+            }
+            return deliver(channel.position(Integer.BYTES + 1), handler);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Snapshot da configuração da garagem inválido em " + path, e);
+        }
+    }
+
+    private boolean deliver(SeekableByteChannel channel, GarageConfigHandler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        int sectors = 0;
+        int spots = 0;
+        for (byte record = in.readByte(); record != END_RECORD; record = in.readByte()) {
+            switch (record) {
+                case SECTOR_RECORD -> {
+                    handler.onSector(readSector(in));
+                    sectors++;
+                }
+                case SPOT_RECORD -> {
+                    handler.onSpot(readSpot(in));
+                    spots++;
+                }
+                default -> throw new IOException("registro desconhecido: " + record);
+            }
+        }
+        log.info("Snapshot da configuração da garagem lido de {}: {} setores e {} vagas.", path, sectors, spots);
+        return true;
+    }
+
+    /**
+     * Abre um novo snapshot. Ele só substitui o atual em {@link SnapshotWriter#commit()};
+     * fechado sem commit (ex: falha no meio da leitura do simulador), é descartado.
+     */
+    public SnapshotWriter openWriter() {
+        return new SnapshotWriter();
+    }
+
+    // Primeira passada: confere cabeçalho e checksum lendo o arquivo em streaming, sem carregá-lo na memória
+    private static void validate(SeekableByteChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < Integer.BYTES * 2 + 2) {
+            throw new IOException("arquivo truncado");
+        }
+        CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel)), new CRC32());
+        DataInputStream in = new DataInputStream(checked);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("arquivo não é um snapshot da garagem");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("versão de snapshot não suportada: " + version);
+        }
+        in.skipNBytes(size - Integer.BYTES * 2 - 1);
+        long checksum = checked.getChecksum().getValue();
+        if (in.readInt() != (int) checksum) {
+            throw new IOException("checksum inválido");
+        }
+    }
+
+    private static SectorDTO readSector(DataInputStream in) throws IOException {
+        SectorDTO sector = new SectorDTO();
+        sector.setName(in.readUTF());
+        int scale = in.readByte();
+        sector.setBasePrice(BigDecimal.valueOf(in.readLong(), scale));
+        sector.setMaxCapacity(in.readInt());
+        sector.setOpenHour(in.readUTF());
+        sector.setCloseHour(in.readUTF());
+        sector.setDurationLimitMinutes(in.readInt());
+        return sector;
+    }
+
+    private static SpotDTO readSpot(DataInputStream in) throws IOException {
+        SpotDTO spot = new SpotDTO();
+        if (in.readBoolean()) {
+            spot.setExternalId(in.readLong());
+        }
+        spot.setSectorName(in.readUTF());
+        spot.setLat(in.readDouble());
+        spot.setLng(in.readDouble());
+        spot.setOccupied(in.readBoolean());
+        return spot;
+    }
+
+    /**
+     * Grava um snapshot elemento a elemento. Uma falha de I/O é registrada uma vez e torna o writer inerte:
+     * o snapshot é apenas uma otimização e nunca interrompe o carregamento da garagem.
+     */
+    public final class SnapshotWriter implements GarageConfigHandler, Closeable {
+
+        private Path temp;
+        private CRC32 crc;
+        private DataOutputStream out;
+
+        private SnapshotWriter() {
+            if (!enabled) {
+                return;
+            }
+            try {
+                Path directory = path.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+                crc = new CRC32();
+                out = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp)), crc));
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onSector(SectorDTO sector) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.writeByte(SECTOR_RECORD);
+                out.writeUTF(sector.getName());
+                out.writeByte(sector.getBasePrice().scale());
+                out.writeLong(sector.getBasePrice().unscaledValue().longValueExact());
+                out.writeInt(sector.getMaxCapacity());
+                out.writeUTF(sector.getOpenHour());
+                out.writeUTF(sector.getCloseHour());
+                out.writeInt(sector.getDurationLimitMinutes());
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onSpot(SpotDTO spot) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.writeByte(SPOT_RECORD);
+                out.writeBoolean(spot.getExternalId() != null);
+                if (spot.getExternalId() != null) {
+                    out.writeLong(spot.getExternalId());
+                }
+                out.writeUTF(spot.getSectorName());
+                out.writeDouble(spot.getLat());
+                out.writeDouble(spot.getLng());
+                out.writeBoolean(spot.isOccupied());
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Finaliza o snapshot e o coloca no lugar do anterior.
+         */
+        public void commit() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.writeByte(END_RECORD);
+                out.flush();
+                // O CRC cobre tudo o que foi escrito até aqui; ele mesmo fica fora do cálculo
+                int checksum = (int) crc.getValue();
+                out.writeInt(checksum);
+                out.close();
+                out = null;
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Snapshot da configuração da garagem gravado em {} ({} bytes).", path, Files.size(path));
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    log.debug("Falha ao fechar o snapshot temporário {}: {}", temp, e.getMessage());
+                }
+                out = null;
+            }
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.debug("Falha ao remover o snapshot temporário {}: {}", temp, e.getMessage());
+                }
+            }
+        }
+
+        private void fail(IOException e) {
+            log.warn("Não foi possível gravar o snapshot da configuração da garagem em {}: {}", path, e.getMessage());
+            close();
+        }
+    }
+}
@@ -1,28 +1,73 @@
 package br.com.estapar.parkingmanagement.infrastructure.adapter.out.web;
 
-import br.com.estapar.parkingmanagement.application.dto.GarageConfigDTO;
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+import br.com.estapar.parkingmanagement.application.service.GarageConfigHandler;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+
 @Component
 public class GarageSimulatorClient {
 
     private final Logger log = LoggerFactory.getLogger(GarageSimulatorClient.class);
 
+    private static final String SECTORS_FIELD = "garage";
+    private static final String SPOTS_FIELD = "spots";
+
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
     private final String simulatorUrl;
 
-    public GarageSimulatorClient(RestTemplate restTemplate, @Value("${simulator.api.url}") String simulatorUrl) {
+    public GarageSimulatorClient(RestTemplate restTemplate, ObjectMapper objectMapper,
+                                 @Value("${simulator.api.url}") String simulatorUrl) {
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
         this.simulatorUrl = simulatorUrl;
     }
 
-    public GarageConfigDTO fetchGarageConfig() {
+    /**
+     * Busca a configuração da garagem e entrega setores e vagas ao {@code handler} à medida que são lidos
+     * da resposta, com a API de streaming do Jackson: só um elemento fica em memória por vez.
+     */
+    public void streamGarageConfig(GarageConfigHandler handler) {
         String url = simulatorUrl + "/garage";
         log.info("Buscando configuração da garagem em: {}", url);
-        return restTemplate.getForObject(url, GarageConfigDTO.class);
+        restTemplate.execute(url, HttpMethod.GET, null, response -> {
+            try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+                parse(parser, handler);
+            }
+            return null;
+        });
+    }
+
+    private void parse(JsonParser parser, GarageConfigHandler handler) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new RestClientException("Resposta do /garage não é um objeto JSON.");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (SECTORS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    handler.onSector(objectMapper.readValue(parser, SectorDTO.class));
+                }
+            } else if (SPOTS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    handler.onSpot(objectMapper.readValue(parser, SpotDTO.class));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
     }
 }
@@ -1,14 +1,26 @@
 package br.com.estapar.parkingmanagement.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${simulator.api.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                                     @Value("${simulator.api.read-timeout-ms:5000}") long readTimeoutMillis) {
+        // Sem timeouts, um simulador lento prenderia a inicialização da garagem indefinidamente
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .readTimeout(Duration.ofMillis(readTimeoutMillis))
+                .build();
     }
 }
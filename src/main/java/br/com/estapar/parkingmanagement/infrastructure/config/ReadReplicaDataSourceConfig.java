@@ -0,0 +1,71 @@
+package br.com.estapar.parkingmanagement.infrastructure.config;
+
+import br.com.estapar.parkingmanagement.infrastructure.persistence.routing.ReadReplicaRoutingDataSource;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.routing.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Réplica de leitura, habilitada por {@code parking.datasource.replica.enabled}. Substitui o DataSource do
+ * Spring Boot por um de roteamento: transações somente leitura (consultas de status e faturamento) vão para a
+ * réplica em {@code parking.datasource.replica.url}, e todo o resto (webhooks, Flyway, inicialização) para o
+ * primário em {@code spring.datasource.url}. Para testar localmente basta apontar a réplica para um segundo
+ * Postgres, mesmo sem replicação, ou para um banco embarcado com {@code parking.datasource.replica.lag-query=SELECT 0}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "parking.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("parking.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${parking.datasource.replica.url}") String url,
+                                              @Value("${parking.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${parking.datasource.replica.password:${spring.datasource.password}}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${parking.datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${parking.datasource.replica.max-lag-seconds:5}") double maxLagSeconds) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource),
+                lagQuery.isBlank() ? ReplicaLagMonitor.POSTGRES_LAG_QUERY : lagQuery, maxLagSeconds, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        // O proxy adia a escolha do destino até o primeiro comando, quando a transação já está marcada como somente leitura
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+    }
+}
@@ -0,0 +1,488 @@
+package br.com.estapar.parkingmanagement.infrastructure.journal;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Diário append-only dos webhooks recebidos, habilitado por {@code parking.journal.enabled}.
+ * Os eventos são gravados em segmentos de tamanho fixo mapeados em memória, no formato
+ * {@code [tamanho][crc32][sequência][payload]}, e tornados duráveis por uma única thread que faz o fsync
+ * de tudo o que foi escrito desde o último (group commit): quem espera a durabilidade de um evento
+ * compartilha o mesmo fsync com os eventos que chegaram junto.
+ * Na inicialização, o último segmento é varrido até o primeiro registro incompleto ou corrompido,
+ * que marca o fim do diário após uma queda.
+ * Quem aplica os eventos no banco avisa por {@link #markApplied}; periodicamente, a maior sequência até a qual
+ * todos os eventos já foram aplicados é gravada como checkpoint no arquivo {@code journal.checkpoint}, e os
+ * segmentos inteiramente anteriores a ela são apagados. O replay começa depois do checkpoint.
+ */
+@Component
+public class EventJournal implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EventJournal.class);
+
+    // Inicia antes e para depois do pipeline assíncrono e do servidor web
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 8192;
+
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.seg");
+    private static final String CHECKPOINT_FILE = "journal.checkpoint";
+
+    /**
+     * Evento lido do diário, com a sua sequência.
+     */
+    public record JournalEntry(long sequence, WebhookEventDTO event) {
+    }
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+
+    // ReentrantLock em vez de synchronized: quem espera o fsync não deve prender uma virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    private MappedByteBuffer segment;
+    private long writtenSequence;
+    private long durableSequence;
+    // Sequências gravadas e ainda não aplicadas no banco
+    private final NavigableSet<Long> pending = new ConcurrentSkipListSet<>();
+    private volatile long checkpointSequence;
+    // Eventos após o checkpoint que sobraram de uma execução anterior: o checkpoint só avança depois do replay deles
+    private volatile boolean recoveryPending;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @Autowired
+    public EventJournal(@Value("${parking.journal.enabled:false}") boolean enabled,
+                        @Value("${parking.journal.directory:data/journal}") String directory,
+                        @Value("${parking.journal.segment-size-mb:64}") int segmentSizeMb) {
+        this(enabled, Path.of(directory), Math.multiplyExact(segmentSizeMb, 1024 * 1024));
+    }
+
+    EventJournal(boolean enabled, Path directory, int segmentSize) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Tamanho de segmento do diário inválido: " + segmentSize);
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Grava o evento no diário e retorna a sua sequência, sem esperar o fsync.
+     */
+    public long append(WebhookEventDTO event) {
+        byte[] payload = JournalEventCodec.encode(event);
+        if (HEADER_SIZE + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Evento maior que o segmento do diário: " + payload.length + " bytes.");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Diário de eventos não está aberto.");
+            }
+            if (segment.remaining() < HEADER_SIZE + payload.length) {
+                rollover();
+            }
+            long sequence = writtenSequence + 1;
+            segment.putInt(payload.length).putInt((int) crc.getValue()).putLong(sequence).put(payload);
+            writtenSequence = sequence;
+            pending.add(sequence);
+            event.setJournalSequence(sequence);
+            flushRequested.signal();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bloqueia até que o evento de sequência {@code sequence} (e todos os anteriores) esteja em disco.
+     */
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a gravação do diário de eventos.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava os eventos em ordem e só retorna quando todos estiverem em disco.
+     */
+    public void appendDurably(List<WebhookEventDTO> events) {
+        long lastSequence = 0;
+        for (WebhookEventDTO event : events) {
+            lastSequence = append(event);
+        }
+        awaitDurable(lastSequence);
+    }
+
+    /**
+     * Registra que o evento já foi aplicado no banco (ou rejeitado), liberando o checkpoint para passar dele.
+     */
+    public void markApplied(WebhookEventDTO event) {
+        if (enabled && event.getJournalSequence() > 0) {
+            pending.remove(event.getJournalSequence());
+        }
+    }
+
+    /**
+     * Registra que os eventos posteriores ao checkpoint deixados por uma execução anterior foram reaplicados.
+     */
+    public void markRecovered() {
+        recoveryPending = false;
+    }
+
+    public long getCheckpointSequence() {
+        return checkpointSequence;
+    }
+
+    /**
+     * Maior sequência até a qual todos os eventos estão em disco e já foram aplicados no banco.
+     */
+    long appliedSequence() {
+        lock.lock();
+        try {
+            if (recoveryPending) {
+                return checkpointSequence;
+            }
+            long applied = pending.isEmpty() ? writtenSequence : pending.first() - 1;
+            return Math.max(checkpointSequence, Math.min(applied, durableSequence));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava o checkpoint com a sequência já aplicada e apaga os segmentos que ficaram inteiramente antes dela.
+     * Uma falha não interrompe a aplicação: o diário só cresce até a próxima execução.
+     */
+    @Scheduled(initialDelayString = "${parking.journal.checkpoint-interval-ms:60000}",
+            fixedDelayString = "${parking.journal.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        if (!running) {
+            return;
+        }
+        try {
+            long applied = appliedSequence();
+            if (applied <= checkpointSequence) {
+                return;
+            }
+            writeCheckpoint(applied);
+            checkpointSequence = applied;
+            int deleted = deleteSegmentsUpTo(applied);
+            log.info("Checkpoint do diário de eventos na sequência {} ({} segmentos apagados).", applied, deleted);
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar o checkpoint do diário de eventos.", e);
+        }
+    }
+
+    public long getDurableSequence() {
+        lock.lock();
+        try {
+            return durableSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entrega ao {@code consumer}, em ordem, os eventos posteriores ao checkpoint já duráveis no momento da chamada.
+     * @return a quantidade de eventos lidos.
+     */
+    public long readFromCheckpoint(Consumer<JournalEntry> consumer) {
+        long firstSequence = checkpointSequence + 1;
+        long lastSequence = getDurableSequence();
+        long read = 0;
+        List<Path> files = segmentFiles();
+        for (int i = 0; i < files.size(); i++) {
+            // Segmento inteiramente anterior ao checkpoint (ainda não apagado)
+            if (i + 1 < files.size() && firstSequenceOf(files.get(i + 1)) <= firstSequence) {
+                continue;
+            }
+            MappedByteBuffer buffer = map(files.get(i), FileChannel.MapMode.READ_ONLY);
+            long expected = firstSequenceOf(files.get(i));
+            while (expected <= lastSequence) {
+                byte[] payload = readRecord(buffer, expected);
+                if (payload == null) {
+                    break;
+                }
+                if (expected >= firstSequence) {
+                    consumer.accept(new JournalEntry(expected, JournalEventCodec.decode(payload)));
+                    read++;
+                }
+                expected++;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório do diário de eventos: " + directory, e);
+        }
+        checkpointSequence = readCheckpoint();
+        List<Path> files = segmentFiles();
+        if (files.isEmpty()) {
+            openSegment(checkpointSequence + 1);
+        } else {
+            recover(files.get(files.size() - 1));
+        }
+        recoveryPending = writtenSequence > checkpointSequence;
+        running = true;
+        flusher = Thread.ofPlatform().name("event-journal-flusher").daemon().start(this::flushLoop);
+        log.info("Diário de eventos aberto em {} na sequência {} (checkpoint na sequência {}).",
+                directory.toAbsolutePath(), writtenSequence, checkpointSequence);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            // A thread de fsync termina só depois de tornar durável tudo o que foi escrito
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        log.info("Diário de eventos fechado na sequência {}.", durableSequence);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer target;
+            long sequence;
+            lock.lock();
+            try {
+                while (running && writtenSequence == durableSequence) {
+                    flushRequested.await();
+                }
+                if (writtenSequence == durableSequence) {
+                    return;
+                }
+                target = segment;
+                sequence = writtenSequence;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Fora do lock: novos eventos continuam sendo escritos e entram no próximo fsync
+            target.force();
+
+            lock.lock();
+            try {
+                durableSequence = Math.max(durableSequence, sequence);
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Chamado com o lock: fecha o segmento atual (já durável) e abre o próximo
+    private void rollover() {
+        segment.force();
+        durableSequence = writtenSequence;
+        flushed.signalAll();
+        openSegment(writtenSequence + 1);
+    }
+
+    private void openSegment(long firstSequence) {
+        Path file = directory.resolve(String.format("journal-%020d.seg", firstSequence));
+        segment = map(file, FileChannel.MapMode.READ_WRITE);
+        writtenSequence = firstSequence - 1;
+        durableSequence = writtenSequence;
+    }
+
+    /**
+     * Reabre o último segmento posicionado após o último registro íntegro e apaga o que vier depois
+     * (um registro parcialmente escrito antes da queda).
+     */
+    private void recover(Path file) {
+        segment = map(file, FileChannel.MapMode.READ_WRITE);
+        long sequence = firstSequenceOf(file);
+        while (readRecord(segment, sequence) != null) {
+            sequence++;
+        }
+        int end = segment.position();
+        boolean tornTail = end + Integer.BYTES <= segment.capacity() && segment.getInt(end) != 0;
+        if (tornTail) {
+            log.warn("Registro incompleto no fim do diário após a sequência {}. Descartando o restante do segmento.",
+                    sequence - 1);
+            for (int position = end; position < segment.capacity(); position++) {
+                segment.put(position, (byte) 0);
+            }
+            segment.force();
+        }
+        segment.position(end);
+        writtenSequence = sequence - 1;
+        durableSequence = writtenSequence;
+    }
+
+    private long readCheckpoint() {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o checkpoint do diário de eventos em " + file, e);
+        }
+    }
+
+    // Grava em um arquivo temporário e o renomeia, para que uma queda nunca deixe um checkpoint pela metade
+    private void writeCheckpoint(long sequence) {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.writeString(temporary, Long.toString(sequence), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar o checkpoint do diário de eventos em " + file, e);
+        }
+    }
+
+    // O último segmento, em uso pela escrita, nunca é apagado
+    private int deleteSegmentsUpTo(long sequence) {
+        List<Path> files = segmentFiles();
+        int deleted = 0;
+        for (int i = 0; i + 1 < files.size() && firstSequenceOf(files.get(i + 1)) <= sequence + 1; i++) {
+            try {
+                Files.deleteIfExists(files.get(i));
+                deleted++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível apagar o segmento do diário " + files.get(i), e);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Lê o registro na posição atual do buffer e avança sobre ele.
+     * @return o payload, ou {@code null} no fim do segmento ou em um registro incompleto ou corrompido.
+     */
+    private static byte[] readRecord(MappedByteBuffer buffer, long expectedSequence) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length <= 0 || length > buffer.remaining() - HEADER_SIZE) {
+            return null;
+        }
+        int checksum = buffer.getInt(start + Integer.BYTES);
+        long sequence = buffer.getLong(start + 2 * Integer.BYTES);
+        if (sequence != expectedSequence) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(start + HEADER_SIZE, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        buffer.position(start + HEADER_SIZE + length);
+        return payload;
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] { StandardOpenOption.READ }
+                : new StandardOpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE };
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            long size = mode == FileChannel.MapMode.READ_ONLY ? channel.size() : segmentSize;
+            return channel.map(mode, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível mapear o segmento do diário " + file, e);
+        }
+    }
+
+    private List<Path> segmentFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível listar os segmentos do diário em " + directory, e);
+        }
+    }
+
+    private static long firstSequenceOf(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Nome de segmento do diário inválido: " + file);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
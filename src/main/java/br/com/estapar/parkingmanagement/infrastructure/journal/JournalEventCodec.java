@@ -0,0 +1,88 @@
+package br.com.estapar.parkingmanagement.infrastructure.journal;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formato binário de um evento no diário. Guarda o payload do simulador como recebido (as datas
+ * continuam como texto) e o instante de chegada, usado como entrada da estadia no replay.
+ * O tipo do evento é gravado pelo nome, para que o diário não dependa da ordem das constantes do enum.
+ */
+final class JournalEventCodec {
+
+    private static final byte VERSION = 1;
+
+    private JournalEventCodec() {
+    }
+
+    static byte[] encode(WebhookEventDTO event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, event.getEventType() != null ? event.getEventType().name() : null);
+            writeString(out, event.getLicensePlate());
+            writeString(out, event.getEntryTime());
+            writeString(out, event.getExitTime());
+            writeDouble(out, event.getLat());
+            writeDouble(out, event.getLng());
+            LocalDateTime receivedAt = event.getReceivedAt();
+            out.writeBoolean(receivedAt != null);
+            if (receivedAt != null) {
+                out.writeLong(receivedAt.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(receivedAt.getNano());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static WebhookEventDTO decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Versão de registro do diário não suportada: " + version);
+            }
+            WebhookEventDTO event = new WebhookEventDTO();
+            String eventType = readString(in);
+            event.setEventType(eventType != null ? EventType.valueOf(eventType) : null);
+            event.setLicensePlate(readString(in));
+            event.setEntryTime(readString(in));
+            event.setExitTime(readString(in));
+            event.setLat(readDouble(in));
+            event.setLng(readDouble(in));
+            if (in.readBoolean()) {
+                event.setReceivedAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+            }
+            return event;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.estapar.parkingmanagement.infrastructure.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro do Logback que deixa passar no máximo {@code maxPerSecond} eventos por segundo no appender em que
+ * está configurado (em {@code logback-spring.xml}, o das instruções SQL do Hibernate). Os excedentes são
+ * descartados e, na virada do segundo seguinte, uma única linha informa quantos foram omitidos.
+ */
+public class RateLimitedLogFilter extends Filter<ILoggingEvent> {
+
+    // Vai para o appender padrão, nunca para o appender filtrado
+    private static final Logger log = LoggerFactory.getLogger(RateLimitedLogFilter.class);
+
+    private int maxPerSecond = 50;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger acceptedInSecond = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        long second = event.getTimeStamp() / 1000;
+        long previous = currentSecond.get();
+        if (second > previous && currentSecond.compareAndSet(previous, second)) {
+            acceptedInSecond.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                log.warn("{} mensagens de {} omitidas pelo limite de {} por segundo.", dropped, event.getLoggerName(), maxPerSecond);
+            }
+        }
+
+        if (acceptedInSecond.incrementAndGet() <= maxPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.estapar.parkingmanagement.infrastructure.monitoring;
+
+import br.com.estapar.parkingmanagement.application.service.GarageInitializer;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador {@code garageReadiness}, incluído no grupo de readiness: fica fora de serviço até
+ * a configuração da garagem ser carregada e as estruturas em memória semeadas.
+ */
+@Component
+public class GarageReadinessHealthIndicator implements HealthIndicator {
+
+    private final GarageInitializer garageInitializer;
+
+    public GarageReadinessHealthIndicator(GarageInitializer garageInitializer) {
+        this.garageInitializer = garageInitializer;
+    }
+
+    @Override
+    public Health health() {
+        if (garageInitializer.isReady()) {
+            return Health.up().build();
+        }
+        Health.Builder builder = Health.outOfService()
+                .withDetail("failedAttempts", garageInitializer.getFailedAttempts());
+        if (garageInitializer.getLastError() != null) {
+            builder.withDetail("lastError", garageInitializer.getLastError());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manutenção das partições mensais de {@code parking_records_completed} (ver migração V3):
+ * cria com antecedência as partições dos próximos meses, redistribui o que tiver caído na partição default
+ * e desanexa as partições mais antigas que a retenção, movendo-as para o schema {@code parking_archive}.
+ * Assim as consultas do caminho crítico tocam sempre um volume limitado de dados.
+ */
+@Component
+@ConditionalOnProperty(name = "parking.partitions.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class ParkingRecordPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(ParkingRecordPartitionMaintenance.class);
+
+    static final String PARENT_TABLE = "parking_records_completed";
+    static final String DEFAULT_PARTITION = "parking_records_completed_default";
+    static final String ARCHIVE_SCHEMA = "parking_archive";
+    private static final Pattern PARTITION_NAME = Pattern.compile("parking_records_p(\\d{4})(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public ParkingRecordPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                             @Value("${parking.partitions.months-ahead:3}") int monthsAhead,
+                                             @Value("${parking.partitions.retention-months:12}") int retentionMonths) {
+        if (monthsAhead < 1 || retentionMonths < 1) {
+            throw new IllegalArgumentException("A antecedência e a retenção das partições devem ser de pelo menos 1 mês.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Executada na inicialização (redistribui registros migrados e garante os próximos meses) e diariamente.
+     * Uma falha não interrompe a aplicação: a partição default continua recebendo as saídas até a próxima execução.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${parking.partitions.maintenance-cron:0 0 3 * * *}")
+    public void runMaintenance() {
+        try {
+            runMaintenance(YearMonth.now());
+        } catch (RuntimeException e) {
+            log.error("Falha na manutenção das partições de parking_records.", e);
+        }
+    }
+
+    void runMaintenance(YearMonth currentMonth) {
+        if (!isPartitioned()) {
+            log.warn("Tabela {} não é particionada. Manutenção de partições ignorada.", PARENT_TABLE);
+            return;
+        }
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+
+        // Meses futuros e os meses que tenham registros parados na partição default
+        TreeSet<YearMonth> months = new TreeSet<>(monthsInDefaultPartition());
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(currentMonth.plusMonths(i));
+        }
+        for (YearMonth month : months) {
+            if (!tableExists(partitionName(month))) {
+                createPartition(month);
+            }
+        }
+
+        for (String partition : attachedPartitions()) {
+            partitionMonth(partition)
+                    .filter(month -> month.isBefore(oldestRetained))
+                    .ifPresent(month -> archivePartition(partition));
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("parking_records_p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    static Optional<YearMonth> partitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    /**
+     * Cria a partição do mês fora da tabela, move para ela os registros do mês que estejam na partição default
+     * e só então a anexa, tudo na mesma transação (o ATTACH falharia se a default ainda tivesse linhas do mês).
+     */
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        int moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + PARENT_TABLE
+                    + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int rows = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION
+                    + " WHERE exit_time >= ? AND exit_time < ?", from, to);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE exit_time >= ? AND exit_time < ?", from, to);
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            return rows;
+        });
+        log.info("Partição {} criada ({} registros movidos da partição default).", partition, moved);
+    }
+
+    /**
+     * Desanexa a partição e a move para o schema de arquivo. Se o mês já tiver sido arquivado antes (registros
+     * do mês que chegaram depois recriam a partição), a partição é renomeada com um sufixo livre antes de ser
+     * movida, em vez de colidir com a tabela arquivada.
+     */
+    private void archivePartition(String partition) {
+        String archived = archivedName(partition);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+            if (!archived.equals(partition)) {
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archived);
+            }
+            jdbcTemplate.execute("ALTER TABLE " + archived + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        });
+        log.info("Partição {} desanexada e arquivada no schema {} como {}.", partition, ARCHIVE_SCHEMA, archived);
+    }
+
+    private String archivedName(String partition) {
+        String name = partition;
+        for (int suffix = 2; archivedTableExists(name) || (!name.equals(partition) && tableExists(name)); suffix++) {
+            name = partition + "_" + suffix;
+        }
+        return name;
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                        + "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace)",
+                Boolean.class, PARENT_TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_class WHERE relname = ? AND relnamespace = current_schema()::regnamespace)",
+                Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private boolean archivedTableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE c.relname = ? AND n.nspname = ?)",
+                Boolean.class, table, ARCHIVE_SCHEMA);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = ? AND p.relnamespace = current_schema()::regnamespace ORDER BY c.relname",
+                String.class, PARENT_TABLE);
+    }
+
+    private List<YearMonth> monthsInDefaultPartition() {
+        return jdbcTemplate.queryForList(
+                        "SELECT DISTINCT CAST(date_trunc('month', exit_time) AS DATE) FROM " + DEFAULT_PARTITION,
+                        java.sql.Date.class)
+                .stream()
+                .map(date -> YearMonth.from(date.toLocalDate()))
+                .toList();
+    }
+}
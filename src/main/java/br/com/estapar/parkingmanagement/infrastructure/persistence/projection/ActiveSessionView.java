@@ -0,0 +1,26 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção achatada de um registro de estacionamento ativo, com os dados da vaga já resolvidos.
+ */
+public interface ActiveSessionView {
+
+    Long getRecordId();
+
+    String getLicensePlate();
+
+    Long getSpotId();
+
+    Long getSectorId();
+
+    Double getLat();
+
+    Double getLng();
+
+    LocalDateTime getEntryTime();
+
+    BigDecimal getPricePerHour();
+}
@@ -0,0 +1,16 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projeção do faturamento consolidado de um setor em um dia, com o nome do setor já resolvido.
+ */
+public interface DailyRevenueView {
+
+    String getSectorName();
+
+    LocalDate getRevenueDate();
+
+    BigDecimal getTotalRevenue();
+}
@@ -0,0 +1,11 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.projection;
+
+/**
+ * Projeção com a quantidade de vagas ocupadas de um setor.
+ */
+public interface SectorOccupancyCount {
+
+    Long getSectorId();
+
+    long getOccupied();
+}
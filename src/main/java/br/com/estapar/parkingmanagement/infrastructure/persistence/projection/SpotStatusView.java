@@ -0,0 +1,20 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma vaga com a estadia ativa nela, se houver. Sem estadia ativa, os dados da estadia vêm nulos.
+ */
+public interface SpotStatusView {
+
+    Long getSpotId();
+
+    Boolean getOccupied();
+
+    String getLicensePlate();
+
+    LocalDateTime getEntryTime();
+
+    BigDecimal getPricePerHour();
+}
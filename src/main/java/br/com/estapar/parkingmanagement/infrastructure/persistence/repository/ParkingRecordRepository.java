@@ -3,14 +3,17 @@ package br.com.estapar.parkingmanagement.infrastructure.persistence.repository;
 import br.com.estapar.parkingmanagement.domain.model.ParkingRecord;
 import br.com.estapar.parkingmanagement.domain.model.ParkingStatus;
 import br.com.estapar.parkingmanagement.domain.model.Sector;
-import br.com.estapar.parkingmanagement.domain.model.Spot;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.ActiveSessionView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,7 +21,7 @@ public interface ParkingRecordRepository extends JpaRepository<ParkingRecord, Lo
 
     /**
      * Busca o registro de estacionamento ATIVO para um veículo específico.
-     * Método principal de consulta para o endpoint de 'plate-status'
+     * Usado pelo EXIT quando a estadia não está no {@code ActiveSessionCache}.
      *
      * @param licensePlate A placa do veículo a ser consultado.
      * @param status O status desejado (neste caso, sempre será ACTIVE).
@@ -26,17 +29,25 @@ public interface ParkingRecordRepository extends JpaRepository<ParkingRecord, Lo
      */
     Optional<ParkingRecord> findByVehicleLicensePlateAndStatus(String licensePlate, ParkingStatus status);
 
+    /**
+     * Verifica se já existe a estadia de um veículo com a entrada informada.
+     * Usado pelo replay do diário para pular PARKED que já chegaram ao banco.
+     *
+     * @param licensePlate A placa do veículo.
+     * @param entryTime O instante de entrada da estadia.
+     * @return {@code true} se a estadia existir.
+     */
+    boolean existsByVehicleLicensePlateAndEntryTime(String licensePlate, LocalDateTime entryTime);
 
     /**
-     * Busca um registro de estacionamento baseado em uma Vaga (Spot) específica e um Status de estacionamento.
-     * Útil para encontrar, por exemplo, qual veículo está ativamente estacionado em uma determinada vaga.
+     * Verifica se já existe a estadia de um veículo encerrada no instante informado.
+     * Usado pelo replay do diário para pular EXIT que já chegaram ao banco.
      *
-     * @param spot   A entidade {@link Spot} pela qual filtrar os registros de estacionamento.
-     * @param status O {@link ParkingStatus} desejado para o registro (ex: ACTIVE).
-     * @return um {@link Optional} contendo o {@link ParkingRecord} correspondente,
-     * ou um Optional vazio se nenhum registro for encontrado com os critérios fornecidos.
+     * @param licensePlate A placa do veículo.
+     * @param exitTime O instante de saída da estadia.
+     * @return {@code true} se a estadia existir.
      */
-    Optional<ParkingRecord> findBySpotAndStatus(Spot spot, ParkingStatus status);
+    boolean existsByVehicleLicensePlateAndExitTime(String licensePlate, LocalDateTime exitTime);
 
 
     /**
@@ -61,4 +72,92 @@ public interface ParkingRecordRepository extends JpaRepository<ParkingRecord, Lo
             @Param("startDate")LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
+
+
+    /**
+     * Lista as estadias com o status informado já achatadas com os dados da vaga, em uma única consulta.
+     * Usado para carregar o {@code ActiveSessionCache} na inicialização.
+     *
+     * @param status O {@link ParkingStatus} desejado (tipicamente {@code ACTIVE}).
+     * @return a lista de {@link ActiveSessionView} correspondentes.
+     */
+    @Query("SELECT pr.id AS recordId, pr.vehicle.licensePlate AS licensePlate, s.id AS spotId, " +
+            "s.sector.id AS sectorId, s.lat AS lat, s.lng AS lng, " +
+            "pr.entryTime AS entryTime, pr.pricePerHour AS pricePerHour " +
+            "FROM ParkingRecord pr JOIN pr.spot s " +
+            "WHERE pr.status = :status")
+    List<ActiveSessionView> findAllSessionsByStatus(@Param("status") ParkingStatus status);
+
+    /**
+     * Busca a estadia com o status informado de uma placa, já achatada com os dados da vaga, em uma única consulta.
+     * Usado pelo plate-status quando a estadia não está no {@code ActiveSessionCache}.
+     *
+     * @param licensePlate A placa do veículo a ser consultado.
+     * @param status       O {@link ParkingStatus} desejado (tipicamente {@code ACTIVE}).
+     * @return um Optional contendo a {@link ActiveSessionView}, se houver.
+     */
+    @Query("SELECT pr.id AS recordId, pr.vehicle.licensePlate AS licensePlate, s.id AS spotId, " +
+            "s.sector.id AS sectorId, s.lat AS lat, s.lng AS lng, " +
+            "pr.entryTime AS entryTime, pr.pricePerHour AS pricePerHour " +
+            "FROM ParkingRecord pr JOIN pr.spot s " +
+            "WHERE pr.vehicle.licensePlate = :licensePlate AND pr.status = :status")
+    Optional<ActiveSessionView> findSessionByPlateAndStatus(
+            @Param("licensePlate") String licensePlate,
+            @Param("status") ParkingStatus status
+    );
+
+    /**
+     * Lista, em uma única consulta, as estadias com o status informado das placas fornecidas,
+     * já achatadas com os dados da vaga. Usado pelo plate-status em lote.
+     *
+     * @param licensePlates As placas a serem consultadas.
+     * @param status        O {@link ParkingStatus} desejado (tipicamente {@code ACTIVE}).
+     * @return a lista de {@link ActiveSessionView} encontradas; placas sem estadia não aparecem no resultado.
+     */
+    @Query("SELECT pr.id AS recordId, v.licensePlate AS licensePlate, s.id AS spotId, " +
+            "s.sector.id AS sectorId, s.lat AS lat, s.lng AS lng, " +
+            "pr.entryTime AS entryTime, pr.pricePerHour AS pricePerHour " +
+            "FROM ParkingRecord pr JOIN pr.spot s JOIN pr.vehicle v " +
+            "WHERE v.licensePlate IN :licensePlates AND pr.status = :status")
+    List<ActiveSessionView> findSessionsByPlatesAndStatus(
+            @Param("licensePlates") Collection<String> licensePlates,
+            @Param("status") ParkingStatus status
+    );
+
+    /**
+     * Lista, em uma única consulta, as estadias com o status informado nas vagas fornecidas,
+     * já achatadas com os dados da vaga. Usado pelo spot-status em lote.
+     *
+     * @param spotIds Os identificadores das vagas.
+     * @param status  O {@link ParkingStatus} desejado (tipicamente {@code ACTIVE}).
+     * @return a lista de {@link ActiveSessionView} encontradas; vagas sem estadia não aparecem no resultado.
+     */
+    @Query("SELECT pr.id AS recordId, v.licensePlate AS licensePlate, s.id AS spotId, " +
+            "s.sector.id AS sectorId, s.lat AS lat, s.lng AS lng, " +
+            "pr.entryTime AS entryTime, pr.pricePerHour AS pricePerHour " +
+            "FROM ParkingRecord pr JOIN pr.spot s JOIN pr.vehicle v " +
+            "WHERE s.id IN :spotIds AND pr.status = :status")
+    List<ActiveSessionView> findSessionsBySpotIdsAndStatus(
+            @Param("spotIds") Collection<Long> spotIds,
+            @Param("status") ParkingStatus status
+    );
+
+    /**
+     * Finaliza um registro de estacionamento ATIVO com um único UPDATE, sem carregá-lo.
+     *
+     * @param recordId  O identificador do registro.
+     * @param exitTime  A data e hora de saída.
+     * @param finalFare O valor final calculado.
+     * @return a quantidade de registros atualizados (0 se o registro não estiver mais ativo).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ParkingRecord pr SET pr.exitTime = :exitTime, pr.finalFare = :finalFare, " +
+            "pr.status = br.com.estapar.parkingmanagement.domain.model.ParkingStatus.COMPLETED " +
+            "WHERE pr.id = :recordId " +
+            "AND pr.status = br.com.estapar.parkingmanagement.domain.model.ParkingStatus.ACTIVE")
+    int completeActiveRecord(
+            @Param("recordId") Long recordId,
+            @Param("exitTime") LocalDateTime exitTime,
+            @Param("finalFare") BigDecimal finalFare
+    );
 }
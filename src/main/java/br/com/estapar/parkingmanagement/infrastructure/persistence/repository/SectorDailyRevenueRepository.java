@@ -0,0 +1,97 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.repository;
+
+import br.com.estapar.parkingmanagement.domain.model.SectorDailyRevenue;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.DailyRevenueView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface SectorDailyRevenueRepository extends JpaRepository<SectorDailyRevenue, Long> {
+
+    /**
+     * Busca o faturamento consolidado de um setor em um dia.
+     * @param sectorId O identificador do setor.
+     * @param date A data do faturamento.
+     * @return um Optional com o total, ou vazio se o dia ainda não tiver consolidado.
+     */
+    @Query("SELECT r.totalRevenue FROM SectorDailyRevenue r WHERE r.sector.id = :sectorId AND r.revenueDate = :date")
+    Optional<BigDecimal> findTotalRevenue(@Param("sectorId") Long sectorId, @Param("date") LocalDate date);
+
+    /**
+     * Soma um valor ao consolidado do dia, se ele já existir.
+     * @return a quantidade de linhas atualizadas (0 se o dia ainda não tiver consolidado).
+     */
+    @Modifying
+    @Query(value = "UPDATE sector_daily_revenue SET total_revenue = total_revenue + :amount " +
+            "WHERE sector_id = :sectorId AND revenue_date = :date", nativeQuery = true)
+    int addToTotal(@Param("sectorId") Long sectorId, @Param("date") LocalDate date, @Param("amount") BigDecimal amount);
+
+    /**
+     * Cria o consolidado do dia com o valor inicial, sem falhar se outra transação o criou antes.
+     * @return 1 se a linha foi criada, 0 se ela já existia.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sector_daily_revenue (sector_id, revenue_date, total_revenue) " +
+            "VALUES (:sectorId, :date, :amount) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("sectorId") Long sectorId, @Param("date") LocalDate date, @Param("amount") BigDecimal amount);
+
+    /**
+     * Remove os consolidados de todos os setores no intervalo de datas (inclusivo).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM sector_daily_revenue WHERE revenue_date >= :startDate AND revenue_date <= :endDate",
+            nativeQuery = true)
+    int deleteByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Recalcula os consolidados a partir dos registros COMPLETED com saída no intervalo informado.
+     * @param startTime O início do intervalo (inclusivo) para o {@code exit_time}.
+     * @param endTime O fim do intervalo (exclusivo) para o {@code exit_time}.
+     * @return a quantidade de consolidados (setor, dia) criados.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sector_daily_revenue (sector_id, revenue_date, total_revenue) " +
+            "SELECT s.sector_id, CAST(pr.exit_time AS DATE), SUM(pr.final_fare) " +
+            "FROM parking_records pr JOIN spots s ON s.id = pr.spot_id " +
+            "WHERE pr.status = 'COMPLETED' AND pr.exit_time >= :startTime AND pr.exit_time < :endTime " +
+            "GROUP BY s.sector_id, CAST(pr.exit_time AS DATE)", nativeQuery = true)
+    int insertFromParkingRecords(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Lê os consolidados de todos os setores no intervalo de datas (inclusivo), ordenados por data e setor.
+     * O resultado é consumido em streaming e deve ser fechado dentro de uma transação.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.name AS sectorName, r.revenueDate AS revenueDate, r.totalRevenue AS totalRevenue " +
+            "FROM SectorDailyRevenue r JOIN r.sector s " +
+            "WHERE r.revenueDate >= :startDate AND r.revenueDate <= :endDate " +
+            "ORDER BY r.revenueDate, s.name")
+    Stream<DailyRevenueView> streamByDateRange(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    /**
+     * Mesma leitura de {@link #streamByDateRange}, restrita aos setores informados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.name AS sectorName, r.revenueDate AS revenueDate, r.totalRevenue AS totalRevenue " +
+            "FROM SectorDailyRevenue r JOIN r.sector s " +
+            "WHERE r.revenueDate >= :startDate AND r.revenueDate <= :endDate AND s.id IN :sectorIds " +
+            "ORDER BY r.revenueDate, s.name")
+    Stream<DailyRevenueView> streamByDateRangeAndSectorIds(@Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate,
+                                                           @Param("sectorIds") Collection<Long> sectorIds);
+}
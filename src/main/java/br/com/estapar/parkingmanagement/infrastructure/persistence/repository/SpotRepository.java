@@ -2,9 +2,16 @@ package br.com.estapar.parkingmanagement.infrastructure.persistence.repository;
 
 import br.com.estapar.parkingmanagement.domain.model.Sector;
 import br.com.estapar.parkingmanagement.domain.model.Spot;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SectorOccupancyCount;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SpotStatusView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -24,4 +31,84 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
      * @return O número de vagas de estacionamento que correspondem aos critérios fornecidos.
      */
     long countBySectorAndOccupied(Sector sector, boolean occupied);
+
+    /**
+     * Conta as vagas ocupadas agrupadas por setor, em uma única consulta.
+     * Usado para semear e reconciliar os contadores em memória do {@code SectorOccupancyRegistry}.
+     * Setores sem nenhuma vaga ocupada não aparecem no resultado.
+     * @return A lista de contagens de vagas ocupadas por setor.
+     */
+    @Query("SELECT s.sector.id AS sectorId, COUNT(s) AS occupied FROM Spot s " +
+            "WHERE s.occupied = true GROUP BY s.sector.id")
+    List<SectorOccupancyCount> countOccupiedGroupedBySector();
+
+    /**
+     * Filtra, em uma única consulta, as vagas ocupadas entre as informadas.
+     * @param spotIds Os identificadores das vagas.
+     * @return os identificadores das vagas ocupadas; vagas livres ou inexistentes não aparecem no resultado.
+     */
+    @Query("SELECT s.id FROM Spot s WHERE s.id IN :spotIds AND s.occupied = true")
+    List<Long> findOccupiedIds(@Param("spotIds") Collection<Long> spotIds);
+
+    /**
+     * Lista os identificadores de todas as vagas ocupadas. Usado para recarregar o {@code SpotOccupancyBitmap}.
+     * @return os identificadores das vagas ocupadas.
+     */
+    @Query("SELECT s.id FROM Spot s WHERE s.occupied = true")
+    List<Long> findAllOccupiedIds();
+
+    /**
+     * Busca a vaga com a sua estadia ativa, se houver, e o veículo dela em uma única consulta.
+     * Usado pelo spot-status depois que o índice espacial resolveu as coordenadas.
+     * @param spotId O identificador da vaga.
+     * @return a vaga com a estadia ativa, ou um Optional vazio se a vaga não existir.
+     */
+    @Query("SELECT s.id AS spotId, s.occupied AS occupied, pr.vehicle.licensePlate AS licensePlate, " +
+            "pr.entryTime AS entryTime, pr.pricePerHour AS pricePerHour " +
+            "FROM Spot s LEFT JOIN ParkingRecord pr ON pr.spot = s " +
+            "AND pr.status = br.com.estapar.parkingmanagement.domain.model.ParkingStatus.ACTIVE " +
+            "WHERE s.id = :spotId")
+    Optional<SpotStatusView> findStatusById(@Param("spotId") Long spotId);
+
+    /**
+     * Como {@link #findStatusById(Long)}, localizando a vaga pela igualdade exata das coordenadas.
+     * Usado pelo spot-status enquanto o índice espacial não está construído.
+     * @param lat A latitude da vaga.
+     * @param lng A longitude da vaga.
+     * @return a vaga com a estadia ativa, ou um Optional vazio se não houver vaga nas coordenadas.
+     */
+    @Query("SELECT s.id AS spotId, s.occupied AS occupied, pr.vehicle.licensePlate AS licensePlate, " +
+            "pr.entryTime AS entryTime, pr.pricePerHour AS pricePerHour " +
+            "FROM Spot s LEFT JOIN ParkingRecord pr ON pr.spot = s " +
+            "AND pr.status = br.com.estapar.parkingmanagement.domain.model.ParkingStatus.ACTIVE " +
+            "WHERE s.lat = :lat AND s.lng = :lng")
+    Optional<SpotStatusView> findStatusByLatAndLng(@Param("lat") Double lat, @Param("lng") Double lng);
+
+    /**
+     * Ocupa a vaga somente se ela estiver livre, com um único UPDATE condicional e sem carregá-la.
+     * A linha fica bloqueada até o fim da transação, então dois PARKED simultâneos para a mesma vaga
+     * não podem ambos ter sucesso.
+     * @param spotId O identificador da vaga.
+     * @return 1 se a vaga foi ocupada, 0 se ela já estava ocupada (ou não existe).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Spot s SET s.occupied = true WHERE s.id = :spotId AND s.occupied = false")
+    int claimIfFree(@Param("spotId") Long spotId);
+
+    /**
+     * Libera a vaga somente se ela estiver ocupada, com um único UPDATE condicional e sem carregá-la.
+     * @param spotId O identificador da vaga.
+     * @return 1 se a vaga foi liberada, 0 se ela já estava livre (ou não existe).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Spot s SET s.occupied = false WHERE s.id = :spotId AND s.occupied = true")
+    int releaseIfHeld(@Param("spotId") Long spotId);
+
+    /**
+     * Marca todas as vagas como livres. Usado pelo replay do diário de eventos antes de reaplicar os eventos.
+     * @return a quantidade de vagas liberadas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Spot s SET s.occupied = false WHERE s.occupied = true")
+    int releaseAll();
 }
@@ -0,0 +1,67 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia as conexões de transações somente leitura ({@code @Transactional(readOnly = true)}) para a réplica,
+ * enquanto o {@link ReplicaLagMonitor} a considerar em dia; todo o resto vai para o primário.
+ * A decisão usa o estado da transação corrente, que só existe depois do início dela: por isso este DataSource
+ * é sempre usado atrás de um {@link LazyConnectionDataSourceProxy}, que só pede a conexão no primeiro comando.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor,
+                                        MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        registerMetrics(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryConnections.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        if (!replicaLagMonitor.isAvailable()) {
+            fallbacks.incrementAndGet();
+            primaryConnections.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        replicaConnections.incrementAndGet();
+        return Target.REPLICA;
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("parking.datasource.connections", primaryConnections, AtomicLong::get)
+                .description("Conexões obtidas pelo DataSource de roteamento, por destino")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.datasource.connections", replicaConnections, AtomicLong::get)
+                .description("Conexões obtidas pelo DataSource de roteamento, por destino")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        FunctionCounter.builder("parking.datasource.replica.fallbacks", fallbacks, AtomicLong::get)
+                .description("Transações somente leitura enviadas ao primário por atraso ou falha da réplica")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Acompanha o atraso de replicação da réplica de leitura. Enquanto o atraso passar de
+ * {@code parking.datasource.replica.max-lag-seconds}, ou a réplica não responder, as transações somente leitura
+ * voltam para o primário. Até a primeira verificação a réplica é considerada indisponível.
+ * Criado por {@code ReadReplicaDataSourceConfig}, somente com {@code parking.datasource.replica.enabled=true}.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * Atraso, em segundos, da última transação reaplicada pela réplica. Uma réplica em dia com o que recebeu
+     * (inclusive um primário ocioso) tem atraso zero; um Postgres que não é réplica também devolve zero.
+     */
+    public static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, String lagQuery, double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("parking.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Atraso de replicação da réplica de leitura, em segundos")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("parking.datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .description("1 se as leituras estão sendo enviadas à réplica, 0 se voltaram para o primário")
+                .register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${parking.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean wasAvailable = available;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            available = lagSeconds <= maxLagSeconds;
+            if (wasAvailable && !available) {
+                log.warn("Réplica de leitura com {} s de atraso (máximo {} s). Leituras voltam para o primário.", lagSeconds, maxLagSeconds);
+            }
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            available = false;
+            if (wasAvailable) {
+                log.warn("Réplica de leitura indisponível. Leituras voltam para o primário: {}", e.getMessage());
+            }
+        }
+        if (!wasAvailable && available) {
+            log.info("Réplica de leitura disponível ({} s de atraso). Transações somente leitura vão para a réplica.", lagSeconds);
+        }
+    }
+}
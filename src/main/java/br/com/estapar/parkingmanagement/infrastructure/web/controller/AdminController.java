@@ -0,0 +1,73 @@
+package br.com.estapar.parkingmanagement.infrastructure.web.controller;
+
+import br.com.estapar.parkingmanagement.application.dto.admin.JournalReplayResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.admin.RevenueRebuildResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.error.ApiErrorResponseDTO;
+import br.com.estapar.parkingmanagement.application.service.JournalReplayService;
+import br.com.estapar.parkingmanagement.application.service.RevenueRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin")
+@Tag(name = "Admin API", description = "APIs de manutenção do estacionamento.")
+public class AdminController {
+
+    private final RevenueRollupService revenueRollupService;
+    private final JournalReplayService journalReplayService;
+
+    public AdminController(RevenueRollupService revenueRollupService, JournalReplayService journalReplayService) {
+        this.revenueRollupService = revenueRollupService;
+        this.journalReplayService = journalReplayService;
+    }
+
+    @PostMapping("/revenue/rebuild")
+    @Operation(summary = "Reconstrói o faturamento consolidado",
+            description = "Recalcula o faturamento diário consolidado de todos os setores no intervalo de datas (inclusivo) a partir dos registros de estacionamento.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Faturamento consolidado reconstruído com sucesso.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RevenueRebuildResponseDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de requisição inválidos (ex: data final anterior à inicial ou data inicial em um mês já arquivado).",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) })
+    })
+    public ResponseEntity<RevenueRebuildResponseDTO> rebuildRevenue(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("Recebida requisição para /admin/revenue/rebuild: startDate={}, endDate={}", startDate, endDate);
+        int rebuiltRows = revenueRollupService.rebuild(startDate, endDate);
+        return ResponseEntity.ok(new RevenueRebuildResponseDTO(startDate, endDate, rebuiltRows));
+    }
+
+    @PostMapping("/journal/replay")
+    @Operation(summary = "Reaplica os eventos do diário posteriores ao último checkpoint",
+            description = "Reaplica, em ordem, os eventos do diário posteriores ao último checkpoint, pulando os que já estão no banco, e recarrega os caches. " +
+                    "Nada é apagado. Deve ser executado com o recebimento de webhooks parado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos reaplicados com sucesso.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JournalReplayResponseDTO.class)) }),
+            @ApiResponse(responseCode = "409", description = "Diário desabilitado ou replay já em andamento.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) })
+    })
+    public ResponseEntity<JournalReplayResponseDTO> replayJournal() {
+        log.info("Recebida requisição para /admin/journal/replay");
+        return ResponseEntity.ok(journalReplayService.replay());
+    }
+}
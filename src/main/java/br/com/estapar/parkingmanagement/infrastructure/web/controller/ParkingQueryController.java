@@ -2,8 +2,16 @@ package br.com.estapar.parkingmanagement.infrastructure.web.controller;
 
 import br.com.estapar.parkingmanagement.application.dto.error.ApiErrorResponseDTO;
 import br.com.estapar.parkingmanagement.application.dto.query.*;
+import br.com.estapar.parkingmanagement.application.service.OccupancySnapshotService;
+import br.com.estapar.parkingmanagement.application.service.OccupancyStreamService;
 import br.com.estapar.parkingmanagement.application.service.ParkingEventService;
+import br.com.estapar.parkingmanagement.application.service.RevenueReportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,10 +20,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -25,9 +41,19 @@ import java.util.Optional;
 public class ParkingQueryController {
 
     private final ParkingEventService parkingEventService;
+    private final RevenueReportService revenueReportService;
+    private final OccupancySnapshotService occupancySnapshotService;
+    private final OccupancyStreamService occupancyStreamService;
+    private final ObjectMapper objectMapper;
 
-    public ParkingQueryController(ParkingEventService parkingEventService) {
+    public ParkingQueryController(ParkingEventService parkingEventService, RevenueReportService revenueReportService,
+                                  OccupancySnapshotService occupancySnapshotService,
+                                  OccupancyStreamService occupancyStreamService, ObjectMapper objectMapper) {
         this.parkingEventService = parkingEventService;
+        this.revenueReportService = revenueReportService;
+        this.occupancySnapshotService = occupancySnapshotService;
+        this.occupancyStreamService = occupancyStreamService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/plate-status")
@@ -70,6 +96,79 @@ public class ParkingQueryController {
         return ResponseEntity.ok(responseDTO);
     }
 
+    @PostMapping("/plate-status/batch")
+    @Operation(summary = "Consulta o status de vários veículos",
+            description = "Retorna, indexado pela placa, o status de cada veículo informado. Placas sem registro de estacionamento ativo " +
+                    "voltam com found=false, sem interromper o lote. Limite de 1000 placas por requisição.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote consultado. O resultado de cada placa é informado individualmente.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(type = "object", additionalPropertiesSchema = StatusLookupResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida (ex: lista vazia, placa em branco ou lote acima do limite).",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) })
+    })
+    public ResponseEntity<Map<String, StatusLookupResultDTO<PlateStatusResponseDTO>>> getPlateStatuses(
+            @Valid @RequestBody PlateStatusBatchRequestDTO requestDTO) {
+        log.info("Recebida requisição para /plate-status/batch com {} placas.", requestDTO.getLicensePlates().size());
+        return ResponseEntity.ok(parkingEventService.getPlateStatuses(requestDTO.getLicensePlates()));
+    }
+
+    @PostMapping("/spot-status/batch")
+    @Operation(summary = "Consulta o status de várias vagas",
+            description = "Retorna, indexado por \"lat,lng\", o status de cada vaga informada. Coordenadas sem vaga " +
+                    "voltam com found=false, sem interromper o lote. Limite de 1000 vagas por requisição.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote consultado. O resultado de cada vaga é informado individualmente.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(type = "object", additionalPropertiesSchema = StatusLookupResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida (ex: lista vazia, coordenadas ausentes ou lote acima do limite).",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) })
+    })
+    public ResponseEntity<Map<String, StatusLookupResultDTO<SpotStatusResponseDTO>>> getSpotStatuses(
+            @Valid @RequestBody SpotStatusBatchRequestDTO requestDTO) {
+        log.info("Recebida requisição para /spot-status/batch com {} vagas.", requestDTO.getSpots().size());
+        return ResponseEntity.ok(parkingEventService.getSpotStatuses(requestDTO.getSpots()));
+    }
+
+    @GetMapping("/occupancy")
+    @Operation(summary = "Consulta a ocupação atual de todos os setores",
+            description = "Retorna, por setor, as vagas ocupadas, a lotação, a faixa de preço dinâmico atual e um mapa de bits com a ocupação de cada vaga. " +
+                    "A resposta é servida da memória e reaproveitada enquanto nenhuma vaga muda; envie o ETag recebido em If-None-Match para receber 304 sem corpo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocupação atual da garagem.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OccupancyResponseDTO.class)) }),
+            @ApiResponse(responseCode = "304", description = "A ocupação não mudou desde o ETag informado em If-None-Match.")
+    })
+    public ResponseEntity<byte[]> getOccupancy(
+            @RequestParam(value = "includeSpots", defaultValue = "false") boolean includeSpots) {
+        log.debug("Recebida requisição para /occupancy: includeSpots={}", includeSpots);
+        OccupancySnapshotService.RenderedOccupancy occupancy = occupancySnapshotService.getOccupancy(includeSpots);
+        // O ETag no ResponseEntity faz o Spring responder 304 quando ele coincide com o If-None-Match
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(occupancy.etag())
+                .body(occupancy.json());
+    }
+
+    @GetMapping(value = "/occupancy/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream da ocupação dos setores (Server-Sent Events)",
+            description = "Envia um evento 'snapshot' com a ocupação completa (mesmo formato de /occupancy, com os ids das vagas) e, " +
+                    "a cada intervalo em que alguma vaga mudou, um evento 'delta' com as vagas ocupadas e liberadas e a faixa de preço " +
+                    "de cada setor alterado. O id de cada evento é a versão da ocupação.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream aberto.",
+                    content = { @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = OccupancyDeltaDTO.class)) })
+    })
+    public SseEmitter streamOccupancy() {
+        log.info("Recebida requisição para /occupancy/stream.");
+        return occupancyStreamService.subscribe();
+    }
+
     @GetMapping("/revenue")
     @Operation(summary = "Consulta o faturamento de um setor em uma data específica",
             description = "Retorna o faturamento total (soma das tarifas finais) para todos os veículos que saíram de um determinado setor em uma data específica.")
@@ -88,4 +187,46 @@ public class ParkingQueryController {
         RevenueResponseDTO responseDTO = parkingEventService.getRevenueForSectorAndDate(sectorName, date);
         return ResponseEntity.ok(responseDTO);
     }
+
+    @GetMapping("/revenue/report")
+    @Operation(summary = "Relatório de faturamento por intervalo de datas",
+            description = "Retorna o faturamento de cada setor por dia, semana ou mês no intervalo de datas (inclusivo), opcionalmente filtrado por setores. A resposta é um array JSON enviado em streaming.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso.",
+                    content = { @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = RevenueReportEntryDTO.class))) }),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de requisição inválidos (ex: data final anterior à inicial, agrupamento desconhecido).",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) }),
+            @ApiResponse(responseCode = "404", description = "Algum dos setores informados não foi encontrado.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) })
+    })
+    public ResponseEntity<StreamingResponseBody> getRevenueReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "sector", required = false) List<String> sectorNames,
+            @RequestParam(value = "groupBy", defaultValue = "DAY") RevenueGranularity granularity) {
+        log.info("Recebida requisição para /revenue/report: from={}, to={}, sectors={}, groupBy={}",
+                from, to, sectorNames, granularity);
+        RevenueReportService.ReportQuery query = revenueReportService.prepareQuery(from, to, sectorNames, granularity);
+
+        // Sem flush a cada item: o array é enviado conforme o buffer do gerador enche
+        ObjectWriter entryWriter = objectMapper.writerFor(RevenueReportEntryDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                revenueReportService.streamReport(query, entry -> {
+                    try {
+                        entryWriter.writeValue(generator, entry);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -1,21 +1,37 @@
 package br.com.estapar.parkingmanagement.infrastructure.web.controller;
 
+import br.com.estapar.parkingmanagement.application.cache.WebhookDeduplicationCache;
 import br.com.estapar.parkingmanagement.application.dto.error.ApiErrorResponseDTO;
+import br.com.estapar.parkingmanagement.application.exception.EventQueueFullException;
+import br.com.estapar.parkingmanagement.application.exception.GarageNotReadyException;
 import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventResultDTO;
+import br.com.estapar.parkingmanagement.application.service.GarageInitializer;
 import br.com.estapar.parkingmanagement.application.service.ParkingEventService;
+import br.com.estapar.parkingmanagement.application.service.SectorEventEngine;
+import br.com.estapar.parkingmanagement.application.service.WebhookBatchService;
+import br.com.estapar.parkingmanagement.application.service.WebhookEventDispatcher;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/webhook")
@@ -23,9 +39,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class WebhookController {
 
     private final ParkingEventService parkingEventService;
+    private final WebhookBatchService webhookBatchService;
+    private final WebhookEventDispatcher webhookEventDispatcher;
+    private final EventJournal eventJournal;
+    private final GarageInitializer garageInitializer;
+    private final WebhookDeduplicationCache webhookDeduplicationCache;
+    private final SectorEventEngine sectorEventEngine;
 
-    public WebhookController(ParkingEventService parkingEventService) {
+    public WebhookController(ParkingEventService parkingEventService, WebhookBatchService webhookBatchService,
+                             WebhookEventDispatcher webhookEventDispatcher, EventJournal eventJournal,
+                             GarageInitializer garageInitializer, WebhookDeduplicationCache webhookDeduplicationCache,
+                             SectorEventEngine sectorEventEngine) {
         this.parkingEventService = parkingEventService;
+        this.webhookBatchService = webhookBatchService;
+        this.webhookEventDispatcher = webhookEventDispatcher;
+        this.eventJournal = eventJournal;
+        this.garageInitializer = garageInitializer;
+        this.webhookDeduplicationCache = webhookDeduplicationCache;
+        this.sectorEventEngine = sectorEventEngine;
     }
 
     @PostMapping
@@ -40,20 +71,187 @@ public class WebhookController {
             )
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Evento recebido e processado com sucesso.",
+            @ApiResponse(responseCode = "200", description = "Evento recebido e processado com sucesso, ou reenvio de um evento já recebido, ignorado.",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Evento recebido com sucesso."))),
+            @ApiResponse(responseCode = "202", description = "Evento gravado no diário e aceito para processamento assíncrono (modo assíncrono ou motor por setor habilitado).",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Evento aceito para processamento."))),
             @ApiResponse(responseCode = "400", description = "Requisição inválida (ex: JSON malformado, tipo de evento desconhecido).",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponseDTO.class)) }),
             @ApiResponse(responseCode = "500", description = "Erro interno ao processar o evento.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) }),
+            @ApiResponse(responseCode = "503", description = "Fila de processamento assíncrono cheia ou garagem ainda em inicialização. O evento deve ser reenviado.",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponseDTO.class)) })
     })
     public ResponseEntity<String> receiveEvent(@RequestBody WebhookEventDTO eventDTO) {
-        log.info("Webhook recebido: {}", eventDTO);
+        log.debug("Webhook recebido: {}", eventDTO);
+        requireGarageReady();
+
+        // Reenvios do simulador são descartados antes de qualquer gravação ou consulta
+        if (!webhookDeduplicationCache.register(eventDTO)) {
+            log.debug("Webhook duplicado ignorado: {} da placa {}", eventDTO.getEventType(), eventDTO.getLicensePlate());
+            return ResponseEntity.ok("Evento duplicado ignorado.");
+        }
+        eventDTO.setReceivedAt(LocalDateTime.now());
+
+        try {
+            // Com o diário habilitado, o evento só é aceito depois de gravado em disco
+            if (eventJournal.isEnabled()) {
+                eventJournal.appendDurably(List.of(eventDTO));
+            }
 
-        parkingEventService.processEvent(eventDTO);
+            // Com o motor por setor, o evento vai para o laço do seu setor e é persistido em lote
+            if (sectorEventEngine.isEnabled()) {
+                if (!sectorEventEngine.submit(eventDTO)) {
+                    throw new EventQueueFullException("Fila de eventos do setor cheia. Tente novamente em instantes.");
+                }
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body("Evento aceito para processamento.");
+            }
+
+            // No modo assíncrono (sempre ligado com o diário), apenas enfileira o evento na partição da placa e confirma
+            // o recebimento: com o diário, a confirmação vem logo após o fsync, sem esperar a transação do evento
+            if (webhookEventDispatcher.isEnabled()) {
+                if (!webhookEventDispatcher.submit(eventDTO)) {
+                    throw new EventQueueFullException("Fila de eventos cheia. Tente novamente em instantes.");
+                }
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body("Evento aceito para processamento.");
+            }
+
+            parkingEventService.processEvent(eventDTO);
+        } catch (RuntimeException e) {
+            // A entrega falhou: o reenvio do simulador precisa ser processado, e o registro no diário não segura o checkpoint
+            webhookDeduplicationCache.forget(eventDTO);
+            eventJournal.markApplied(eventDTO);
+            throw e;
+        }
 
         return ResponseEntity.ok("Evento recebido com sucesso.");
     }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Recebe um lote de eventos do simulador de garagem",
+            description = "Aplica os eventos na ordem recebida, em blocos transacionais, e retorna o resultado de cada evento. " +
+                    "Com o motor por setor ou o modo assíncrono habilitado, os eventos são apenas enfileirados, como os eventos avulsos. " +
+                    "Um evento inválido não impede o processamento dos demais. Reenvios de eventos já recebidos são ignorados e marcados como duplicados.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Lista de eventos enviados pelo simulador.",
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = WebhookEventDTO.class)))
+            )
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado. O resultado de cada evento é informado individualmente.",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = WebhookEventResultDTO.class)))),
+            @ApiResponse(responseCode = "202", description = "Lote gravado no diário e enfileirado (modo assíncrono ou motor por setor habilitado). O sucesso de cada evento indica que ele foi aceito; eventos recusados por fila cheia devem ser reenviados.",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = WebhookEventResultDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida (ex: JSON malformado).",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) }),
+            @ApiResponse(responseCode = "503", description = "Garagem ainda em inicialização. O lote deve ser reenviado.",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponseDTO.class)) })
+    })
+    public ResponseEntity<List<WebhookEventResultDTO>> receiveBatch(@RequestBody List<WebhookEventDTO> events) {
+        log.info("Lote de webhooks recebido com {} eventos.", events.size());
+        requireGarageReady();
+        LocalDateTime receivedAt = LocalDateTime.now();
+
+        // Separa os reenvios; só os eventos novos são gravados e processados
+        WebhookEventResultDTO[] results = new WebhookEventResultDTO[events.size()];
+        List<WebhookEventDTO> accepted = new ArrayList<>(events.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            WebhookEventDTO eventDTO = events.get(i);
+            if (webhookDeduplicationCache.register(eventDTO)) {
+                eventDTO.setReceivedAt(receivedAt);
+                accepted.add(eventDTO);
+                acceptedIndexes.add(i);
+            } else {
+                results[i] = WebhookEventResultDTO.duplicate(i, eventDTO);
+            }
+        }
+        if (accepted.size() < events.size()) {
+            log.info("{} eventos duplicados ignorados no lote.", events.size() - accepted.size());
+        }
+
+        List<WebhookEventResultDTO> processed;
+        try {
+            if (eventJournal.isEnabled()) {
+                eventJournal.appendDurably(accepted);
+            }
+            // Com o motor por setor ou o modo assíncrono, o lote segue o mesmo caminho dos eventos avulsos
+            processed = isAsync() ? enqueueBatch(accepted) : webhookBatchService.processBatch(accepted);
+        } catch (RuntimeException e) {
+            accepted.forEach(webhookDeduplicationCache::forget);
+            accepted.forEach(eventJournal::markApplied);
+            throw e;
+        }
+        for (int i = 0; i < processed.size(); i++) {
+            WebhookEventResultDTO result = processed.get(i);
+            if (!result.isSuccess()) {
+                webhookDeduplicationCache.forget(accepted.get(i));
+                eventJournal.markApplied(accepted.get(i));
+            }
+            int index = acceptedIndexes.get(i);
+            result.setIndex(index);
+            results[index] = result;
+        }
+
+        HttpStatus status = isAsync() ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(Arrays.asList(results));
+    }
+
+    private boolean isAsync() {
+        return sectorEventEngine.isEnabled() || webhookEventDispatcher.isEnabled();
+    }
+
+    /**
+     * Enfileira os eventos do lote, na ordem recebida, no motor por setor ou no despachante. Quando uma fila
+     * enche, o evento e todos os seguintes são recusados, para que o reenvio não aplique o EXIT de uma placa
+     * antes do seu PARKED.
+     */
+    private List<WebhookEventResultDTO> enqueueBatch(List<WebhookEventDTO> events) {
+        List<WebhookEventResultDTO> results = new ArrayList<>(events.size());
+        String rejection = null;
+        for (int i = 0; i < events.size(); i++) {
+            WebhookEventDTO eventDTO = events.get(i);
+            if (rejection != null) {
+                results.add(WebhookEventResultDTO.failure(i, eventDTO, rejection));
+                continue;
+            }
+            try {
+                if (submit(eventDTO)) {
+                    results.add(WebhookEventResultDTO.success(i, eventDTO));
+                } else {
+                    rejection = "Fila de eventos cheia. Tente novamente em instantes.";
+                    results.add(WebhookEventResultDTO.failure(i, eventDTO, rejection));
+                }
+            } catch (RuntimeException e) {
+                // O ENTRY é aplicado na hora pelo motor por setor e pode falhar como no processamento síncrono
+                log.debug("Falha ao enfileirar o evento {} do lote: {}", i, e.getMessage());
+                results.add(WebhookEventResultDTO.failure(i, eventDTO, e.getMessage()));
+            }
+        }
+        if (rejection != null) {
+            log.warn("Fila de eventos cheia durante o lote; os eventos restantes foram recusados.");
+        }
+        return results;
+    }
+
+    private boolean submit(WebhookEventDTO eventDTO) {
+        return sectorEventEngine.isEnabled()
+                ? sectorEventEngine.submit(eventDTO)
+                : webhookEventDispatcher.submit(eventDTO);
+    }
+
+    private void requireGarageReady() {
+        if (!garageInitializer.isReady()) {
+            throw new GarageNotReadyException("Garagem ainda em inicialização. Tente novamente em instantes.");
+        }
+    }
 }
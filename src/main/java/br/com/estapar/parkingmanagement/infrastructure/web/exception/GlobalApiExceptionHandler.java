@@ -1,8 +1,11 @@
 package br.com.estapar.parkingmanagement.infrastructure.web.exception;
 
 import br.com.estapar.parkingmanagement.application.dto.error.ApiErrorResponseDTO;
+import br.com.estapar.parkingmanagement.application.exception.EventQueueFullException;
+import br.com.estapar.parkingmanagement.application.exception.GarageNotReadyException;
 import br.com.estapar.parkingmanagement.domain.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -49,6 +52,70 @@ public class GlobalApiExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    // Tratador para violações de restrições do banco (ex: segunda estadia ativa para a mesma placa ou vaga)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiErrorResponseDTO> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+
+        log.warn("Violação de integridade dos dados: {}", ex.getMostSpecificCause().getMessage());
+        ApiErrorResponseDTO errorResponse = new ApiErrorResponseDTO(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "A operação viola uma restrição de integridade dos dados.",
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // Tratador para parâmetros inválidos (ex: intervalo de datas invertido)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponseDTO> handleIllegalArgumentException(
+            IllegalArgumentException ex, WebRequest request) {
+
+        log.warn("Parâmetro inválido: {}", ex.getMessage());
+        ApiErrorResponseDTO errorResponse = new ApiErrorResponseDTO(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Tratador para fila de eventos assíncronos cheia
+    @ExceptionHandler(EventQueueFullException.class)
+    public ResponseEntity<ApiErrorResponseDTO> handleEventQueueFullException(
+            EventQueueFullException ex, WebRequest request) {
+
+        log.warn("Evento rejeitado por sobrecarga: {}", ex.getMessage());
+        ApiErrorResponseDTO errorResponse = new ApiErrorResponseDTO(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Tratador para eventos recebidos antes de a garagem estar inicializada
+    @ExceptionHandler(GarageNotReadyException.class)
+    public ResponseEntity<ApiErrorResponseDTO> handleGarageNotReadyException(
+            GarageNotReadyException ex, WebRequest request) {
+
+        log.warn("Requisição recusada durante a inicialização da garagem: {}", ex.getMessage());
+        ApiErrorResponseDTO errorResponse = new ApiErrorResponseDTO(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // Tratador para erros de validação do @Valid (MethodArgumentNotValidException)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponseDTO> handleMethodArgumentNotValid(
@@ -0,0 +1,54 @@
+-- Esquema inicial, equivalente ao gerado pelo Hibernate (ddl-auto) até esta versão.
+
+CREATE TABLE vehicles (
+    license_plate VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_vehicles PRIMARY KEY (license_plate)
+);
+
+CREATE TABLE sectors (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name         VARCHAR(255)   NOT NULL,
+    base_price   NUMERIC(38, 2) NOT NULL,
+    max_capacity INTEGER        NOT NULL,
+    open_hour    TIME(6)        NOT NULL,
+    close_hour   TIME(6)        NOT NULL,
+    CONSTRAINT pk_sectors PRIMARY KEY (id),
+    CONSTRAINT uk_sectors_name UNIQUE (name)
+);
+
+CREATE TABLE spots (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    sector_id BIGINT           NOT NULL,
+    lat       DOUBLE PRECISION NOT NULL,
+    lng       DOUBLE PRECISION NOT NULL,
+    occupied  BOOLEAN          NOT NULL,
+    CONSTRAINT pk_spots PRIMARY KEY (id),
+    CONSTRAINT fk_spots_sector FOREIGN KEY (sector_id) REFERENCES sectors (id)
+);
+
+CREATE SEQUENCE parking_records_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE parking_records (
+    id                    BIGINT         NOT NULL,
+    vehicle_license_plate VARCHAR(255)   NOT NULL,
+    spot_id               BIGINT         NOT NULL,
+    entry_time            TIMESTAMP(6)   NOT NULL,
+    exit_time             TIMESTAMP(6),
+    status                VARCHAR(255)   NOT NULL,
+    price_per_hour        NUMERIC(38, 2) NOT NULL,
+    final_fare            NUMERIC(38, 2),
+    CONSTRAINT pk_parking_records PRIMARY KEY (id),
+    CONSTRAINT fk_parking_records_vehicle FOREIGN KEY (vehicle_license_plate) REFERENCES vehicles (license_plate),
+    CONSTRAINT fk_parking_records_spot FOREIGN KEY (spot_id) REFERENCES spots (id),
+    CONSTRAINT ck_parking_records_status CHECK (status IN ('ACTIVE', 'COMPLETED'))
+);
+
+CREATE TABLE sector_daily_revenue (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    sector_id     BIGINT         NOT NULL,
+    revenue_date  DATE           NOT NULL,
+    total_revenue NUMERIC(14, 2) NOT NULL,
+    CONSTRAINT pk_sector_daily_revenue PRIMARY KEY (id),
+    CONSTRAINT uk_sector_daily_revenue_sector_date UNIQUE (sector_id, revenue_date),
+    CONSTRAINT fk_sector_daily_revenue_sector FOREIGN KEY (sector_id) REFERENCES sectors (id)
+);
@@ -0,0 +1,19 @@
+-- Índices dos caminhos críticos dos webhooks e das consultas.
+
+-- Estadia ativa por placa (EXIT, plate-status) e por vaga (spot-status)
+CREATE INDEX idx_parking_records_plate_status ON parking_records (vehicle_license_plate, status);
+CREATE INDEX idx_parking_records_spot_status ON parking_records (spot_id, status);
+
+-- Faturamento por intervalo de saída (consulta sem consolidado e reconstrução do consolidado)
+CREATE INDEX idx_parking_records_exit_time ON parking_records (exit_time);
+
+-- No máximo uma estadia ACTIVE por veículo e por vaga, garantido pelo banco
+CREATE UNIQUE INDEX ux_parking_records_active_plate ON parking_records (vehicle_license_plate) WHERE status = 'ACTIVE';
+CREATE UNIQUE INDEX ux_parking_records_active_spot ON parking_records (spot_id) WHERE status = 'ACTIVE';
+
+-- Busca de vaga por coordenadas (enquanto o índice espacial em memória não está pronto) e por setor
+CREATE INDEX idx_spots_lat_lng ON spots (lat, lng);
+CREATE INDEX idx_spots_sector_occupied ON spots (sector_id, occupied);
+
+-- Relatório de faturamento por intervalo de datas em todos os setores
+CREATE INDEX idx_sector_daily_revenue_date ON sector_daily_revenue (revenue_date);
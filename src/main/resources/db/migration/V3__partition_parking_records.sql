@@ -0,0 +1,54 @@
+-- Particionamento de parking_records:
+--   parking_records (LIST por status)
+--   ├── parking_records_active            ACTIVE: partição quente e pequena, só com as estadias em andamento
+--   └── parking_records_completed         COMPLETED (RANGE por exit_time, uma partição por mês)
+--       ├── parking_records_pAAAAMM       criadas antecipadamente pelo ParkingRecordPartitionMaintenance
+--       └── parking_records_completed_default
+-- No EXIT o UPDATE de status move a linha da partição ativa para a partição do mês da saída.
+-- Partições antigas são desanexadas e movidas para o schema parking_archive.
+--
+-- Em tabelas particionadas toda chave única precisa conter as colunas de particionamento, por isso o id
+-- deixa de ser PRIMARY KEY (continua vindo da sequence) e as restrições de uma estadia ACTIVE por placa e
+-- por vaga passam a ser índices únicos da partição ativa.
+
+CREATE SCHEMA IF NOT EXISTS parking_archive;
+
+ALTER TABLE parking_records RENAME TO parking_records_legacy;
+
+CREATE TABLE parking_records (
+    id                    BIGINT         NOT NULL,
+    vehicle_license_plate VARCHAR(255)   NOT NULL,
+    spot_id               BIGINT         NOT NULL,
+    entry_time            TIMESTAMP(6)   NOT NULL,
+    exit_time             TIMESTAMP(6),
+    status                VARCHAR(255)   NOT NULL,
+    price_per_hour        NUMERIC(38, 2) NOT NULL,
+    final_fare            NUMERIC(38, 2),
+    CONSTRAINT fk_parking_records_vehicle FOREIGN KEY (vehicle_license_plate) REFERENCES vehicles (license_plate),
+    CONSTRAINT fk_parking_records_spot FOREIGN KEY (spot_id) REFERENCES spots (id)
+) PARTITION BY LIST (status);
+
+CREATE TABLE parking_records_active PARTITION OF parking_records FOR VALUES IN ('ACTIVE');
+
+CREATE TABLE parking_records_completed PARTITION OF parking_records
+    (CONSTRAINT ck_parking_records_completed_exit_time CHECK (exit_time IS NOT NULL))
+    FOR VALUES IN ('COMPLETED') PARTITION BY RANGE (exit_time);
+
+CREATE TABLE parking_records_completed_default PARTITION OF parking_records_completed DEFAULT;
+
+-- Os registros existentes vão para a partição ativa ou para a default; a manutenção os redistribui por mês
+INSERT INTO parking_records
+SELECT id, vehicle_license_plate, spot_id, entry_time, exit_time, status, price_per_hour, final_fare
+FROM parking_records_legacy;
+
+DROP TABLE parking_records_legacy;
+
+-- Índices particionados, propagados a todas as partições (inclusive as criadas depois)
+CREATE INDEX idx_parking_records_id ON parking_records (id);
+CREATE INDEX idx_parking_records_plate_status ON parking_records (vehicle_license_plate, status);
+CREATE INDEX idx_parking_records_spot_status ON parking_records (spot_id, status);
+CREATE INDEX idx_parking_records_exit_time ON parking_records (exit_time);
+
+-- No máximo uma estadia ACTIVE por veículo e por vaga
+CREATE UNIQUE INDEX ux_parking_records_active_plate ON parking_records_active (vehicle_license_plate);
+CREATE UNIQUE INDEX ux_parking_records_active_spot ON parking_records_active (spot_id);
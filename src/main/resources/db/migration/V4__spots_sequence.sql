@@ -0,0 +1,10 @@
+-- Ids de vagas por sequência com incremento 50 (alocação em blocos pelo Hibernate), no lugar da coluna identity,
+-- para que o provisionamento de garagens grandes possa agrupar os INSERTs em lotes JDBC.
+
+ALTER TABLE spots ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE spots_seq START WITH 1 INCREMENT BY 50;
+
+-- O otimizador "pooled" do Hibernate usa o valor da sequência como o fim do bloco:
+-- o primeiro bloco alocado começa logo após o maior id existente
+SELECT setval('spots_seq', COALESCE((SELECT MAX(id) FROM spots), 0) + 50, false);
@@ -0,0 +1,13 @@
+-- Preenche o consolidado diário de faturamento com as saídas anteriores a ele.
+-- Sem isso, um dia que já tinha saídas antes do consolidado ganha uma linha parcial na primeira saída registrada
+-- depois do deploy, e tanto o /revenue quanto o relatório por intervalo passam a subcontar esse dia.
+-- O total de cada (setor, dia) é recalculado a partir dos registros, o que também corrige essas linhas parciais;
+-- dias que só existem em partições já arquivadas em parking_archive não são alterados.
+
+INSERT INTO sector_daily_revenue (sector_id, revenue_date, total_revenue)
+SELECT s.sector_id, CAST(pr.exit_time AS DATE), SUM(pr.final_fare)
+FROM parking_records pr
+JOIN spots s ON s.id = pr.spot_id
+WHERE pr.status = 'COMPLETED'
+GROUP BY s.sector_id, CAST(pr.exit_time AS DATE)
+ON CONFLICT (sector_id, revenue_date) DO UPDATE SET total_revenue = EXCLUDED.total_revenue;
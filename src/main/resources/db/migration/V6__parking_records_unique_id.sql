@@ -0,0 +1,13 @@
+-- Unicidade do id de parking_records após o particionamento da V3, que removeu a PRIMARY KEY.
+--
+-- Uma chave única na tabela particionada precisa conter as colunas de particionamento de todos os níveis
+-- (status e exit_time), e exit_time é nulo nas estadias ativas, então não há PRIMARY KEY possível na raiz.
+-- A unicidade é garantida em cada partição:
+--   * parking_records_active: índice único em id;
+--   * parking_records_completed: índice único particionado em (id, exit_time), propagado a cada partição mensal
+--     (inclusive as criadas e anexadas depois pelo ParkingRecordPartitionMaintenance) e à default.
+-- Entre partições o id não se repete porque vem de parking_records_seq e uma estadia só muda de partição
+-- pelo UPDATE de status do EXIT, que move a linha em vez de copiá-la.
+
+CREATE UNIQUE INDEX ux_parking_records_active_id ON parking_records_active (id);
+CREATE UNIQUE INDEX ux_parking_records_completed_id ON parking_records_completed (id, exit_time);
@@ -0,0 +1,96 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SectorOccupancyCount;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SectorOccupancyRegistryTest {
+
+    @Mock
+    private SpotRepository spotRepository;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SectorOccupancyRegistry sectorOccupancyRegistry;
+
+    @Test
+    void tryOccupy_quandoSetorTemCapacidade_deveRetornarOcupacaoAnteriorEIncrementar() {
+        // Arrange
+        when(spotRepository.countOccupiedGroupedBySector()).thenReturn(List.of(count(1L, 3)));
+        sectorOccupancyRegistry.reload();
+
+        // Act
+        int previous = sectorOccupancyRegistry.tryOccupy(1L, 10);
+
+        // Assert
+        assertEquals(3, previous);
+        assertEquals(4, sectorOccupancyRegistry.getOccupied(1L));
+        assertEquals(4.0, meterRegistry.get("parking.sector.occupied").tag("sector", "1").gauge().value());
+    }
+
+    @Test
+    void tryOccupy_quandoSetorLotado_deveRetornarMenosUmSemIncrementar() {
+        // Arrange
+        when(spotRepository.countOccupiedGroupedBySector()).thenReturn(List.of(count(1L, 2)));
+        sectorOccupancyRegistry.reload();
+
+        // Act
+        int previous = sectorOccupancyRegistry.tryOccupy(1L, 2);
+
+        // Assert
+        assertEquals(-1, previous);
+        assertEquals(2, sectorOccupancyRegistry.getOccupied(1L));
+    }
+
+    @Test
+    void release_naoDeveDeixarContadorNegativo() {
+        // Act
+        sectorOccupancyRegistry.release(7L);
+
+        // Assert
+        assertEquals(0, sectorOccupancyRegistry.getOccupied(7L));
+    }
+
+    @Test
+    void reconcile_deveCorrigirDivergenciaSomenteQuandoSeRepete() {
+        // Arrange
+        when(spotRepository.countOccupiedGroupedBySector()).thenReturn(List.of(count(1L, 5)));
+        sectorOccupancyRegistry.reload();
+        sectorOccupancyRegistry.tryOccupy(1L, 10); // memória: 6, banco: 5
+
+        // Act & Assert
+        sectorOccupancyRegistry.reconcile();
+        assertEquals(6, sectorOccupancyRegistry.getOccupied(1L)); // primeira passada apenas registra a divergência
+
+        sectorOccupancyRegistry.reconcile();
+        assertEquals(5, sectorOccupancyRegistry.getOccupied(1L));
+    }
+
+    private static SectorOccupancyCount count(Long sectorId, long occupied) {
+        return new SectorOccupancyCount() {
+            @Override
+            public Long getSectorId() {
+                return sectorId;
+            }
+
+            @Override
+            public long getOccupied() {
+                return occupied;
+            }
+        };
+    }
+}
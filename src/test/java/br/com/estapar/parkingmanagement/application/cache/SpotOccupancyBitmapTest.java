@@ -0,0 +1,98 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpotOccupancyBitmapTest {
+
+    private SpotOccupancyBitmap spotOccupancyBitmap;
+
+    @BeforeEach
+    void setUp() {
+        Sector sectorA = sector(1L, "A");
+        Sector sectorB = sector(2L, "B");
+
+        spotOccupancyBitmap = new SpotOccupancyBitmap();
+        // Fora de ordem de propósito: os bits seguem a ordem crescente de id dentro do setor
+        spotOccupancyBitmap.rebuild(List.of(sectorB, sectorA), List.of(
+                spot(12L, sectorA, true),
+                spot(10L, sectorA, false),
+                spot(11L, sectorA, false),
+                spot(20L, sectorB, false)));
+    }
+
+    @Test
+    void rebuild_deveOrdenarSetoresPorNomeEVagasPorId() {
+        // Act
+        SpotOccupancyBitmap.Snapshot snapshot = spotOccupancyBitmap.snapshot();
+
+        // Assert
+        assertEquals(List.of("A", "B"), snapshot.sectors().stream().map(sector -> sector.sector().name()).toList());
+        SpotOccupancyBitmap.SectorSnapshot sectorA = snapshot.sectors().get(0);
+        assertArrayEquals(new long[] {10L, 11L, 12L}, sectorA.spotIds());
+        assertEquals(1, sectorA.occupied().cardinality());
+        assertTrue(sectorA.occupied().get(2));
+    }
+
+    @Test
+    void markOccupiedEMarkFree_devemAlterarOBitEAVersaoSomenteQuandoAOcupacaoMuda() {
+        long initialVersion = spotOccupancyBitmap.version();
+
+        spotOccupancyBitmap.markOccupied(10L);
+        spotOccupancyBitmap.markOccupied(10L);
+        assertEquals(initialVersion + 1, spotOccupancyBitmap.version());
+        assertTrue(spotOccupancyBitmap.snapshot().sectors().get(0).occupied().get(0));
+
+        spotOccupancyBitmap.markFree(12L);
+        spotOccupancyBitmap.markFree(99L);
+        assertEquals(initialVersion + 2, spotOccupancyBitmap.version());
+        assertEquals(1, spotOccupancyBitmap.snapshot().sectors().get(0).occupied().cardinality());
+    }
+
+    @Test
+    void snapshot_deveSerUmaCopiaIsoladaDasAlteracoesPosteriores() {
+        SpotOccupancyBitmap.Snapshot before = spotOccupancyBitmap.snapshot();
+
+        spotOccupancyBitmap.markOccupied(20L);
+
+        assertTrue(before.sectors().get(1).occupied().isEmpty());
+        assertTrue(spotOccupancyBitmap.snapshot().sectors().get(1).occupied().get(0));
+        assertTrue(spotOccupancyBitmap.snapshot().version() > before.version());
+    }
+
+    @Test
+    void reloadOccupied_deveSubstituirAOcupacaoDeTodasAsVagas() {
+        // Act
+        spotOccupancyBitmap.reloadOccupied(List.of(11L, 20L));
+
+        // Assert
+        SpotOccupancyBitmap.Snapshot snapshot = spotOccupancyBitmap.snapshot();
+        assertFalse(snapshot.sectors().get(0).occupied().get(2));
+        assertTrue(snapshot.sectors().get(0).occupied().get(1));
+        assertTrue(snapshot.sectors().get(1).occupied().get(0));
+    }
+
+    private static Sector sector(Long id, String name) {
+        Sector sector = new Sector();
+        sector.setId(id);
+        sector.setName(name);
+        sector.setMaxCapacity(10);
+        sector.setBasePrice(new BigDecimal("10.00"));
+        return sector;
+    }
+
+    private static Spot spot(Long id, Sector sector, boolean occupied) {
+        Spot spot = new Spot();
+        spot.setId(id);
+        spot.setSector(sector);
+        spot.setOccupied(occupied);
+        return spot;
+    }
+}
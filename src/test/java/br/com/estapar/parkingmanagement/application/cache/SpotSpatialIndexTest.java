@@ -0,0 +1,70 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpotSpatialIndexTest {
+
+    private SpotSpatialIndex spotSpatialIndex;
+
+    @BeforeEach
+    void setUp() {
+        Sector sector = new Sector();
+        sector.setId(1L);
+
+        spotSpatialIndex = new SpotSpatialIndex(0.00001);
+        spotSpatialIndex.rebuild(List.of(
+                spot(10L, sector, -23.561684, -46.655981),
+                spot(11L, sector, -23.561664, -46.655981)));
+    }
+
+    @Test
+    void resolve_comCoordenadaExata_deveRetornarAVaga() {
+        // Act
+        Optional<SpotSpatialIndex.SpotLocation> location = spotSpatialIndex.resolve(-23.561684, -46.655981);
+
+        // Assert
+        assertTrue(location.isPresent());
+        assertEquals(10L, location.get().spotId());
+        assertEquals(1L, location.get().sectorId());
+    }
+
+    @Test
+    void resolve_comVariacaoDentroDaTolerancia_deveRetornarAVagaMaisProxima() {
+        // Act
+        Optional<SpotSpatialIndex.SpotLocation> location = spotSpatialIndex.resolve(-23.561668, -46.655984);
+
+        // Assert
+        assertTrue(location.isPresent());
+        assertEquals(11L, location.get().spotId());
+    }
+
+    @Test
+    void resolve_comCoordenadaForaDaTolerancia_deveRetornarVazio() {
+        // Act & Assert
+        assertTrue(spotSpatialIndex.resolve(-23.561800, -46.655981).isEmpty());
+        assertTrue(spotSpatialIndex.resolve(null, -46.655981).isEmpty());
+    }
+
+    @Test
+    void isReady_antesDeConstruir_deveRetornarFalso() {
+        assertFalse(new SpotSpatialIndex(0.00001).isReady());
+        assertTrue(spotSpatialIndex.isReady());
+    }
+
+    private static Spot spot(Long id, Sector sector, double lat, double lng) {
+        Spot spot = new Spot();
+        spot.setId(id);
+        spot.setSector(sector);
+        spot.setLat(lat);
+        spot.setLng(lng);
+        return spot;
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.estapar.parkingmanagement.application.cache;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebhookDeduplicationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void register_comReenvioDentroDaJanela_deveDescartarEContarAcerto() {
+        WebhookDeduplicationCache cache = cache(true, 100);
+
+        assertTrue(cache.register(entry("ABC-1234", "2025-01-01T12:00:00")));
+        assertFalse(cache.register(entry("ABC-1234", "2025-01-01T12:00:00")));
+        // Mesma placa em outra entrada é outro evento
+        assertTrue(cache.register(entry("ABC-1234", "2025-01-01T15:00:00")));
+
+        assertEquals(1.0, meterRegistry.get("parking.webhook.dedup.hits").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("parking.webhook.dedup.misses").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("parking.webhook.dedup.size").gauge().value());
+    }
+
+    @Test
+    void register_aposAJanela_deveAceitarOEventoNovamente() {
+        WebhookDeduplicationCache cache = cache(true, 100);
+        assertTrue(cache.register(entry("ABC-1234", "2025-01-01T12:00:00")));
+
+        clock.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertFalse(cache.register(entry("ABC-1234", "2025-01-01T12:00:00")));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(cache.register(entry("ABC-1234", "2025-01-01T12:00:00")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void register_noLimiteDeEntradas_deveRemoverAChaveMaisAntiga() {
+        WebhookDeduplicationCache cache = cache(true, 2);
+
+        assertTrue(cache.register(entry("AAA-0001", "2025-01-01T12:00:00")));
+        assertTrue(cache.register(entry("AAA-0002", "2025-01-01T12:00:00")));
+        assertTrue(cache.register(entry("AAA-0003", "2025-01-01T12:00:00")));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.register(entry("AAA-0001", "2025-01-01T12:00:00")));
+        assertFalse(cache.register(entry("AAA-0003", "2025-01-01T12:00:00")));
+        assertEquals(2.0, meterRegistry.get("parking.webhook.dedup.evictions").functionCounter().count());
+    }
+
+    @Test
+    void forget_devePermitirOReprocessamentoDoEvento() {
+        WebhookDeduplicationCache cache = cache(true, 100);
+        WebhookEventDTO exit = new WebhookEventDTO();
+        exit.setEventType(EventType.EXIT);
+        exit.setLicensePlate("ABC-1234");
+        exit.setExitTime("2025-01-01T14:30:00");
+
+        assertTrue(cache.register(exit));
+        cache.forget(exit);
+
+        assertTrue(cache.register(exit));
+    }
+
+    @Test
+    void register_comParkedRepetidoNaMesmaVaga_deveAceitarTodasAsEntregas() {
+        WebhookDeduplicationCache cache = cache(true, 100);
+
+        // Sem horário no payload, um segundo PARKED da mesma placa na mesma vaga pode ser uma nova estadia
+        assertTrue(cache.register(parked("ABC-1234", -23.561684)));
+        assertTrue(cache.register(parked("ABC-1234", -23.561684)));
+        cache.forget(parked("ABC-1234", -23.561684));
+
+        assertEquals(0, cache.size());
+        assertEquals(0.0, meterRegistry.get("parking.webhook.dedup.hits").functionCounter().count());
+    }
+
+    @Test
+    void register_desabilitado_deveAceitarTodasAsEntregas() {
+        WebhookDeduplicationCache cache = cache(false, 100);
+
+        assertTrue(cache.register(entry("ABC-1234", "2025-01-01T12:00:00")));
+        assertTrue(cache.register(entry("ABC-1234", "2025-01-01T12:00:00")));
+        assertEquals(0, cache.size());
+    }
+
+    private WebhookDeduplicationCache cache(boolean enabled, int maxEntries) {
+        return new WebhookDeduplicationCache(meterRegistry, enabled, Duration.ofMinutes(1), maxEntries, clock::get);
+    }
+
+    private static WebhookEventDTO entry(String licensePlate, String entryTime) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(EventType.ENTRY);
+        eventDTO.setLicensePlate(licensePlate);
+        eventDTO.setEntryTime(entryTime);
+        return eventDTO;
+    }
+
+    private static WebhookEventDTO parked(String licensePlate, double lat) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(EventType.PARKED);
+        eventDTO.setLicensePlate(licensePlate);
+        eventDTO.setLat(lat);
+        eventDTO.setLng(-46.655981);
+        return eventDTO;
+    }
+}
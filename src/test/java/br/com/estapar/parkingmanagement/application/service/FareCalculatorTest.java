@@ -0,0 +1,106 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FareCalculatorTest {
+
+    private static final long SEED = 20250101L;
+    private static final int SAMPLES = 200_000;
+
+    private final FareCalculator fareCalculator = new FareCalculator();
+
+    @Test
+    void fareCents_deveSerIgualAoCalculoEmBigDecimal_paraValoresAleatorios() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            long minutes = random.nextInt(60 * 24 * 30) - 60;
+            long priceCents = random.nextInt(100_000);
+            BigDecimal pricePerHour = BigDecimal.valueOf(priceCents, 2);
+
+            BigDecimal expected = referenceFare(minutes, pricePerHour);
+            BigDecimal actual = fareCalculator.toAmount(fareCalculator.fareCents(minutes, priceCents));
+
+            assertEquals(expected, actual, "minutos=" + minutes + ", preço/hora=" + pricePerHour);
+        }
+    }
+
+    @Test
+    void fareCents_deveSerIgualAoCalculoEmBigDecimal_paraTodosOsMinutosDeUmDia() {
+        long[] pricesCents = {0, 1, 5, 99, 900, 1000, 1100, 1250, 1999, 123_456};
+        for (long priceCents : pricesCents) {
+            BigDecimal pricePerHour = BigDecimal.valueOf(priceCents, 2);
+            for (long minutes = 0; minutes <= 60 * 24; minutes++) {
+                assertEquals(referenceFare(minutes, pricePerHour),
+                        fareCalculator.toAmount(fareCalculator.fareCents(minutes, priceCents)),
+                        "minutos=" + minutes + ", preço/hora=" + pricePerHour);
+            }
+        }
+    }
+
+    @Test
+    void minutesBetween_deveTruncarComoDuration_paraInstantesAleatorios() {
+        Random random = new Random(SEED);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDateTime entryTime = base.plusNanos(random.nextLong(86_400_000_000_000L))
+                    .truncatedTo(ChronoUnit.MICROS);
+            LocalDateTime exitTime = entryTime.plusNanos(random.nextLong(-3_600_000_000_000L, 172_800_000_000_000L));
+
+            long expected = Duration.between(entryTime, exitTime).toMinutes();
+            long entryEpochMicros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), entryTime);
+
+            assertEquals(expected, fareCalculator.minutesBetween(entryTime, exitTime));
+            assertEquals(expected, fareCalculator.minutesBetween(entryEpochMicros, exitTime));
+        }
+    }
+
+    @Test
+    void fareCents_comUmaHoraEMeia_deveCobrarUmaHoraEMeia() {
+        assertEquals(150, fareCalculator.hoursInCentis(90));
+        assertEquals(1500, fareCalculator.fareCents(90, 1000));
+    }
+
+    @Test
+    void hoursInCentis_comFracaoDeCentesimo_deveArredondarParaOMaisProximo() {
+        // 1 minuto = 0,01666... h -> 0,02 h ; 5 minutos = 0,08333... h -> 0,08 h
+        assertEquals(2, fareCalculator.hoursInCentis(1));
+        assertEquals(8, fareCalculator.hoursInCentis(5));
+        // 3 minutos = 0,05 h exatos, sem arredondamento
+        assertEquals(5, fareCalculator.hoursInCentis(3));
+    }
+
+    @Test
+    void fareCents_comEmpateEmMeioCentavo_deveArredondarParaCima() {
+        // minutes * 100 % 60 nunca é 30, então o empate só ocorre no valor: 0,05 h * R$ 10,10 = 50,5 centavos
+        assertEquals(51, fareCalculator.fareCents(3, 1010));
+        // 0,05 h * R$ 10,30 = 51,5 centavos
+        assertEquals(52, fareCalculator.fareCents(3, 1030));
+    }
+
+    @Test
+    void toCents_comValorDeDuasCasas_deveConverterSemPerda() {
+        assertEquals(1250, fareCalculator.toCents(new BigDecimal("12.50")));
+        assertEquals(1000, fareCalculator.toCents(new BigDecimal("10")));
+        assertEquals(new BigDecimal("12.50"), fareCalculator.toAmount(1250));
+    }
+
+    @Test
+    void toCents_comMaisDeDuasCasas_deveLancarExcecao() {
+        assertThrows(ArithmeticException.class, () -> fareCalculator.toCents(new BigDecimal("12.505")));
+    }
+
+    // Implementação original em BigDecimal, usada como referência
+    private static BigDecimal referenceFare(long minutes, BigDecimal pricePerHour) {
+        BigDecimal durationInHours = new BigDecimal(minutes).divide(new BigDecimal("60"), 2, RoundingMode.HALF_UP);
+        return durationInHours.multiply(pricePerHour).setScale(2, RoundingMode.HALF_UP);
+    }
+}
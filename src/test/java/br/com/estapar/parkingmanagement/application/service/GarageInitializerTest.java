@@ -0,0 +1,92 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.service.GarageSetupService.GarageSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GarageInitializerTest {
+
+    @Mock
+    private GarageSetupService garageSetupService;
+
+    @Mock
+    private JournalReplayService journalReplayService;
+
+    private GarageInitializer garageInitializer;
+
+    @BeforeEach
+    void setUp() {
+        garageInitializer = new GarageInitializer(garageSetupService, journalReplayService, 1);
+    }
+
+    @Test
+    void initialize_comSimuladorIndisponivel_deveTentarNovamenteAteFicarPronta() {
+        // Arrange
+        when(garageSetupService.initializeGarage())
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenReturn(GarageSource.SIMULATOR);
+
+        // Act
+        assertFalse(garageInitializer.isReady());
+        garageInitializer.initialize();
+
+        // Assert
+        assertTrue(garageInitializer.isReady());
+        assertEquals(2, garageInitializer.getFailedAttempts());
+        assertEquals("Read timed out", garageInitializer.getLastError());
+        verify(garageSetupService, times(3)).initializeGarage();
+        verify(garageSetupService, never()).refreshFromSimulator();
+        // Os eventos do diário posteriores ao checkpoint são reaplicados uma vez, antes de aceitar webhooks
+        verify(journalReplayService, times(1)).recoverOnStartup();
+    }
+
+    @Test
+    void initialize_peloSnapshot_deveFicarProntaEAtualizarPeloSimuladorDepois() {
+        // Arrange
+        when(garageSetupService.initializeGarage()).thenReturn(GarageSource.SNAPSHOT);
+        doThrow(new ResourceAccessException("Connection refused")).when(garageSetupService).refreshFromSimulator();
+
+        // Act
+        garageInitializer.initialize();
+
+        // Assert: a falha do simulador não afeta a garagem já carregada
+        assertTrue(garageInitializer.isReady());
+        verify(garageSetupService, times(1)).refreshFromSimulator();
+    }
+
+    @Test
+    void initialize_comBancoJaPopulado_deveAtualizarPeloSimuladorDepois() {
+        // Arrange
+        when(garageSetupService.initializeGarage()).thenReturn(GarageSource.DATABASE);
+
+        // Act
+        garageInitializer.initialize();
+
+        // Assert: com o banco já populado o simulador ainda não foi chamado
+        assertTrue(garageInitializer.isReady());
+        verify(garageSetupService, times(1)).refreshFromSimulator();
+    }
+
+    @Test
+    void onApplicationStarted_deveInicializarEmSegundoPlano() throws InterruptedException {
+        // Arrange
+        when(garageSetupService.initializeGarage()).thenReturn(GarageSource.SIMULATOR);
+
+        // Act
+        garageInitializer.onApplicationStarted();
+
+        // Assert
+        assertTrue(garageInitializer.awaitReady(Duration.ofSeconds(5)));
+    }
+}
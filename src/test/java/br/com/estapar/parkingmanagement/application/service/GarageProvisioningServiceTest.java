@@ -0,0 +1,126 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+import br.com.estapar.parkingmanagement.application.service.GarageProvisioningService.ProvisioningResult;
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GarageProvisioningServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private GarageProvisioningService garageProvisioningService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        garageProvisioningService = new GarageProvisioningService(entityManager, transactionManager, 2);
+    }
+
+    @Test
+    void provision_deveDescarregarELimparOContextoACadaLoteDeVagas() {
+        // Arrange
+        stubSectorIds();
+
+        // Act
+        ProvisioningResult result = garageProvisioningService.provision(handler -> {
+            handler.onSector(sector("A"));
+            for (int i = 0; i < 5; i++) {
+                handler.onSpot(spot("A", i));
+            }
+        });
+
+        // Assert: 5 vagas com lote de 2 -> flush após a 2ª e a 4ª vaga e um último no fim
+        assertEquals(new ProvisioningResult(1, 5), result);
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(entityManager, times(5)).getReference(Sector.class, 1L);
+        verify(transactionManager, times(1)).commit(transactionStatus);
+    }
+
+    @Test
+    void provision_comVagasAntesDoSetor_devePersistirAsVagasNoFim() {
+        // Arrange
+        stubSectorIds();
+
+        // Act
+        ProvisioningResult result = garageProvisioningService.provision(handler -> {
+            handler.onSpot(spot("B", 0));
+            handler.onSector(sector("A"));
+            handler.onSector(sector("B"));
+        });
+
+        // Assert
+        assertEquals(new ProvisioningResult(2, 1), result);
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(3)).persist(persisted.capture());
+        assertInstanceOf(Spot.class, persisted.getAllValues().get(2));
+        assertEquals(-23.0, ((Spot) persisted.getAllValues().get(2)).getLat());
+        verify(entityManager, times(1)).getReference(Sector.class, 2L);
+    }
+
+    @Test
+    void provision_comVagaDeSetorInexistente_deveDesfazerATransacao() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> garageProvisioningService.provision(handler -> handler.onSpot(spot("Z", 0))));
+        verify(transactionManager, times(1)).rollback(transactionStatus);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    // Simula o id gerado pelo banco na persistência de cada setor
+    private void stubSectorIds() {
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof Sector sector) {
+                sector.setId(ids.incrementAndGet());
+            }
+            return null;
+        }).when(entityManager).persist(any());
+        when(entityManager.getReference(eq(Sector.class), any())).thenAnswer(invocation -> new Sector());
+    }
+
+    private static SectorDTO sector(String name) {
+        SectorDTO sector = new SectorDTO();
+        sector.setName(name);
+        sector.setBasePrice(new BigDecimal("10.00"));
+        sector.setMaxCapacity(100);
+        sector.setOpenHour("08:00");
+        sector.setCloseHour("22:00");
+        return sector;
+    }
+
+    private static SpotDTO spot(String sectorName, int index) {
+        SpotDTO spot = new SpotDTO();
+        spot.setSectorName(sectorName);
+        spot.setLat(-23.0 - index * 0.0001);
+        spot.setLng(-46.0);
+        return spot;
+    }
+}
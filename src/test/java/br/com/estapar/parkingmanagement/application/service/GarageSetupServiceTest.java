@@ -1,24 +1,29 @@
 package br.com.estapar.parkingmanagement.application.service;
 
-import br.com.estapar.parkingmanagement.application.dto.GarageConfigDTO;
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.SectorOccupancyRegistry;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex;
 import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
-import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
-import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.application.service.GarageProvisioningService.ProvisioningResult;
+import br.com.estapar.parkingmanagement.application.service.GarageSetupService.GarageSource;
+import br.com.estapar.parkingmanagement.infrastructure.adapter.out.snapshot.GarageConfigSnapshotStore;
+import br.com.estapar.parkingmanagement.infrastructure.adapter.out.snapshot.GarageConfigSnapshotStore.SnapshotWriter;
 import br.com.estapar.parkingmanagement.infrastructure.adapter.out.web.GarageSimulatorClient;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.ParkingRecordRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
 
-import java.math.BigDecimal;
-import java.util.List;
+import java.util.function.Consumer;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,47 +38,112 @@ public class GarageSetupServiceTest {
     @Mock
     private SpotRepository spotRepository;
 
+    @Mock
+    private SectorOccupancyRegistry sectorOccupancyRegistry;
+
+    @Mock
+    private SpotSpatialIndex spotSpatialIndex;
+
+    @Mock
+    private ParkingRecordRepository parkingRecordRepository;
+
+    @Mock
+    private ActiveSessionCache activeSessionCache;
+
+    @Mock
+    private SpotOccupancyBitmap spotOccupancyBitmap;
+
+    @Mock
+    private GarageConfigSnapshotStore garageConfigSnapshotStore;
+
+    @Mock
+    private GarageProvisioningService garageProvisioningService;
+
     @InjectMocks
     private GarageSetupService garageSetupService;
 
     @Test
-    void deveInicializarGaragem_quandoBancoDeDadosEstiverVazio() {
+    void deveInicializarGaragemPeloSimulador_quandoBancoEstiverVazioESemSnapshot() {
         // Arrange
-        SectorDTO sectorDto = new SectorDTO();
-        sectorDto.setName("A");
-        sectorDto.setBasePrice(new BigDecimal("10.0"));
-        sectorDto.setMaxCapacity(50);
-        sectorDto.setOpenHour("08:00");
-        sectorDto.setCloseHour("22:00");
-
-        SpotDTO spotDto = new SpotDTO();
-        spotDto.setSectorName("A");
-        spotDto.setLat(-23.0);
-        spotDto.setLng(-46.0);
-        spotDto.setOccupied(false);
-
-        GarageConfigDTO fakeConfig = new GarageConfigDTO();
-        fakeConfig.setSectors(List.of(sectorDto));
-        fakeConfig.setSpots(List.of(spotDto));
+        SnapshotWriter snapshotWriter = mock(SnapshotWriter.class);
+        GarageConfigHandler provisioner = mock(GarageConfigHandler.class);
+        SectorDTO sector = new SectorDTO();
 
         when(sectorRepository.count()).thenReturn(0L);
-        when(garageSimulatorClient.fetchGarageConfig()).thenReturn(fakeConfig);
+        when(garageConfigSnapshotStore.read(any())).thenReturn(false);
+        when(garageConfigSnapshotStore.openWriter()).thenReturn(snapshotWriter);
+        when(garageProvisioningService.provision(any())).thenAnswer(invocation -> {
+            invocation.<Consumer<GarageConfigHandler>>getArgument(0).accept(provisioner);
+            return new ProvisioningResult(1, 1);
+        });
+        doAnswer(invocation -> {
+            invocation.<GarageConfigHandler>getArgument(0).onSector(sector);
+            return null;
+        }).when(garageSimulatorClient).streamGarageConfig(any());
 
         // Act
-        garageSetupService.initializeGarage();
+        GarageSource source = garageSetupService.initializeGarage();
+
+        // Assert: a resposta do simulador vai para o banco e para o snapshot na mesma passada
+        assertEquals(GarageSource.SIMULATOR, source);
+        verify(garageProvisioningService, times(2)).provision(any());
+        verify(provisioner, times(1)).onSector(sector);
+        verify(snapshotWriter, times(1)).onSector(sector);
+        verify(snapshotWriter, times(1)).commit();
+        verify(snapshotWriter, times(1)).close();
+        verify(sectorOccupancyRegistry, times(1)).reload();
+        verify(spotSpatialIndex, times(1)).rebuild(any());
+        verify(spotOccupancyBitmap, times(1)).rebuild(any(), any());
+        verify(activeSessionCache, times(1)).reload(any());
+    }
+
+    @Test
+    void deveInicializarGaragemPeloSnapshot_semChamarOSimulador() {
+        // Arrange
+        when(sectorRepository.count()).thenReturn(0L);
+        when(garageConfigSnapshotStore.read(any())).thenReturn(true);
+        when(garageProvisioningService.provision(any())).thenAnswer(invocation -> {
+            invocation.<Consumer<GarageConfigHandler>>getArgument(0).accept(mock(GarageConfigHandler.class));
+            return new ProvisioningResult(1, 50);
+        });
+
+        // Act
+        GarageSource source = garageSetupService.initializeGarage();
 
         // Assert
-        ArgumentCaptor<Sector>  sectorArgumentCaptor = ArgumentCaptor.forClass(Sector.class);
+        assertEquals(GarageSource.SNAPSHOT, source);
+        verifyNoInteractions(garageSimulatorClient);
+        verify(garageProvisioningService, times(1)).provision(any());
+        verify(garageConfigSnapshotStore, never()).openWriter();
+        verify(sectorOccupancyRegistry, times(1)).reload();
+    }
 
-        verify(sectorRepository, times(1)).save(sectorArgumentCaptor.capture());
+    @Test
+    void naoDeveProvisionar_quandoBancoJaEstiverPopulado() {
+        // Arrange
+        when(sectorRepository.count()).thenReturn(1L);
 
-        Sector savedSector = sectorArgumentCaptor.getValue();
+        // Act
+        GarageSource source = garageSetupService.initializeGarage();
 
-        assertNotNull(savedSector);
-        assertEquals("A", savedSector.getName());
-        assertEquals(1, savedSector.getSpots().size());
-        assertEquals(-23.0, savedSector.getSpots().get(0).getLat());
+        // Assert
+        assertEquals(GarageSource.DATABASE, source);
+        verifyNoInteractions(garageSimulatorClient, garageProvisioningService);
+        verify(sectorOccupancyRegistry, times(1)).reload();
+        verify(spotSpatialIndex, times(1)).rebuild(any());
+        verify(activeSessionCache, times(1)).reload(any());
+    }
 
-        verify(spotRepository, never()).save(any()); // verificando se cascade está funcionando
+    @Test
+    void refreshFromSimulator_comFalhaDoSimulador_deveDescartarOSnapshotNovo() {
+        // Arrange
+        SnapshotWriter snapshotWriter = mock(SnapshotWriter.class);
+        when(garageConfigSnapshotStore.openWriter()).thenReturn(snapshotWriter);
+        doThrow(new ResourceAccessException("Connection refused")).when(garageSimulatorClient).streamGarageConfig(snapshotWriter);
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class, () -> garageSetupService.refreshFromSimulator());
+        verify(snapshotWriter, never()).commit();
+        verify(snapshotWriter, times(1)).close();
     }
 }
@@ -0,0 +1,158 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.SectorOccupancyRegistry;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.dto.admin.JournalReplayResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventResultDTO;
+import br.com.estapar.parkingmanagement.domain.model.ParkingStatus;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal.JournalEntry;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.ParkingRecordRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JournalReplayServiceTest {
+
+    private static final LocalDateTime RECEIVED_AT = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_789);
+
+    @Mock
+    private EventJournal eventJournal;
+
+    @Mock
+    private WebhookBatchService webhookBatchService;
+
+    @Mock
+    private ParkingRecordRepository parkingRecordRepository;
+
+    @Mock
+    private SpotRepository spotRepository;
+
+    @Mock
+    private SectorOccupancyRegistry sectorOccupancyRegistry;
+
+    @Mock
+    private ActiveSessionCache activeSessionCache;
+
+    @Mock
+    private SpotOccupancyBitmap spotOccupancyBitmap;
+
+    private JournalReplayService journalReplayService;
+
+    @BeforeEach
+    void setUp() {
+        journalReplayService = new JournalReplayService(eventJournal, webhookBatchService, parkingRecordRepository,
+                spotRepository, sectorOccupancyRegistry, activeSessionCache, spotOccupancyBitmap);
+    }
+
+    @Test
+    void replay_deveReaplicarEmOrdemOsEventosAposOCheckpointPulandoOsJaAplicados() {
+        // Arrange: o PARKED já chegou ao banco antes da queda; o EXIT não
+        WebhookEventDTO entry = event(EventType.ENTRY);
+        WebhookEventDTO parked = event(EventType.PARKED);
+        WebhookEventDTO exit = event(EventType.EXIT);
+        exit.setExitTime("2025-01-01T14:30:00");
+        when(eventJournal.isEnabled()).thenReturn(true);
+        when(eventJournal.readFromCheckpoint(any())).thenAnswer(invocation -> {
+            Consumer<JournalEntry> consumer = invocation.getArgument(0);
+            consumer.accept(new JournalEntry(11, entry));
+            consumer.accept(new JournalEntry(12, parked));
+            consumer.accept(new JournalEntry(13, exit));
+            return 3L;
+        });
+        when(parkingRecordRepository.existsByVehicleLicensePlateAndEntryTime("ZUL0001", RECEIVED_AT.truncatedTo(ChronoUnit.MICROS)))
+                .thenReturn(true);
+        when(parkingRecordRepository.existsByVehicleLicensePlateAndExitTime("ZUL0001", LocalDateTime.of(2025, 1, 1, 14, 30)))
+                .thenReturn(false);
+        List<WebhookEventDTO> applied = new ArrayList<>();
+        when(webhookBatchService.processBatch(any())).thenAnswer(invocation -> {
+            applied.addAll(invocation.getArgument(0));
+            return List.of(WebhookEventResultDTO.success(0, entry),
+                    WebhookEventResultDTO.failure(1, exit, "Nenhum registro de estacionamento ativo encontrado para a placa: ZUL0001"));
+        });
+        when(parkingRecordRepository.findAllSessionsByStatus(ParkingStatus.ACTIVE)).thenReturn(List.of());
+
+        // Act
+        JournalReplayResponseDTO response = journalReplayService.replay();
+
+        // Assert
+        assertEquals(2, response.getReplayedEvents());
+        assertEquals(1, response.getSkippedEvents());
+        assertEquals(1, response.getRejectedEvents());
+        assertEquals(List.of(entry, exit), applied);
+        InOrder inOrder = inOrder(webhookBatchService, eventJournal, sectorOccupancyRegistry);
+        inOrder.verify(webhookBatchService).processBatch(any());
+        inOrder.verify(eventJournal).markRecovered();
+        inOrder.verify(sectorOccupancyRegistry).reload();
+        verify(activeSessionCache).reload(List.of());
+        verify(spotOccupancyBitmap).reloadOccupied(any());
+        // Nada é apagado: estadias e faturamento consolidado (inclusive de meses arquivados) ficam intactos
+        verify(parkingRecordRepository, never()).deleteAllInBatch();
+        verify(spotRepository, never()).releaseAll();
+    }
+
+    @Test
+    void replay_semEventosAposOCheckpoint_deveApenasRecarregarOsCaches() {
+        // Arrange
+        when(eventJournal.isEnabled()).thenReturn(true);
+        when(eventJournal.readFromCheckpoint(any())).thenReturn(0L);
+        when(parkingRecordRepository.findAllSessionsByStatus(ParkingStatus.ACTIVE)).thenReturn(List.of());
+
+        // Act
+        JournalReplayResponseDTO response = journalReplayService.replay();
+
+        // Assert
+        assertEquals(0, response.getReplayedEvents());
+        verifyNoInteractions(webhookBatchService);
+        verify(eventJournal).markRecovered();
+    }
+
+    @Test
+    void recoverOnStartup_comDiarioDesabilitado_naoDeveFazerNada() {
+        // Arrange
+        when(eventJournal.isEnabled()).thenReturn(false);
+
+        // Act
+        journalReplayService.recoverOnStartup();
+
+        // Assert
+        verify(eventJournal, never()).readFromCheckpoint(any());
+        verifyNoInteractions(webhookBatchService, sectorOccupancyRegistry);
+    }
+
+    @Test
+    void replay_comDiarioDesabilitado_deveLancarExcecao() {
+        // Arrange
+        when(eventJournal.isEnabled()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> journalReplayService.replay());
+        verifyNoInteractions(webhookBatchService);
+    }
+
+    private static WebhookEventDTO event(EventType eventType) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(eventType);
+        eventDTO.setLicensePlate("ZUL0001");
+        eventDTO.setReceivedAt(RECEIVED_AT);
+        return eventDTO;
+    }
+}
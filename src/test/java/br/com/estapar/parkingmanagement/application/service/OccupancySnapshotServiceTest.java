@@ -0,0 +1,99 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OccupancySnapshotServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SpotOccupancyBitmap spotOccupancyBitmap;
+    private OccupancySnapshotService occupancySnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        Sector sector = new Sector();
+        sector.setId(1L);
+        sector.setName("A");
+        sector.setMaxCapacity(10);
+        sector.setBasePrice(new BigDecimal("10.00"));
+        List<Spot> spots = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            Spot spot = new Spot();
+            spot.setId(id);
+            spot.setSector(sector);
+            // Vagas 1, 2 e 9 ocupadas: 30% -> faixa BASE
+            spot.setOccupied(id == 1 || id == 2 || id == 9);
+            spots.add(spot);
+        }
+
+        spotOccupancyBitmap = new SpotOccupancyBitmap();
+        spotOccupancyBitmap.rebuild(List.of(sector), spots);
+        occupancySnapshotService = new OccupancySnapshotService(spotOccupancyBitmap, objectMapper);
+    }
+
+    @Test
+    void getOccupancy_deveMontarContagemFaixaDePrecoEMapaDeBitsPorSetor() throws Exception {
+        // Act
+        JsonNode sector = objectMapper.readTree(occupancySnapshotService.getOccupancy(false).json()).get("sectors").get(0);
+
+        // Assert
+        assertEquals("A", sector.get("sector").asText());
+        assertEquals(3, sector.get("occupied").asInt());
+        assertEquals(10, sector.get("spotCount").asInt());
+        assertEquals("BASE", sector.get("priceTier").asText());
+        assertEquals(0, new BigDecimal("10.00").compareTo(sector.get("pricePerHour").decimalValue()));
+        byte[] bits = Base64.getDecoder().decode(sector.get("occupancyBitmap").asText());
+        assertArrayEquals(new byte[] {0b0000_0011, 0b0000_0001}, bits);
+        assertFalse(sector.has("spotIds"));
+    }
+
+    @Test
+    void getOccupancy_semMudancas_deveReaproveitarARespostaSerializada() {
+        // Act
+        OccupancySnapshotService.RenderedOccupancy first = occupancySnapshotService.getOccupancy(false);
+        OccupancySnapshotService.RenderedOccupancy second = occupancySnapshotService.getOccupancy(false);
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void getOccupancy_aposUmaVagaMudar_deveRemontarComNovoETag() throws Exception {
+        // Arrange
+        OccupancySnapshotService.RenderedOccupancy before = occupancySnapshotService.getOccupancy(false);
+
+        // Act
+        spotOccupancyBitmap.markOccupied(3L);
+        spotOccupancyBitmap.markOccupied(4L);
+        OccupancySnapshotService.RenderedOccupancy after = occupancySnapshotService.getOccupancy(false);
+
+        // Assert: 50% de ocupação -> faixa HIGH
+        assertNotEquals(before.etag(), after.etag());
+        JsonNode sector = objectMapper.readTree(after.json()).get("sectors").get(0);
+        assertEquals(5, sector.get("occupied").asInt());
+        assertEquals("HIGH", sector.get("priceTier").asText());
+    }
+
+    @Test
+    void getOccupancy_comIncludeSpots_deveIncluirOsIdsNaOrdemDosBits() throws Exception {
+        // Act
+        JsonNode sector = objectMapper.readTree(occupancySnapshotService.getOccupancy(true).json()).get("sectors").get(0);
+
+        // Assert
+        assertEquals(10, sector.get("spotIds").size());
+        assertEquals(1L, sector.get("spotIds").get(0).asLong());
+        assertEquals(10L, sector.get("spotIds").get(9).asLong());
+    }
+}
@@ -0,0 +1,238 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.domain.model.Spot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OccupancyStreamServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SpotOccupancyBitmap spotOccupancyBitmap;
+    private OccupancySnapshotService occupancySnapshotService;
+    private OccupancyStreamService occupancyStreamService;
+
+    @BeforeEach
+    void setUp() {
+        Sector sector = new Sector();
+        sector.setId(1L);
+        sector.setName("A");
+        sector.setMaxCapacity(4);
+        sector.setBasePrice(new BigDecimal("10.00"));
+        List<Spot> spots = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            Spot spot = new Spot();
+            spot.setId(id);
+            spot.setSector(sector);
+            spot.setOccupied(id == 4);
+            spots.add(spot);
+        }
+
+        spotOccupancyBitmap = new SpotOccupancyBitmap();
+        spotOccupancyBitmap.rebuild(List.of(sector), spots);
+        occupancySnapshotService = new OccupancySnapshotService(spotOccupancyBitmap, objectMapper);
+        // Envios na própria thread do teste
+        occupancyStreamService = new OccupancyStreamService(spotOccupancyBitmap, occupancySnapshotService, objectMapper,
+                meterRegistry, 0L, 3600L, 16, Runnable::run);
+    }
+
+    @Test
+    void register_deveEnviarOSnapshotCompletoComOsIdsDasVagas() throws Exception {
+        // Act
+        CapturingEmitter emitter = subscribe();
+
+        // Assert
+        assertEquals(1, emitter.frames.size());
+        assertTrue(emitter.frames.get(0).startsWith("event:snapshot\n"));
+        JsonNode sector = payload(emitter.frames.get(0)).get("sectors").get(0);
+        assertEquals(1, sector.get("occupied").asInt());
+        assertEquals(4, sector.get("spotIds").size());
+    }
+
+    @Test
+    void publishFrame_deveAgruparAsMudancasDoIntervaloEmUmUnicoDelta() throws Exception {
+        // Arrange
+        CapturingEmitter first = subscribe();
+        CapturingEmitter second = subscribe();
+
+        // Act: duas entradas e uma saída no mesmo intervalo
+        spotOccupancyBitmap.markOccupied(1L);
+        spotOccupancyBitmap.markOccupied(2L);
+        spotOccupancyBitmap.markFree(4L);
+        occupancyStreamService.publishFrame();
+        occupancyStreamService.publishFrame();
+
+        // Assert
+        assertEquals(2, first.frames.size());
+        assertEquals(first.frames.get(1), second.frames.get(1));
+        assertTrue(first.frames.get(1).startsWith("event:delta\n"));
+        JsonNode sector = payload(first.frames.get(1)).get("sectors").get(0);
+        assertEquals(2, sector.get("occupied").asInt());
+        assertEquals(List.of(1L, 2L), longs(sector.get("occupiedSpotIds")));
+        assertEquals(List.of(4L), longs(sector.get("freedSpotIds")));
+        // 25% -> 50% de ocupação: BASE -> HIGH
+        assertEquals("HIGH", sector.get("priceTier").asText());
+        assertTrue(sector.get("priceTierChanged").asBoolean());
+        assertEquals(1.0, meterRegistry.get("parking.occupancy.stream.frames").functionCounter().count());
+    }
+
+    @Test
+    void publishFrame_comMudancaDesfeitaNoIntervalo_naoDeveEnviarQuadro() {
+        // Arrange
+        CapturingEmitter emitter = subscribe();
+
+        // Act
+        spotOccupancyBitmap.markOccupied(1L);
+        spotOccupancyBitmap.markFree(1L);
+        occupancyStreamService.publishFrame();
+
+        // Assert
+        assertEquals(1, emitter.frames.size());
+    }
+
+    @Test
+    void publishFrame_comFalhaNoEnvio_deveDescartarOAssinante() {
+        // Arrange
+        CapturingEmitter emitter = subscribe();
+        emitter.failing = true;
+
+        // Act
+        spotOccupancyBitmap.markOccupied(1L);
+        occupancyStreamService.publishFrame();
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("parking.occupancy.stream.subscribers").gauge().value());
+        assertEquals(1.0, meterRegistry.get("parking.occupancy.stream.dropped").functionCounter().count());
+    }
+
+    @Test
+    void publishFrame_comAssinanteLento_naoDeveAtrasarOsDemaisNemAThreadAgendada() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        occupancyStreamService = new OccupancyStreamService(spotOccupancyBitmap, occupancySnapshotService, objectMapper,
+                new SimpleMeterRegistry(), 0L, 3600L, 16, executor);
+        CapturingEmitter slow = subscribe();
+        CapturingEmitter fast = subscribe();
+        awaitFrames(slow, 1);
+        awaitFrames(fast, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        slow.blockUntil = release;
+
+        try {
+            // Act
+            spotOccupancyBitmap.markOccupied(1L);
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> occupancyStreamService.publishFrame());
+
+            // Assert: o cliente rápido recebe o delta enquanto o lento está travado no envio
+            awaitFrames(fast, 2);
+            assertEquals(1, slow.frames.size());
+            release.countDown();
+            awaitFrames(slow, 2);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void publishFrame_comFilaDoAssinanteCheia_deveDescartarOAssinante() {
+        // Arrange: os envios ficam pendentes, como em um cliente que parou de ler
+        List<Runnable> pending = new ArrayList<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        occupancyStreamService = new OccupancyStreamService(spotOccupancyBitmap, occupancySnapshotService, objectMapper,
+                registry, 0L, 3600L, 1, pending::add);
+        CapturingEmitter emitter = subscribe();
+
+        // Act: o delta não cabe na fila, ainda ocupada pelo snapshot
+        spotOccupancyBitmap.markOccupied(1L);
+        occupancyStreamService.publishFrame();
+        pending.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(0.0, registry.get("parking.occupancy.stream.subscribers").gauge().value());
+        assertEquals(1.0, registry.get("parking.occupancy.stream.dropped").functionCounter().count());
+        assertTrue(emitter.frames.isEmpty());
+    }
+
+    private static void awaitFrames(CapturingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.frames.size() < count) {
+            if (System.nanoTime() > deadline) {
+                fail("Esperava " + count + " quadros, recebidos " + emitter.frames.size());
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private CapturingEmitter subscribe() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        occupancyStreamService.register(emitter);
+        return emitter;
+    }
+
+    private JsonNode payload(String frame) throws IOException {
+        String data = frame.lines().filter(line -> line.startsWith("data:")).findFirst().orElseThrow();
+        return objectMapper.readTree(data.substring("data:".length()));
+    }
+
+    private static List<Long> longs(JsonNode array) {
+        List<Long> values = new ArrayList<>();
+        array.forEach(node -> values.add(node.asLong()));
+        return values;
+    }
+
+    /**
+     * Guarda o texto de cada quadro enviado, em vez de escrevê-lo em uma resposta HTTP.
+     */
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+        private volatile CountDownLatch blockUntil;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            send(builder.build());
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            CountDownLatch latch = blockUntil;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            if (failing) {
+                throw new IOException("Conexão fechada pelo cliente");
+            }
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            frames.add(frame.toString());
+        }
+    }
+}
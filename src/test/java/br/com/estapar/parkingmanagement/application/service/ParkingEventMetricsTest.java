@@ -0,0 +1,63 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.domain.exception.ResourceNotFoundException;
+import br.com.estapar.parkingmanagement.domain.exception.SectorFullException;
+import br.com.estapar.parkingmanagement.domain.exception.SpotOccupiedException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingEventMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ParkingEventMetrics metrics = new ParkingEventMetrics(meterRegistry);
+
+    @Test
+    void record_deveClassificarOResultadoPelaExcecao() {
+        // Act
+        metrics.record(EventType.PARKED, null, 1_000_000);
+        metrics.record(EventType.PARKED, new SpotOccupiedException("Vaga já está ocupada."), 1_000_000);
+        metrics.record(EventType.PARKED, new SectorFullException("Lotação máxima atingida."), 1_000_000);
+        metrics.record(EventType.EXIT, new ResourceNotFoundException("Estadia não encontrada."), 1_000_000);
+        metrics.record(EventType.EXIT, new IllegalArgumentException("Evento inválido."), 1_000_000);
+
+        // Assert
+        assertEquals(1, timer(EventType.PARKED, "ok").count());
+        assertEquals(1, timer(EventType.PARKED, "spot-occupied").count());
+        assertEquals(1, timer(EventType.PARKED, "capacity-rejected").count());
+        assertEquals(1, timer(EventType.EXIT, "not-found").count());
+        assertEquals(1, timer(EventType.EXIT, "error").count());
+        assertEquals(0, timer(EventType.ENTRY, "ok").count());
+    }
+
+    @Test
+    void record_semTipoDeEvento_deveIgnorar() {
+        // Act
+        metrics.record(null, null, 1_000_000);
+
+        // Assert
+        assertTrue(meterRegistry.get("parking.event.processing").timers().stream().allMatch(timer -> timer.count() == 0));
+    }
+
+    @Test
+    void summarize_deveResumirSomenteOsEventosDesdeOResumoAnterior() {
+        // Arrange
+        metrics.record(EventType.PARKED, null, 1_000_000);
+        metrics.record(EventType.PARKED, null, 1_000_000);
+        metrics.record(EventType.EXIT, new ResourceNotFoundException("Estadia não encontrada."), 1_000_000);
+
+        // Act & Assert
+        assertEquals("3 eventos processados no intervalo: PARKED ok=2, EXIT not-found=1", metrics.summarize());
+        assertNull(metrics.summarize());
+
+        metrics.record(EventType.ENTRY, null, 1_000_000);
+        assertEquals("1 eventos processados no intervalo: ENTRY ok=1", metrics.summarize());
+    }
+
+    private Timer timer(EventType eventType, String outcome) {
+        return meterRegistry.get("parking.event.processing").tag("type", eventType.name()).tag("outcome", outcome).timer();
+    }
+}
@@ -1,12 +1,21 @@
 package br.com.estapar.parkingmanagement.application.service;
 
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.SectorOccupancyRegistry;
+import br.com.estapar.parkingmanagement.application.cache.SpotOccupancyBitmap;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex;
 import br.com.estapar.parkingmanagement.application.dto.query.PlateStatusResponseDTO;
 import br.com.estapar.parkingmanagement.application.dto.query.RevenueResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.SpotStatusRequestDTO;
 import br.com.estapar.parkingmanagement.application.dto.query.SpotStatusResponseDTO;
+import br.com.estapar.parkingmanagement.application.dto.query.StatusLookupResultDTO;
 import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
 import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
 import br.com.estapar.parkingmanagement.domain.exception.ResourceNotFoundException;
+import br.com.estapar.parkingmanagement.domain.exception.SpotOccupiedException;
 import br.com.estapar.parkingmanagement.domain.model.*;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.ActiveSessionView;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.SpotStatusView;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.ParkingRecordRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorRepository;
 import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SpotRepository;
@@ -16,13 +25,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +56,27 @@ public class ParkingEventServiceTest {
     @Mock
     private ParkingRecordRepository parkingRecordRepository;
 
+    @Mock
+    private SectorOccupancyRegistry sectorOccupancyRegistry;
+
+    @Mock
+    private SpotSpatialIndex spotSpatialIndex;
+
+    @Mock
+    private ActiveSessionCache activeSessionCache;
+
+    @Mock
+    private SpotOccupancyBitmap spotOccupancyBitmap;
+
+    @Spy
+    private FareCalculator fareCalculator = new FareCalculator();
+
+    @Mock
+    private RevenueRollupService revenueRollupService;
+
+    @Mock
+    private ParkingEventMetrics parkingEventMetrics;
+
     @InjectMocks
     private ParkingEventService parkingEventService;
 
@@ -89,6 +124,7 @@ public class ParkingEventServiceTest {
         parkedEvent.setLng(-46.0);
 
         Sector sector = new Sector();
+        sector.setId(1L);
         sector.setName("A");
         sector.setMaxCapacity(100);
         sector.setBasePrice(new BigDecimal("10.00"));
@@ -96,32 +132,48 @@ public class ParkingEventServiceTest {
         Spot spot = new Spot();
         spot.setId(1L);
         spot.setSector(sector);
+        spot.setLat(-23.0);
+        spot.setLng(-46.0);
         spot.setOccupied(false);
 
         Vehicle vehicle = new Vehicle("ABC-1234");
 
         when(spotRepository.findByLatAndLng(anyDouble(), anyDouble())).thenReturn(Optional.of(spot));
+        when(spotRepository.claimIfFree(1L)).thenReturn(1);
+        when(spotRepository.getReferenceById(1L)).thenReturn(spot);
         when(vehicleRepository.findById(anyString())).thenReturn(Optional.of(vehicle));
+        when(sectorRepository.findById(1L)).thenReturn(Optional.of(sector));
         // simulando 30% de ocupação
-        when(spotRepository.countBySectorAndOccupied(sector, true)).thenReturn(30L);
+        when(sectorOccupancyRegistry.tryOccupy(sector.getId(), 100)).thenReturn(30);
+        when(parkingRecordRepository.save(any(ParkingRecord.class))).thenAnswer(invocation -> {
+            ParkingRecord saved = invocation.getArgument(0);
+            saved.setId(50L);
+            return saved;
+        });
 
         // Act
         parkingEventService.processEvent(parkedEvent);
 
         // Assert
         ArgumentCaptor<ParkingRecord> recordCaptor = ArgumentCaptor.forClass(ParkingRecord.class);
-        ArgumentCaptor<Spot> spotCaptor = ArgumentCaptor.forClass(Spot.class);
 
         verify(parkingRecordRepository, times(1)).save(recordCaptor.capture());
-        verify(spotRepository, times(1)).save(spotCaptor.capture());
 
         ParkingRecord savedRecord = recordCaptor.getValue();
         assertEquals(ParkingStatus.ACTIVE, savedRecord.getStatus());
+        assertSame(spot, savedRecord.getSpot());
         // Preço base R$10 com 30% de ocupação -> regra de 50% -> preço normal
         assertEquals(0, new BigDecimal("10.00").compareTo(savedRecord.getPricePerHour()));
 
-        Spot updatedSpot = spotCaptor.getValue();
-        assertTrue(updatedSpot.isOccupied()); // Verifica se a vaga foi marcada como ocupada
+        // A vaga é ocupada pelo UPDATE condicional, sem salvar a entidade
+        verify(spotRepository, times(1)).claimIfFree(1L);
+        verify(spotRepository, never()).save(any());
+
+        ArgumentCaptor<ActiveSessionCache.ActiveSession> sessionCaptor = ArgumentCaptor.forClass(ActiveSessionCache.ActiveSession.class);
+        verify(activeSessionCache, times(1)).put(eq("ABC-1234"), sessionCaptor.capture());
+        assertEquals(50L, sessionCaptor.getValue().recordId());
+        verify(spotOccupancyBitmap, times(1)).markOccupied(1L);
+        assertEquals(1000L, sessionCaptor.getValue().pricePerHourCents());
     }
 
     @Test
@@ -134,6 +186,7 @@ public class ParkingEventServiceTest {
         parkedEvent.setLng(-46.0);
 
         Sector sector = new Sector();
+        sector.setId(1L);
         sector.setName("A");
         sector.setMaxCapacity(100);
         sector.setBasePrice(new BigDecimal("10.00"));
@@ -141,10 +194,13 @@ public class ParkingEventServiceTest {
         Spot spotOcupada = new Spot();
         spotOcupada.setId(1L);
         spotOcupada.setSector(sector);
+        spotOcupada.setLat(-23.0);
+        spotOcupada.setLng(-46.0);
         spotOcupada.setOccupied(true); // vaga ocupada
 
         when(spotRepository.findByLatAndLng(anyDouble(), anyDouble())).thenReturn(Optional.of(spotOcupada));
-        when(vehicleRepository.findById(anyString())).thenReturn(Optional.of(new Vehicle("QUALQUER-PLACA")));
+        // o UPDATE condicional não altera nenhuma linha
+        when(spotRepository.claimIfFree(1L)).thenReturn(0);
 
         // Act & Assert
         assertThrows(IllegalStateException.class, () -> {
@@ -152,6 +208,9 @@ public class ParkingEventServiceTest {
         });
 
         verify(parkingRecordRepository, never()).save(any());
+        verify(vehicleRepository, never()).findById(any());
+        verify(sectorOccupancyRegistry, never()).tryOccupy(any(), anyInt());
+        verify(parkingEventMetrics).record(eq(EventType.PARKED), isA(SpotOccupiedException.class), anyLong());
     }
 
     @Test
@@ -164,22 +223,28 @@ public class ParkingEventServiceTest {
         parkedEvent.setLng(-45.0);
 
         Sector setorLotado = new Sector();
+        setorLotado.setId(5L);
         setorLotado.setName("LOTADO");
         setorLotado.setMaxCapacity(1);
 
         Spot vagaNoSetorLotado = new Spot();
         vagaNoSetorLotado.setId(10L);
         vagaNoSetorLotado.setSector(setorLotado);
+        vagaNoSetorLotado.setLat(-25.0);
+        vagaNoSetorLotado.setLng(-45.0);
         vagaNoSetorLotado.setOccupied(false);
 
         Vehicle vehicle = new Vehicle("FULL-001");
 
         when(spotRepository.findByLatAndLng(parkedEvent.getLat(), parkedEvent.getLng()))
                 .thenReturn(Optional.of(vagaNoSetorLotado));
+        when(spotRepository.claimIfFree(10L)).thenReturn(1);
         when(vehicleRepository.findById(parkedEvent.getLicensePlate()))
                 .thenReturn(Optional.of(vehicle));
+        when(sectorRepository.findById(5L)).thenReturn(Optional.of(setorLotado));
 
-        when(spotRepository.countBySectorAndOccupied(setorLotado, true)).thenReturn(1L);
+        // tryOccupy devolve -1 quando o setor já está na capacidade máxima
+        when(sectorOccupancyRegistry.tryOccupy(setorLotado.getId(), 1)).thenReturn(-1);
 
         // Act & Assert
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
@@ -189,6 +254,7 @@ public class ParkingEventServiceTest {
         assertTrue(exception.getMessage().contains("Lotação máxima atingida para o setor LOTADO"));
         verify(parkingRecordRepository, never()).save(any(ParkingRecord.class));
         verify(spotRepository, never()).save(vagaNoSetorLotado);
+        verify(parkingEventMetrics).record(eq(EventType.PARKED), same(exception), anyLong());
     }
 
     @Test
@@ -220,16 +286,17 @@ public class ParkingEventServiceTest {
 
         when(parkingRecordRepository.findByVehicleLicensePlateAndStatus(plate, ParkingStatus.ACTIVE))
                 .thenReturn(Optional.of(activeRecord));
+        when(spotRepository.releaseIfHeld(1L)).thenReturn(1);
 
         // Act
         parkingEventService.processEvent(exitEvent);
 
         // Assert
         ArgumentCaptor<ParkingRecord> recordCaptor = ArgumentCaptor.forClass(ParkingRecord.class);
-        ArgumentCaptor<Spot> spotCaptor = ArgumentCaptor.forClass(Spot.class);
 
         verify(parkingRecordRepository, times(1)).save(recordCaptor.capture());
-        verify(spotRepository, times(1)).save(spotCaptor.capture());
+        verify(spotRepository, times(1)).releaseIfHeld(1L);
+        verify(spotRepository, never()).save(any());
 
         ParkingRecord savedRecord = recordCaptor.getValue();
         assertEquals(ParkingStatus.COMPLETED, savedRecord.getStatus());
@@ -237,8 +304,71 @@ public class ParkingEventServiceTest {
         // Tarifa esperada: 2 horas * R$15.00 a hora = R$30.00
         assertEquals(0, new BigDecimal("30.00").compareTo(savedRecord.getFinalFare()));
 
-        Spot freedSpot = spotCaptor.getValue();
-        assertFalse(freedSpot.isOccupied());
+        verify(sectorOccupancyRegistry, times(1)).release(sector.getId());
+        verify(spotOccupancyBitmap, times(1)).markFree(1L);
+        verify(revenueRollupService, times(1)).recordExit(sector.getId(), exitTime, savedRecord.getFinalFare());
+    }
+
+    @Test
+    void processEvent_comEventoDeSaidaEEstadiaEmCache_deveFinalizarSemCarregarEntidades() {
+        // Arrange
+        String plate = "CACHE-01";
+        WebhookEventDTO exitEvent = new WebhookEventDTO();
+        exitEvent.setEventType(EventType.EXIT);
+        exitEvent.setLicensePlate(plate);
+
+        LocalDateTime entryTime = LocalDateTime.parse("2025-01-01T10:00:00");
+        LocalDateTime exitTime = LocalDateTime.parse("2025-01-01T11:30:00"); // 1h30 depois
+        exitEvent.setExitTime(exitTime.format(DateTimeFormatter.ISO_DATE_TIME));
+
+        ActiveSessionCache.ActiveSession session = ActiveSessionCache.ActiveSession.of(
+                100L, 7L, 3L, -23.0, -46.0, entryTime, new BigDecimal("10.00"));
+
+        when(activeSessionCache.get(plate)).thenReturn(Optional.of(session));
+        when(parkingRecordRepository.completeActiveRecord(eq(100L), eq(exitTime), any())).thenReturn(1);
+        when(spotRepository.releaseIfHeld(7L)).thenReturn(1);
+
+        // Act
+        parkingEventService.processEvent(exitEvent);
+
+        // Assert
+        ArgumentCaptor<BigDecimal> fareCaptor = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(parkingRecordRepository).completeActiveRecord(eq(100L), eq(exitTime), fareCaptor.capture());
+        // Tarifa esperada: 1,5 hora * R$10.00 = R$15.00
+        assertEquals(0, new BigDecimal("15.00").compareTo(fareCaptor.getValue()));
+
+        verify(spotRepository, times(1)).releaseIfHeld(7L);
+        verify(revenueRollupService, times(1)).recordExit(3L, exitTime, fareCaptor.getValue());
+        verify(sectorOccupancyRegistry, times(1)).release(3L);
+        verify(activeSessionCache, times(1)).evict(plate);
+        verify(parkingRecordRepository, never()).findByVehicleLicensePlateAndStatus(any(), any());
+    }
+
+    @Test
+    void processEvent_comEventoDeSaidaEmVagaJaLivre_naoDeveDevolverOContadorDoSetor() {
+        // Arrange
+        String plate = "FREE-001";
+        WebhookEventDTO exitEvent = new WebhookEventDTO();
+        exitEvent.setEventType(EventType.EXIT);
+        exitEvent.setLicensePlate(plate);
+        LocalDateTime exitTime = LocalDateTime.parse("2025-01-01T11:00:00");
+        exitEvent.setExitTime(exitTime.format(DateTimeFormatter.ISO_DATE_TIME));
+
+        ActiveSessionCache.ActiveSession session = ActiveSessionCache.ActiveSession.of(
+                100L, 7L, 3L, -23.0, -46.0, LocalDateTime.parse("2025-01-01T10:00:00"), new BigDecimal("10.00"));
+
+        when(activeSessionCache.get(plate)).thenReturn(Optional.of(session));
+        when(parkingRecordRepository.completeActiveRecord(eq(100L), eq(exitTime), any())).thenReturn(1);
+        // o UPDATE condicional não altera nenhuma linha: a vaga já estava livre
+        when(spotRepository.releaseIfHeld(7L)).thenReturn(0);
+
+        // Act
+        parkingEventService.processEvent(exitEvent);
+
+        // Assert: a saída é registrada, mas o contador do setor não é decrementado duas vezes
+        verify(revenueRollupService, times(1)).recordExit(eq(3L), eq(exitTime), any());
+        verify(sectorOccupancyRegistry, never()).release(any());
+        verify(activeSessionCache, times(1)).evict(plate);
     }
 
     @Test
@@ -263,24 +393,13 @@ public class ParkingEventServiceTest {
     }
 
     @Test
-    void getPlateStatus_quandoRegistroAtivoExiste_deveRetornarStatusDTOCorreto() {
+    void getPlateStatus_quandoRegistroAtivoExiste_deveRetornarStatusDTOCorretoEmUmaUnicaConsulta() {
         // Arrange
         String licensePlate = "PARKED-01";
-        LocalDateTime entryTime = LocalDateTime.now().minusHours(1).minusMinutes(30);
-
-        Vehicle vehicle = new Vehicle(licensePlate);
-        Spot spot = new Spot();
-        spot.setLat(-10.0);
-        spot.setLng(-20.0);
+        LocalDateTime entryTime = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.MICROS);
 
-        ParkingRecord activeRecord = new ParkingRecord();
-        activeRecord.setVehicle(vehicle);
-        activeRecord.setSpot(spot);
-        activeRecord.setEntryTime(entryTime);
-        activeRecord.setPricePerHour(new BigDecimal("20.00"));
-
-        when(parkingRecordRepository.findByVehicleLicensePlateAndStatus(licensePlate, ParkingStatus.ACTIVE))
-                .thenReturn(Optional.of(activeRecord));
+        when(parkingRecordRepository.findSessionByPlateAndStatus(licensePlate, ParkingStatus.ACTIVE))
+                .thenReturn(Optional.of(sessionView(100L, licensePlate, 1L, -10.0, -20.0, entryTime)));
 
         // Act
         PlateStatusResponseDTO resultDTO = parkingEventService.getPlateStatus(licensePlate);
@@ -289,8 +408,32 @@ public class ParkingEventServiceTest {
         assertNotNull(resultDTO, "O DTO retornado não deveria ser nulo.");
         assertEquals(licensePlate, resultDTO.getLicensePlate());
         assertEquals(-10.0, resultDTO.getLat());
+        assertEquals(entryTime.format(DateTimeFormatter.ISO_DATE_TIME), resultDTO.getEntryTime());
         assertNotNull(resultDTO.getTimeParked(), "A duração do estacionamento não deveria ser nula.");
-        assertEquals(0, new BigDecimal("30.00").compareTo(resultDTO.getPriceUntilNow()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(resultDTO.getPriceUntilNow()));
+        verify(parkingRecordRepository, never()).findByVehicleLicensePlateAndStatus(any(), any());
+        verifyNoInteractions(spotRepository, vehicleRepository);
+    }
+
+    @Test
+    void getPlateStatus_quandoEstadiaEmCache_deveResponderSemConsultarOBanco() {
+        // Arrange
+        String licensePlate = "CACHED-01";
+        LocalDateTime entryTime = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.MICROS);
+        ActiveSessionCache.ActiveSession session = ActiveSessionCache.ActiveSession.of(
+                1L, 2L, 3L, -10.0, -20.0, entryTime, new BigDecimal("10.00"));
+
+        when(activeSessionCache.get(licensePlate)).thenReturn(Optional.of(session));
+
+        // Act
+        PlateStatusResponseDTO resultDTO = parkingEventService.getPlateStatus(licensePlate);
+
+        // Assert
+        assertEquals(licensePlate, resultDTO.getLicensePlate());
+        assertEquals(-20.0, resultDTO.getLng());
+        assertEquals(entryTime.format(DateTimeFormatter.ISO_DATE_TIME), resultDTO.getEntryTime());
+        assertEquals(0, new BigDecimal("20.00").compareTo(resultDTO.getPriceUntilNow()));
+        verifyNoInteractions(parkingRecordRepository);
     }
 
     @Test
@@ -298,7 +441,7 @@ public class ParkingEventServiceTest {
         // Arrange
         String licensePlate = "NOT-PARKED-02";
 
-        when(parkingRecordRepository.findByVehicleLicensePlateAndStatus(licensePlate, ParkingStatus.ACTIVE))
+        when(parkingRecordRepository.findSessionByPlateAndStatus(licensePlate, ParkingStatus.ACTIVE))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -314,7 +457,7 @@ public class ParkingEventServiceTest {
         Double lat = -10.0;
         Double lng = -20.0;
 
-        when(spotRepository.findByLatAndLng(lat, lng)).thenReturn(Optional.empty());
+        when(spotRepository.findStatusByLatAndLng(lat, lng)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -323,18 +466,32 @@ public class ParkingEventServiceTest {
         assertTrue(exception.getMessage().contains("Nenhuma vaga encontrada para as coordenadas"));
     }
 
+    @Test
+    void getSpotStatus_quandoIndiceEspacialPronto_deveResolverVagaPeloIndiceSemBuscaPorCoordenadas() {
+        // Arrange
+        Double lat = -10.000004;
+        Double lng = -20.000003;
+
+        when(spotSpatialIndex.isReady()).thenReturn(true);
+        when(spotSpatialIndex.resolve(lat, lng))
+                .thenReturn(Optional.of(new SpotSpatialIndex.SpotLocation(5L, 1L, -10.0, -20.0)));
+        when(spotRepository.findStatusById(5L)).thenReturn(Optional.of(spotStatusView(5L, false, null, null)));
+
+        // Act
+        SpotStatusResponseDTO resultDTO = parkingEventService.getSpotStatus(lat, lng);
+
+        // Assert
+        assertFalse(resultDTO.isOccupied());
+        verify(spotRepository, never()).findStatusByLatAndLng(any(), any());
+    }
+
     @Test
     void getSpotStatus_quandoVagaEncontradaELivre_deveRetornarDTOCorreto() {
         // Arrange
         Double lat = -10.0;
         Double lng = -20.0;
-        Spot vagaLivre = new Spot();
-        vagaLivre.setId(1L);
-        vagaLivre.setLat(lat);
-        vagaLivre.setLng(lng);
-        vagaLivre.setOccupied(false);
 
-        when(spotRepository.findByLatAndLng(lat, lng)).thenReturn(Optional.of(vagaLivre));
+        when(spotRepository.findStatusByLatAndLng(lat, lng)).thenReturn(Optional.of(spotStatusView(1L, false, null, null)));
 
         // Act
         SpotStatusResponseDTO resultDTO = parkingEventService.getSpotStatus(lat, lng);
@@ -349,31 +506,14 @@ public class ParkingEventServiceTest {
     }
 
     @Test
-    void getSpotStatus_quandoVagaOcupadaComRegistroAtivo_deveRetornarDTOCompleto() {
+    void getSpotStatus_quandoVagaOcupadaComRegistroAtivo_deveRetornarDTOCompletoEmUmaUnicaConsulta() {
         // Arrange
         Double lat = -10.0;
         Double lng = -20.0;
         LocalDateTime entryTime = LocalDateTime.now().minusHours(2);
 
-        Vehicle vehicle = new Vehicle("XYZ-1234");
-        Sector sector = new Sector();
-        Spot vagaOcupada = new Spot();
-        vagaOcupada.setId(1L);
-        vagaOcupada.setLat(lat);
-        vagaOcupada.setLng(lng);
-        vagaOcupada.setOccupied(true);
-        vagaOcupada.setSector(sector);
-
-        ParkingRecord registroAtivo = new ParkingRecord();
-        registroAtivo.setVehicle(vehicle);
-        registroAtivo.setSpot(vagaOcupada);
-        registroAtivo.setEntryTime(entryTime);
-        registroAtivo.setStatus(ParkingStatus.ACTIVE);
-        registroAtivo.setPricePerHour(new BigDecimal("10.00"));
-
-        when(spotRepository.findByLatAndLng(lat, lng)).thenReturn(Optional.of(vagaOcupada));
-        when(parkingRecordRepository.findBySpotAndStatus(vagaOcupada, ParkingStatus.ACTIVE))
-                .thenReturn(Optional.of(registroAtivo));
+        when(spotRepository.findStatusByLatAndLng(lat, lng))
+                .thenReturn(Optional.of(spotStatusView(1L, true, "XYZ-1234", entryTime)));
 
         // Act
         SpotStatusResponseDTO resultDTO = parkingEventService.getSpotStatus(lat, lng);
@@ -385,6 +525,7 @@ public class ParkingEventServiceTest {
         assertEquals(0, new BigDecimal("20.00").compareTo(resultDTO.getPriceUntilNow()));
         assertEquals(entryTime.format(DateTimeFormatter.ISO_DATE_TIME), resultDTO.getEntryTime());
         assertNotNull(resultDTO.getTimeParked());
+        verifyNoInteractions(parkingRecordRepository, vehicleRepository);
     }
 
     @Test
@@ -393,15 +534,8 @@ public class ParkingEventServiceTest {
         Double lat = -10.0;
         Double lng = -20.0;
 
-        Spot vagaOcupada = new Spot();
-        vagaOcupada.setId(1L);
-        vagaOcupada.setLat(lat);
-        vagaOcupada.setLng(lng);
-        vagaOcupada.setOccupied(true);
-
-        when(spotRepository.findByLatAndLng(lat, lng)).thenReturn(Optional.of(vagaOcupada));
-        when(parkingRecordRepository.findBySpotAndStatus(vagaOcupada, ParkingStatus.ACTIVE))
-                .thenReturn(Optional.empty());
+        // O LEFT JOIN não encontra estadia ativa: os dados da estadia vêm nulos
+        when(spotRepository.findStatusByLatAndLng(lat, lng)).thenReturn(Optional.of(spotStatusView(1L, true, null, null)));
 
         // Act
         SpotStatusResponseDTO responseDTO = parkingEventService.getSpotStatus(lat, lng);
@@ -415,6 +549,64 @@ public class ParkingEventServiceTest {
         assertNull(responseDTO.getTimeParked());
     }
 
+    @Test
+    void getPlateStatuses_deveResponderOCacheEBuscarAsDemaisPlacasEmUmaUnicaConsulta() {
+        // Arrange
+        LocalDateTime entryTime = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.MICROS);
+        when(activeSessionCache.get("CACHED-01")).thenReturn(Optional.of(ActiveSessionCache.ActiveSession.of(
+                1L, 2L, 3L, -10.0, -20.0, entryTime, new BigDecimal("10.00"))));
+        when(activeSessionCache.get("DB-0002")).thenReturn(Optional.empty());
+        when(activeSessionCache.get("NOT-PARKED")).thenReturn(Optional.empty());
+        when(parkingRecordRepository.findSessionsByPlatesAndStatus(Set.of("DB-0002", "NOT-PARKED"), ParkingStatus.ACTIVE))
+                .thenReturn(List.of(sessionView(10L, "DB-0002", 20L, -11.0, -21.0, entryTime)));
+
+        // Act
+        Map<String, StatusLookupResultDTO<PlateStatusResponseDTO>> results =
+                parkingEventService.getPlateStatuses(List.of("CACHED-01", "DB-0002", "NOT-PARKED", "CACHED-01"));
+
+        // Assert
+        assertEquals(List.of("CACHED-01", "DB-0002", "NOT-PARKED"), List.copyOf(results.keySet()));
+        assertEquals(-20.0, results.get("CACHED-01").getStatus().getLng());
+        assertEquals(-21.0, results.get("DB-0002").getStatus().getLng());
+        assertEquals(0, new BigDecimal("20.00").compareTo(results.get("DB-0002").getStatus().getPriceUntilNow()));
+        assertFalse(results.get("NOT-PARKED").isFound());
+        assertNull(results.get("NOT-PARKED").getStatus());
+        assertTrue(results.get("NOT-PARKED").getMessage().contains("NOT-PARKED"));
+        verify(parkingRecordRepository, times(1)).findSessionsByPlatesAndStatus(any(), any());
+    }
+
+    @Test
+    void getSpotStatuses_deveResolverPeloIndiceEConsultarOcupacaoEEstadiasEmLote() {
+        // Arrange
+        LocalDateTime entryTime = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.MICROS);
+        when(spotSpatialIndex.isReady()).thenReturn(true);
+        when(spotSpatialIndex.resolve(-10.0, -20.0)).thenReturn(Optional.of(new SpotSpatialIndex.SpotLocation(1L, 1L, -10.0, -20.0)));
+        when(spotSpatialIndex.resolve(-11.0, -21.0)).thenReturn(Optional.of(new SpotSpatialIndex.SpotLocation(2L, 1L, -11.0, -21.0)));
+        when(spotSpatialIndex.resolve(-12.0, -22.0)).thenReturn(Optional.of(new SpotSpatialIndex.SpotLocation(3L, 1L, -12.0, -22.0)));
+        when(spotSpatialIndex.resolve(-99.0, -99.0)).thenReturn(Optional.empty());
+        when(spotRepository.findOccupiedIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(2L, 3L));
+        when(parkingRecordRepository.findSessionsBySpotIdsAndStatus(Set.of(2L, 3L), ParkingStatus.ACTIVE))
+                .thenReturn(List.of(sessionView(10L, "XYZ-1234", 2L, -11.0, -21.0, entryTime)));
+
+        // Act
+        Map<String, StatusLookupResultDTO<SpotStatusResponseDTO>> results = parkingEventService.getSpotStatuses(List.of(
+                spotRequest(-10.0, -20.0), spotRequest(-11.0, -21.0), spotRequest(-12.0, -22.0), spotRequest(-99.0, -99.0)));
+
+        // Assert
+        assertEquals(List.of("-10.0,-20.0", "-11.0,-21.0", "-12.0,-22.0", "-99.0,-99.0"), List.copyOf(results.keySet()));
+        SpotStatusResponseDTO vagaLivre = results.get("-10.0,-20.0").getStatus();
+        assertFalse(vagaLivre.isOccupied());
+        assertEquals(0, BigDecimal.ZERO.compareTo(vagaLivre.getPriceUntilNow()));
+        SpotStatusResponseDTO vagaOcupada = results.get("-11.0,-21.0").getStatus();
+        assertEquals("XYZ-1234", vagaOcupada.getLicensePlate());
+        assertEquals(entryTime.format(DateTimeFormatter.ISO_DATE_TIME), vagaOcupada.getEntryTime());
+        assertEquals(0, new BigDecimal("20.00").compareTo(vagaOcupada.getPriceUntilNow()));
+        assertEquals("ERRO_INTERNO_VAGA_SEM_REGISTRO_ATIVO", results.get("-12.0,-22.0").getStatus().getLicensePlate());
+        assertFalse(results.get("-99.0,-99.0").isFound());
+        verify(spotRepository, never()).findById(any());
+        verify(spotRepository, never()).findByLatAndLng(any(), any());
+    }
+
     @Test
     void getRevenueForSectorAndDate_quandoSetorNaoEncontrado_deveLancarResourceNotFoundException() {
         // Arrange
@@ -484,4 +676,57 @@ public class ParkingEventServiceTest {
         assertEquals("BRL", resultado.getCurrency());
         assertNotNull(resultado.getTimestamp());
     }
+
+    @Test
+    void getRevenueForSectorAndDate_quandoExisteConsolidadoDoDia_deveRetornarSemAgregarRegistros() {
+        // Arrange
+        String nomeSetor = "C";
+        LocalDate dataConsulta = LocalDate.of(2025, 2, 10);
+        Sector setorExistente = new Sector();
+        setorExistente.setId(3L);
+        setorExistente.setName(nomeSetor);
+        BigDecimal faturamentoConsolidado = new BigDecimal("980.50");
+
+        when(sectorRepository.findByName(nomeSetor)).thenReturn(Optional.of(setorExistente));
+        when(revenueRollupService.findTotalRevenue(3L, dataConsulta)).thenReturn(Optional.of(faturamentoConsolidado));
+
+        // Act
+        RevenueResponseDTO resultado = parkingEventService.getRevenueForSectorAndDate(nomeSetor, dataConsulta);
+
+        // Assert
+        assertEquals(0, faturamentoConsolidado.compareTo(resultado.getAmount()));
+        assertEquals("BRL", resultado.getCurrency());
+        verify(parkingRecordRepository, never()).sumFinalFareBySectorAndDateRange(any(), any(), any(), any());
+    }
+
+    private static SpotStatusRequestDTO spotRequest(Double lat, Double lng) {
+        SpotStatusRequestDTO requestDTO = new SpotStatusRequestDTO();
+        requestDTO.setLat(lat);
+        requestDTO.setLng(lng);
+        return requestDTO;
+    }
+
+    private static ActiveSessionView sessionView(Long recordId, String licensePlate, Long spotId, Double lat, Double lng,
+                                                 LocalDateTime entryTime) {
+        return new ActiveSessionView() {
+            public Long getRecordId() { return recordId; }
+            public String getLicensePlate() { return licensePlate; }
+            public Long getSpotId() { return spotId; }
+            public Long getSectorId() { return 1L; }
+            public Double getLat() { return lat; }
+            public Double getLng() { return lng; }
+            public LocalDateTime getEntryTime() { return entryTime; }
+            public BigDecimal getPricePerHour() { return new BigDecimal("10.00"); }
+        };
+    }
+
+    private static SpotStatusView spotStatusView(Long spotId, boolean occupied, String licensePlate, LocalDateTime entryTime) {
+        return new SpotStatusView() {
+            public Long getSpotId() { return spotId; }
+            public Boolean getOccupied() { return occupied; }
+            public String getLicensePlate() { return licensePlate; }
+            public LocalDateTime getEntryTime() { return entryTime; }
+            public BigDecimal getPricePerHour() { return licensePlate == null ? null : new BigDecimal("10.00"); }
+        };
+    }
 }
@@ -0,0 +1,139 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.query.RevenueGranularity;
+import br.com.estapar.parkingmanagement.application.dto.query.RevenueReportEntryDTO;
+import br.com.estapar.parkingmanagement.domain.exception.ResourceNotFoundException;
+import br.com.estapar.parkingmanagement.domain.model.Sector;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.projection.DailyRevenueView;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorDailyRevenueRepository;
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RevenueReportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1); // quarta-feira
+    private static final LocalDate TO = LocalDate.of(2025, 2, 10);
+
+    @Mock
+    private SectorRepository sectorRepository;
+
+    @Mock
+    private SectorDailyRevenueRepository sectorDailyRevenueRepository;
+
+    @InjectMocks
+    private RevenueReportService revenueReportService;
+
+    @Test
+    void streamReport_porDia_deveEntregarUmaLinhaPorSetorEDia() {
+        when(sectorDailyRevenueRepository.streamByDateRange(FROM, TO)).thenReturn(Stream.of(
+                row("A", "2025-01-01", "10.00"),
+                row("B", "2025-01-01", "5.00"),
+                row("A", "2025-01-02", "7.50")));
+
+        List<RevenueReportEntryDTO> entries = report(RevenueGranularity.DAY, List.of());
+
+        assertEquals(3, entries.size());
+        assertEntry(entries.get(0), "2025-01-01", "2025-01-01", "A", "10.00");
+        assertEntry(entries.get(1), "2025-01-01", "2025-01-01", "B", "5.00");
+        assertEntry(entries.get(2), "2025-01-02", "2025-01-02", "A", "7.50");
+    }
+
+    @Test
+    void streamReport_porSemana_deveSomarDiasDaMesmaSemanaELimitarAoIntervalo() {
+        when(sectorDailyRevenueRepository.streamByDateRange(FROM, TO)).thenReturn(Stream.of(
+                row("A", "2025-01-01", "10.00"),
+                row("A", "2025-01-05", "20.00"),
+                row("A", "2025-01-06", "1.00"),
+                row("B", "2025-01-07", "2.00")));
+
+        List<RevenueReportEntryDTO> entries = report(RevenueGranularity.WEEK, List.of());
+
+        assertEquals(3, entries.size());
+        // Semana de 30/12 a 05/01, limitada ao início do intervalo
+        assertEntry(entries.get(0), "2025-01-01", "2025-01-05", "A", "30.00");
+        assertEntry(entries.get(1), "2025-01-06", "2025-01-12", "A", "1.00");
+        assertEntry(entries.get(2), "2025-01-06", "2025-01-12", "B", "2.00");
+    }
+
+    @Test
+    void streamReport_porMes_comSetoresFiltrados_deveUsarConsultaPorSetoresELimitarFimDoIntervalo() {
+        Sector sector = new Sector();
+        sector.setId(2L);
+        sector.setName("B");
+        when(sectorRepository.findByName("B")).thenReturn(Optional.of(sector));
+        when(sectorDailyRevenueRepository.streamByDateRangeAndSectorIds(FROM, TO, List.of(2L))).thenReturn(Stream.of(
+                row("B", "2025-01-03", "4.00"),
+                row("B", "2025-01-31", "6.00"),
+                row("B", "2025-02-10", "1.25")));
+
+        List<RevenueReportEntryDTO> entries = report(RevenueGranularity.MONTH, List.of("B"));
+
+        assertEquals(2, entries.size());
+        assertEntry(entries.get(0), "2025-01-01", "2025-01-31", "B", "10.00");
+        assertEntry(entries.get(1), "2025-02-01", "2025-02-10", "B", "1.25");
+        verify(sectorDailyRevenueRepository, never()).streamByDateRange(any(), any());
+    }
+
+    @Test
+    void prepareQuery_comSetorInexistente_deveLancarResourceNotFoundException() {
+        when(sectorRepository.findByName("Z")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> revenueReportService.prepareQuery(FROM, TO, List.of("Z"), RevenueGranularity.DAY));
+    }
+
+    @Test
+    void prepareQuery_comIntervaloInvertido_deveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class,
+                () -> revenueReportService.prepareQuery(TO, FROM, null, RevenueGranularity.DAY));
+    }
+
+    private List<RevenueReportEntryDTO> report(RevenueGranularity granularity, List<String> sectors) {
+        RevenueReportService.ReportQuery query = revenueReportService.prepareQuery(FROM, TO, sectors, granularity);
+        List<RevenueReportEntryDTO> entries = new ArrayList<>();
+        revenueReportService.streamReport(query, entries::add);
+        return entries;
+    }
+
+    private static void assertEntry(RevenueReportEntryDTO entry, String start, String end, String sector, String amount) {
+        assertEquals(LocalDate.parse(start), entry.getPeriodStart());
+        assertEquals(LocalDate.parse(end), entry.getPeriodEnd());
+        assertEquals(sector, entry.getSector());
+        assertEquals(0, new BigDecimal(amount).compareTo(entry.getAmount()));
+        assertEquals("BRL", entry.getCurrency());
+    }
+
+    private static DailyRevenueView row(String sector, String date, String total) {
+        return new DailyRevenueView() {
+            @Override
+            public String getSectorName() {
+                return sector;
+            }
+
+            @Override
+            public LocalDate getRevenueDate() {
+                return LocalDate.parse(date);
+            }
+
+            @Override
+            public BigDecimal getTotalRevenue() {
+                return new BigDecimal(total);
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.infrastructure.persistence.repository.SectorDailyRevenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RevenueRollupServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime EXIT_TIME = DATE.atTime(18, 30);
+    private static final BigDecimal FARE = new BigDecimal("15.00");
+
+    @Mock
+    private SectorDailyRevenueRepository sectorDailyRevenueRepository;
+
+    private RevenueRollupService revenueRollupService;
+
+    @BeforeEach
+    void setUp() {
+        revenueRollupService = new RevenueRollupService(sectorDailyRevenueRepository, true, 12);
+    }
+
+    @Test
+    void recordExit_quandoConsolidadoDoDiaExiste_deveApenasSomar() {
+        when(sectorDailyRevenueRepository.addToTotal(1L, DATE, FARE)).thenReturn(1);
+
+        revenueRollupService.recordExit(1L, EXIT_TIME, FARE);
+
+        verify(sectorDailyRevenueRepository, times(1)).addToTotal(1L, DATE, FARE);
+        verify(sectorDailyRevenueRepository, never()).insertIfAbsent(any(), any(), any());
+    }
+
+    @Test
+    void recordExit_quandoPrimeiraSaidaDoDia_deveCriarConsolidado() {
+        when(sectorDailyRevenueRepository.addToTotal(1L, DATE, FARE)).thenReturn(0);
+        when(sectorDailyRevenueRepository.insertIfAbsent(1L, DATE, FARE)).thenReturn(1);
+
+        revenueRollupService.recordExit(1L, EXIT_TIME, FARE);
+
+        verify(sectorDailyRevenueRepository, times(1)).addToTotal(1L, DATE, FARE);
+        verify(sectorDailyRevenueRepository, times(1)).insertIfAbsent(1L, DATE, FARE);
+    }
+
+    @Test
+    void recordExit_quandoOutraTransacaoCriaOConsolidadoAntes_deveSomarNovamente() {
+        when(sectorDailyRevenueRepository.addToTotal(1L, DATE, FARE)).thenReturn(0, 1);
+        when(sectorDailyRevenueRepository.insertIfAbsent(1L, DATE, FARE)).thenReturn(0);
+
+        revenueRollupService.recordExit(1L, EXIT_TIME, FARE);
+
+        verify(sectorDailyRevenueRepository, times(2)).addToTotal(1L, DATE, FARE);
+    }
+
+    @Test
+    void rebuild_deveRecriarConsolidadosDoIntervaloAPartirDosRegistros() {
+        LocalDate endDate = DATE.plusDays(6);
+        when(sectorDailyRevenueRepository.insertFromParkingRecords(DATE.atStartOfDay(), endDate.plusDays(1).atStartOfDay()))
+                .thenReturn(14);
+
+        int rebuilt = revenueRollupService.rebuild(DATE, endDate, DATE.plusMonths(1));
+
+        assertEquals(14, rebuilt);
+        verify(sectorDailyRevenueRepository, times(1)).deleteByDateRange(DATE, endDate);
+    }
+
+    @Test
+    void rebuild_comIntervaloInvertido_deveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> revenueRollupService.rebuild(DATE, DATE.minusDays(1)));
+        verifyNoInteractions(sectorDailyRevenueRepository);
+    }
+
+    @Test
+    void rebuild_comDataInicialArquivada_deveLancarExcecaoSemApagarConsolidados() {
+        // 2025-01 é o mês mais antigo retido em 2026-01; dezembro de 2024 já está no schema parking_archive
+        LocalDate today = LocalDate.of(2026, 1, 15);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> revenueRollupService.rebuild(LocalDate.of(2024, 12, 31), DATE, today));
+        verifyNoInteractions(sectorDailyRevenueRepository);
+    }
+
+    @Test
+    void rebuild_comArquivamentoDesabilitado_devePermitirQualquerData() {
+        revenueRollupService = new RevenueRollupService(sectorDailyRevenueRepository, false, 12);
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+
+        revenueRollupService.rebuild(startDate, startDate, LocalDate.of(2026, 1, 15));
+
+        verify(sectorDailyRevenueRepository, times(1)).deleteByDateRange(startDate, startDate);
+    }
+}
@@ -0,0 +1,188 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.cache.ActiveSessionCache;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex;
+import br.com.estapar.parkingmanagement.application.cache.SpotSpatialIndex.SpotLocation;
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventResultDTO;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SectorEventEngineTest {
+
+    @Mock
+    private ParkingEventService parkingEventService;
+
+    @Mock
+    private WebhookBatchService webhookBatchService;
+
+    @Mock
+    private SpotSpatialIndex spotSpatialIndex;
+
+    @Mock
+    private ActiveSessionCache activeSessionCache;
+
+    @Mock
+    private EventJournal eventJournal;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void submit_deveRotearPeloSetorDaVagaEOExitDeveSeguirOParked() {
+        // Arrange: setor 1 no laço 1, setor 2 no laço 0
+        SectorEventEngine engine = engine(2, 10);
+        when(spotSpatialIndex.resolve(-23.0, -46.0)).thenReturn(Optional.of(new SpotLocation(10L, 1L, -23.0, -46.0)));
+        when(spotSpatialIndex.resolve(-24.0, -46.0)).thenReturn(Optional.of(new SpotLocation(20L, 2L, -24.0, -46.0)));
+
+        // Act
+        assertTrue(engine.submit(parked("AAA-0001", -23.0)));
+        assertTrue(engine.submit(parked("BBB-0002", -24.0)));
+        assertTrue(engine.submit(event(EventType.EXIT, "AAA-0001")));
+
+        // Assert
+        assertEquals(1.0, depth(0));
+        assertEquals(2.0, depth(1));
+        verify(activeSessionCache, never()).get(any());
+    }
+
+    @Test
+    void submit_comExitDeEstadiaAnteriorAoMotor_deveUsarOSetorDoCache() {
+        // Arrange
+        SectorEventEngine engine = engine(2, 10);
+        when(activeSessionCache.get("OLD-0001")).thenReturn(Optional.of(ActiveSessionCache.ActiveSession.of(
+                100L, 10L, 1L, -23.0, -46.0, LocalDateTime.parse("2025-01-01T10:00:00"), new BigDecimal("10.00"))));
+
+        // Act
+        assertTrue(engine.submit(event(EventType.EXIT, "OLD-0001")));
+
+        // Assert
+        assertEquals(0.0, depth(0));
+        assertEquals(1.0, depth(1));
+    }
+
+    @Test
+    void submit_comEntry_deveAplicarNaHoraSemEnfileirar() {
+        // Arrange
+        SectorEventEngine engine = engine(2, 10);
+        WebhookEventDTO entry = event(EventType.ENTRY, "NEW-0001");
+
+        // Act
+        assertTrue(engine.submit(entry));
+
+        // Assert
+        verify(parkingEventService, times(1)).processEvent(entry);
+        assertEquals(0.0, depth(0));
+        assertEquals(0.0, depth(1));
+    }
+
+    @Test
+    void submit_comFilaCheia_deveRejeitarEManterOSetorParaOReenvioDoExit() {
+        // Arrange
+        SectorEventEngine engine = engine(1, 1);
+        when(spotSpatialIndex.resolve(-23.0, -46.0)).thenReturn(Optional.of(new SpotLocation(10L, 1L, -23.0, -46.0)));
+        assertTrue(engine.submit(parked("AAA-0001", -23.0)));
+
+        // Act & Assert
+        assertFalse(engine.submit(event(EventType.EXIT, "AAA-0001")));
+        assertFalse(engine.submit(event(EventType.EXIT, "AAA-0001")));
+        verify(activeSessionCache, never()).get(any());
+    }
+
+    @Test
+    void stop_deveDrenarAsFilasPersistindoEmLotesNaOrdemDeChegada() {
+        // Arrange
+        SectorEventEngine engine = engine(1, 10);
+        when(spotSpatialIndex.resolve(-23.0, -46.0)).thenReturn(Optional.of(new SpotLocation(10L, 1L, -23.0, -46.0)));
+        List<WebhookEventDTO> persisted = new ArrayList<>();
+        when(webhookBatchService.processBatch(any())).thenAnswer(invocation -> {
+            List<WebhookEventDTO> batch = invocation.getArgument(0);
+            persisted.addAll(batch);
+            List<WebhookEventResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(i == 0 ? WebhookEventResultDTO.success(i, batch.get(i))
+                        : WebhookEventResultDTO.failure(i, batch.get(i), "Vaga já está ocupada."));
+            }
+            return results;
+        });
+        WebhookEventDTO first = parked("AAA-0001", -23.0);
+        WebhookEventDTO second = parked("BBB-0002", -23.0);
+        engine.submit(first);
+        engine.submit(second);
+
+        // Act
+        engine.start();
+        engine.stop();
+
+        // Assert
+        assertEquals(List.of(first, second), persisted);
+        // Aplicados ou rejeitados, os eventos do lote liberam o checkpoint do diário
+        verify(eventJournal).markApplied(first);
+        verify(eventJournal).markApplied(second);
+        assertEquals(1.0, meterRegistry.get("parking.engine.processed").tag("loop", "0").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("parking.engine.failed").tag("loop", "0").functionCounter().count());
+        assertFalse(engine.isRunning());
+    }
+
+    @Test
+    void persist_comParkedRejeitadoNoLaco_deveRotearOExitDaPlacaPeloCache() {
+        // Arrange
+        SectorEventEngine engine = engine(1, 10);
+        when(spotSpatialIndex.resolve(-23.0, -46.0)).thenReturn(Optional.of(new SpotLocation(10L, 1L, -23.0, -46.0)));
+        when(webhookBatchService.processBatch(any())).thenAnswer(invocation -> {
+            List<WebhookEventDTO> batch = invocation.getArgument(0);
+            return List.of(WebhookEventResultDTO.success(0, batch.get(0)),
+                    WebhookEventResultDTO.failure(1, batch.get(1), "Vaga já está ocupada."));
+        });
+        engine.submit(parked("AAA-0001", -23.0));
+        engine.submit(parked("BBB-0002", -23.0));
+        engine.start();
+        engine.stop();
+
+        // Act
+        engine.submit(event(EventType.EXIT, "AAA-0001"));
+        engine.submit(event(EventType.EXIT, "BBB-0002"));
+
+        // Assert: só a placa do PARKED rejeitado perde o setor memorizado
+        verify(activeSessionCache, never()).get("AAA-0001");
+        verify(activeSessionCache).get("BBB-0002");
+    }
+
+    private SectorEventEngine engine(int loops, int queueCapacity) {
+        return new SectorEventEngine(parkingEventService, webhookBatchService, spotSpatialIndex, activeSessionCache,
+                eventJournal, meterRegistry, true, loops, queueCapacity, 100);
+    }
+
+    private double depth(int loop) {
+        return meterRegistry.get("parking.engine.queue.depth").tag("loop", String.valueOf(loop)).gauge().value();
+    }
+
+    private static WebhookEventDTO parked(String licensePlate, double lat) {
+        WebhookEventDTO eventDTO = event(EventType.PARKED, licensePlate);
+        eventDTO.setLat(lat);
+        eventDTO.setLng(-46.0);
+        return eventDTO;
+    }
+
+    private static WebhookEventDTO event(EventType eventType, String licensePlate) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(eventType);
+        eventDTO.setLicensePlate(licensePlate);
+        return eventDTO;
+    }
+}
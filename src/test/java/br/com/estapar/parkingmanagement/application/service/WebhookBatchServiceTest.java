@@ -0,0 +1,75 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookBatchServiceTest {
+
+    @Mock
+    private ParkingEventService parkingEventService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WebhookBatchService webhookBatchService;
+
+    @BeforeEach
+    void setUp() {
+        webhookBatchService = new WebhookBatchService(parkingEventService, transactionManager, 2);
+    }
+
+    @Test
+    void processBatch_comTodosOsEventosValidos_deveProcessarEmBlocosERetornarSucesso() {
+        // Arrange
+        List<WebhookEventDTO> events = List.of(event("A-1"), event("A-2"), event("A-3"));
+
+        // Act
+        List<WebhookEventResultDTO> results = webhookBatchService.processBatch(events);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(WebhookEventResultDTO::isSuccess));
+        verify(parkingEventService, times(3)).processEvent(any());
+        verify(transactionManager, times(2)).commit(any()); // 2 blocos: [A-1, A-2] e [A-3]
+    }
+
+    @Test
+    void processBatch_comEventoInvalido_deveRejeitarSomenteOEventoInvalido() {
+        // Arrange
+        WebhookEventDTO valido = event("OK-1");
+        WebhookEventDTO invalido = event("BAD-1");
+        lenient().doThrow(new IllegalStateException("Vaga já está ocupada.")).when(parkingEventService).processEvent(invalido);
+
+        // Act
+        List<WebhookEventResultDTO> results = webhookBatchService.processBatch(List.of(valido, invalido));
+
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals("Vaga já está ocupada.", results.get(1).getError());
+        // O bloco é desfeito e o evento válido é reaplicado na sua própria transação
+        verify(parkingEventService, times(2)).processEvent(valido);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    private static WebhookEventDTO event(String licensePlate) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(EventType.ENTRY);
+        eventDTO.setLicensePlate(licensePlate);
+        return eventDTO;
+    }
+}
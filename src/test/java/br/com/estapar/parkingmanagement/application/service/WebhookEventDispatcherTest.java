@@ -0,0 +1,86 @@
+package br.com.estapar.parkingmanagement.application.service;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookEventDispatcherTest {
+
+    @Mock
+    private ParkingEventService parkingEventService;
+
+    @Mock
+    private EventJournal eventJournal;
+
+    @Test
+    void submit_quandoFilaDaParticaoCheia_deveRejeitarEvento() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebhookEventDispatcher dispatcher = new WebhookEventDispatcher(parkingEventService, eventJournal, meterRegistry, true, false, 1, 2, false);
+
+        // Act & Assert (sem iniciar as threads consumidoras)
+        assertTrue(dispatcher.submit(event(EventType.ENTRY, "ABC-1234")));
+        assertTrue(dispatcher.submit(event(EventType.PARKED, "ABC-1234")));
+        assertFalse(dispatcher.submit(event(EventType.EXIT, "ABC-1234")));
+
+        assertEquals(2.0, meterRegistry.get("parking.webhook.queue.depth").tag("partition", "0").gauge().value());
+    }
+
+    @Test
+    void isEnabled_comDiarioHabilitado_deveLigarOPipelineMesmoSemOModoAssincrono() {
+        // Arrange & Act
+        WebhookEventDispatcher dispatcher = new WebhookEventDispatcher(parkingEventService, eventJournal, new SimpleMeterRegistry(),
+                false, true, 1, 2, false);
+
+        // Assert: com o diário, o evento é confirmado após o fsync e aplicado pelo pipeline
+        assertTrue(dispatcher.isEnabled());
+        assertTrue(dispatcher.submit(event(EventType.ENTRY, "ABC-1234")));
+        verifyNoInteractions(parkingEventService);
+    }
+
+    @Test
+    void stop_deveDrenarAFilaPreservandoAOrdemDaPlaca() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebhookEventDispatcher dispatcher = new WebhookEventDispatcher(parkingEventService, eventJournal, meterRegistry, true, false, 2, 10, true);
+        WebhookEventDTO entry = event(EventType.ENTRY, "ABC-1234");
+        WebhookEventDTO parked = event(EventType.PARKED, "ABC-1234");
+        WebhookEventDTO exit = event(EventType.EXIT, "ABC-1234");
+
+        dispatcher.submit(entry);
+        dispatcher.submit(parked);
+        dispatcher.submit(exit);
+
+        // Act
+        dispatcher.start();
+        dispatcher.stop();
+
+        // Assert
+        InOrder inOrder = inOrder(parkingEventService);
+        inOrder.verify(parkingEventService).processEvent(entry);
+        inOrder.verify(parkingEventService).processEvent(parked);
+        inOrder.verify(parkingEventService).processEvent(exit);
+        // Cada evento processado libera o checkpoint do diário
+        verify(eventJournal).markApplied(entry);
+        verify(eventJournal).markApplied(parked);
+        verify(eventJournal).markApplied(exit);
+        assertFalse(dispatcher.isRunning());
+    }
+
+    private static WebhookEventDTO event(EventType eventType, String licensePlate) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(eventType);
+        eventDTO.setLicensePlate(licensePlate);
+        return eventDTO;
+    }
+}
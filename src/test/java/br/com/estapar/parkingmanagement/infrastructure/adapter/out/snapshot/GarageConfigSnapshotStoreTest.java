@@ -0,0 +1,137 @@
+package br.com.estapar.parkingmanagement.infrastructure.adapter.out.snapshot;
+
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+import br.com.estapar.parkingmanagement.application.service.GarageConfigHandler;
+import br.com.estapar.parkingmanagement.infrastructure.adapter.out.snapshot.GarageConfigSnapshotStore.SnapshotWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarageConfigSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writer_eRead_deveEntregarAMesmaConfiguracaoNaMesmaOrdem() {
+        GarageConfigSnapshotStore store = new GarageConfigSnapshotStore(true, directory.resolve("garage.snapshot").toString());
+        write(store);
+
+        CollectingHandler handler = new CollectingHandler();
+        assertTrue(store.read(handler));
+
+        assertEquals(2, handler.sectors.size());
+        SectorDTO sectorB = handler.sectors.get(1);
+        assertEquals("B", sectorB.getName());
+        assertEquals(new BigDecimal("12.50"), sectorB.getBasePrice());
+        assertEquals(20, sectorB.getMaxCapacity());
+        assertEquals("06:00", sectorB.getOpenHour());
+        assertEquals("23:59", sectorB.getCloseHour());
+        assertEquals(240, sectorB.getDurationLimitMinutes());
+
+        assertEquals(30, handler.spots.size());
+        SpotDTO spot = handler.spots.get(29);
+        assertEquals(30L, spot.getExternalId());
+        assertEquals("B", spot.getSectorName());
+        assertEquals(-23.561684 + 29 * 0.0001, spot.getLat());
+        assertEquals(-46.655981, spot.getLng());
+        assertTrue(spot.isOccupied());
+        assertNull(handler.spots.get(0).getExternalId());
+    }
+
+    @Test
+    void read_comArquivoCorrompido_deveIgnorarOSnapshotSemEntregarNada() throws IOException {
+        Path path = directory.resolve("garage.snapshot");
+        GarageConfigSnapshotStore store = new GarageConfigSnapshotStore(true, path.toString());
+        write(store);
+
+        byte[] content = Files.readAllBytes(path);
+        content[content.length / 2] ^= 0x01;
+        Files.write(path, content);
+
+        CollectingHandler handler = new CollectingHandler();
+        assertFalse(store.read(handler));
+        assertTrue(handler.sectors.isEmpty());
+        assertTrue(handler.spots.isEmpty());
+    }
+
+    @Test
+    void writer_fechadoSemCommit_deveManterOSnapshotAnterior() throws IOException {
+        Path path = directory.resolve("garage.snapshot");
+        GarageConfigSnapshotStore store = new GarageConfigSnapshotStore(true, path.toString());
+        write(store);
+        byte[] previous = Files.readAllBytes(path);
+
+        try (SnapshotWriter writer = store.openWriter()) {
+            writer.onSector(sector("C", "5.00", 5));
+        }
+
+        assertArrayEquals(previous, Files.readAllBytes(path));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void read_semArquivoOuDesabilitado_naoDeveEntregarNada() {
+        Path path = directory.resolve("garage.snapshot");
+        assertFalse(new GarageConfigSnapshotStore(true, path.toString()).read(new CollectingHandler()));
+
+        write(new GarageConfigSnapshotStore(false, path.toString()));
+        assertFalse(Files.exists(path));
+    }
+
+    private static void write(GarageConfigSnapshotStore store) {
+        try (SnapshotWriter writer = store.openWriter()) {
+            writer.onSector(sector("A", "10.00", 10));
+            writer.onSector(sector("B", "12.50", 20));
+            for (int i = 0; i < 30; i++) {
+                SpotDTO spot = new SpotDTO();
+                spot.setExternalId(i == 0 ? null : i + 1L);
+                spot.setSectorName(i < 10 ? "A" : "B");
+                spot.setLat(-23.561684 + i * 0.0001);
+                spot.setLng(-46.655981);
+                spot.setOccupied(i % 3 == 2);
+                writer.onSpot(spot);
+            }
+            writer.commit();
+        }
+    }
+
+    private static SectorDTO sector(String name, String basePrice, int maxCapacity) {
+        SectorDTO sector = new SectorDTO();
+        sector.setName(name);
+        sector.setBasePrice(new BigDecimal(basePrice));
+        sector.setMaxCapacity(maxCapacity);
+        sector.setOpenHour("06:00");
+        sector.setCloseHour("23:59");
+        sector.setDurationLimitMinutes(240);
+        return sector;
+    }
+
+    private static final class CollectingHandler implements GarageConfigHandler {
+
+        private final List<SectorDTO> sectors = new ArrayList<>();
+        private final List<SpotDTO> spots = new ArrayList<>();
+
+        @Override
+        public void onSector(SectorDTO sector) {
+            sectors.add(sector);
+        }
+
+        @Override
+        public void onSpot(SpotDTO spot) {
+            spots.add(spot);
+        }
+    }
+}
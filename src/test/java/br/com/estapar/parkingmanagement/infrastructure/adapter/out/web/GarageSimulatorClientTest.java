@@ -0,0 +1,96 @@
+package br.com.estapar.parkingmanagement.infrastructure.adapter.out.web;
+
+import br.com.estapar.parkingmanagement.application.dto.SectorDTO;
+import br.com.estapar.parkingmanagement.application.dto.SpotDTO;
+import br.com.estapar.parkingmanagement.application.service.GarageConfigHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class GarageSimulatorClientTest {
+
+    private MockRestServiceServer server;
+    private GarageSimulatorClient garageSimulatorClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        garageSimulatorClient = new GarageSimulatorClient(restTemplate, new ObjectMapper(), "http://simulator");
+    }
+
+    @Test
+    void streamGarageConfig_deveEntregarSetoresEVagasNaOrdemDaResposta() {
+        // Arrange: "spots" antes de "garage" e um campo desconhecido no meio
+        server.expect(requestTo("http://simulator/garage")).andRespond(withSuccess("""
+                {
+                  "spots": [
+                    {"id": 1, "sector": "A", "lat": -23.561684, "lng": -46.655981, "occupied": false},
+                    {"id": 2, "sector": "A", "lat": -23.561685, "lng": -46.655982, "occupied": true}
+                  ],
+                  "version": {"major": 1},
+                  "garage": [
+                    {"sector": "A", "base_price": 10.0, "max_capacity": 100, "open_hour": "08:00",
+                     "close_hour": "22:00", "duration_limit_minutes": 240}
+                  ]
+                }
+                """, MediaType.APPLICATION_JSON));
+        List<Object> received = new ArrayList<>();
+
+        // Act
+        garageSimulatorClient.streamGarageConfig(new GarageConfigHandler() {
+            @Override
+            public void onSector(SectorDTO sector) {
+                received.add(sector);
+            }
+
+            @Override
+            public void onSpot(SpotDTO spot) {
+                received.add(spot);
+            }
+        });
+
+        // Assert
+        server.verify();
+        assertEquals(3, received.size());
+        SpotDTO secondSpot = assertInstanceOf(SpotDTO.class, received.get(1));
+        assertEquals(2L, secondSpot.getExternalId());
+        assertEquals("A", secondSpot.getSectorName());
+        assertTrue(secondSpot.isOccupied());
+        SectorDTO sector = assertInstanceOf(SectorDTO.class, received.get(2));
+        assertEquals("A", sector.getName());
+        assertEquals(0, new BigDecimal("10.0").compareTo(sector.getBasePrice()));
+        assertEquals(240, sector.getDurationLimitMinutes());
+    }
+
+    @Test
+    void streamGarageConfig_comRespostaQueNaoEObjeto_deveFalhar() {
+        // Arrange
+        server.expect(requestTo("http://simulator/garage")).andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        // Act & Assert
+        assertThrows(RestClientException.class, () -> garageSimulatorClient.streamGarageConfig(new GarageConfigHandler() {
+            @Override
+            public void onSector(SectorDTO sector) {
+                fail();
+            }
+
+            @Override
+            public void onSpot(SpotDTO spot) {
+                fail();
+            }
+        }));
+    }
+}
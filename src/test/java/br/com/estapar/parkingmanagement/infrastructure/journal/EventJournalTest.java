@@ -0,0 +1,246 @@
+package br.com.estapar.parkingmanagement.infrastructure.journal;
+
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal.JournalEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private EventJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void appendDurably_deveGravarEventosQueSaoLidosNaMesmaOrdem() {
+        journal = open();
+        WebhookEventDTO parked = event(EventType.PARKED, "ZUL0001");
+        parked.setLat(-23.561684);
+        parked.setLng(-46.655981);
+
+        journal.appendDurably(List.of(event(EventType.ENTRY, "ZUL0001"), parked, event(EventType.EXIT, "ZUL0001")));
+
+        List<JournalEntry> entries = readAll(journal);
+        assertEquals(3, entries.size());
+        assertEquals(List.of(1L, 2L, 3L), entries.stream().map(JournalEntry::sequence).toList());
+        WebhookEventDTO read = entries.get(1).event();
+        assertEquals(EventType.PARKED, read.getEventType());
+        assertEquals("ZUL0001", read.getLicensePlate());
+        assertEquals(-23.561684, read.getLat());
+        assertEquals(-46.655981, read.getLng());
+        assertEquals(parked.getReceivedAt(), read.getReceivedAt());
+        assertNull(read.getExitTime());
+        assertEquals("2025-01-01T14:30:00Z", entries.get(2).event().getExitTime());
+    }
+
+    @Test
+    void start_aposReabrir_deveContinuarASequenciaDoDiario() {
+        journal = open();
+        journal.appendDurably(List.of(event(EventType.ENTRY, "ABC1234"), event(EventType.ENTRY, "DEF5678")));
+        journal.stop();
+
+        journal = open();
+        assertEquals(2, journal.getDurableSequence());
+        journal.appendDurably(List.of(event(EventType.ENTRY, "GHI9012")));
+
+        List<JournalEntry> entries = readAll(journal);
+        assertEquals(List.of(1L, 2L, 3L), entries.stream().map(JournalEntry::sequence).toList());
+        assertEquals("GHI9012", entries.get(2).event().getLicensePlate());
+    }
+
+    @Test
+    void checkpoint_comEventosAplicados_deveGravarOCheckpointEApagarOsSegmentosAnteriores() throws IOException {
+        journal = open();
+        List<WebhookEventDTO> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            events.add(event(EventType.ENTRY, String.format("PLT%04d", i)));
+        }
+        journal.appendDurably(events);
+        events.forEach(journal::markApplied);
+
+        journal.checkpoint();
+
+        assertEquals(200, journal.getCheckpointSequence());
+        assertEquals(1, segmentCount());
+        journal.stop();
+        journal = open();
+        assertEquals(200, journal.getCheckpointSequence());
+        assertTrue(readAll(journal).isEmpty());
+        journal.appendDurably(List.of(event(EventType.ENTRY, "GHI9012")));
+        assertEquals(List.of(201L), readAll(journal).stream().map(JournalEntry::sequence).toList());
+    }
+
+    @Test
+    void checkpoint_comEventoAindaNaoAplicado_naoDevePassarDeleEOReplayDeveComecarNele() {
+        journal = open();
+        WebhookEventDTO first = event(EventType.ENTRY, "AAA1111");
+        WebhookEventDTO second = event(EventType.ENTRY, "BBB2222");
+        WebhookEventDTO third = event(EventType.ENTRY, "CCC3333");
+        journal.appendDurably(List.of(first, second, third));
+        journal.markApplied(first);
+        journal.markApplied(third);
+
+        journal.checkpoint();
+        journal.stop();
+        journal = open();
+
+        assertEquals(1, journal.getCheckpointSequence());
+        assertEquals(List.of("BBB2222", "CCC3333"),
+                readAll(journal).stream().map(entry -> entry.event().getLicensePlate()).toList());
+    }
+
+    @Test
+    void checkpoint_comEventosDeExecucaoAnteriorAindaNaoReaplicados_deveEsperarOReplay() {
+        journal = open();
+        journal.appendDurably(List.of(event(EventType.ENTRY, "AAA1111"), event(EventType.ENTRY, "BBB2222")));
+        journal.stop();
+        journal = open();
+        WebhookEventDTO live = event(EventType.ENTRY, "CCC3333");
+        journal.appendDurably(List.of(live));
+        journal.markApplied(live);
+
+        journal.checkpoint();
+        assertEquals(0, journal.getCheckpointSequence());
+
+        journal.markRecovered();
+        journal.checkpoint();
+        assertEquals(3, journal.getCheckpointSequence());
+    }
+
+    @Test
+    void append_quandoOSegmentoEnche_deveAbrirNovoSegmentoSemPerderEventos() throws IOException {
+        journal = open();
+        List<WebhookEventDTO> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            events.add(event(EventType.ENTRY, String.format("PLT%04d", i)));
+        }
+        journal.appendDurably(events);
+        journal.stop();
+
+        journal = open();
+        List<JournalEntry> entries = readAll(journal);
+        assertEquals(200, entries.size());
+        assertEquals("PLT0199", entries.get(199).event().getLicensePlate());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+    }
+
+    @Test
+    void start_comRegistroCorrompidoNoFim_deveDescartarORegistroEContinuarDele() throws IOException {
+        journal = open();
+        journal.appendDurably(List.of(event(EventType.ENTRY, "AAA1111"), event(EventType.ENTRY, "BBB2222")));
+        journal.stop();
+
+        // Simula uma queda no meio da escrita do segundo registro: o payload fica com um byte diferente
+        Path segment = directory.resolve("journal-00000000000000000001.seg");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, 0);
+            int secondRecord = EventJournal.HEADER_SIZE + header.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), secondRecord + EventJournal.HEADER_SIZE + 2);
+        }
+
+        journal = open();
+        assertEquals(1, journal.getDurableSequence());
+        journal.appendDurably(List.of(event(EventType.ENTRY, "CCC3333")));
+
+        List<JournalEntry> entries = readAll(journal);
+        assertEquals(List.of("AAA1111", "CCC3333"), entries.stream().map(entry -> entry.event().getLicensePlate()).toList());
+        assertEquals(List.of(1L, 2L), entries.stream().map(JournalEntry::sequence).toList());
+    }
+
+    @Test
+    void appendDurably_comEscritasConcorrentes_deveGravarTodosOsEventosComSequenciasUnicas() throws Exception {
+        journal = new EventJournal(true, directory, 64 * 1024);
+        journal.start();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        journal.appendDurably(List.of(event(EventType.ENTRY, "T" + thread + "-" + i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<JournalEntry> entries = readAll(journal);
+        assertEquals(2000, entries.size());
+        assertEquals(2000, entries.stream().map(entry -> entry.event().getLicensePlate()).distinct().count());
+        assertEquals(2000, journal.getDurableSequence());
+    }
+
+    @Test
+    void append_comDiarioFechado_deveLancarExcecao() {
+        journal = new EventJournal(true, directory, SEGMENT_SIZE);
+
+        assertThrows(IllegalStateException.class, () -> journal.append(event(EventType.ENTRY, "ABC1234")));
+    }
+
+    private EventJournal open() {
+        EventJournal opened = new EventJournal(true, directory, SEGMENT_SIZE);
+        opened.start();
+        return opened;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+
+    private static List<JournalEntry> readAll(EventJournal journal) {
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.readFromCheckpoint(entries::add);
+        return entries;
+    }
+
+    private static WebhookEventDTO event(EventType eventType, String licensePlate) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(eventType);
+        eventDTO.setLicensePlate(licensePlate);
+        eventDTO.setReceivedAt(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000));
+        if (eventType == EventType.ENTRY) {
+            eventDTO.setEntryTime("2025-01-01T12:00:00Z");
+        } else if (eventType == EventType.EXIT) {
+            eventDTO.setExitTime("2025-01-01T14:30:00Z");
+        }
+        return eventDTO;
+    }
+}
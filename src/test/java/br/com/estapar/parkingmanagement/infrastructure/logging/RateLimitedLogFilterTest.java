@@ -0,0 +1,31 @@
+package br.com.estapar.parkingmanagement.infrastructure.logging;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RateLimitedLogFilterTest {
+
+    @Test
+    void decide_deveDescartarOExcedenteDoSegundoELiberarNoSeguinte() {
+        // Arrange
+        RateLimitedLogFilter filter = new RateLimitedLogFilter();
+        filter.setMaxPerSecond(2);
+
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filter.decide(sqlAt(10_000)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(sqlAt(10_400)));
+        assertEquals(FilterReply.DENY, filter.decide(sqlAt(10_900)));
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(sqlAt(11_000)));
+    }
+
+    private static LoggingEvent sqlAt(long timestamp) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName("org.hibernate.SQL");
+        event.setTimeStamp(timestamp);
+        return event;
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ParkingRecordPartitionMaintenanceTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2025, 6);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParkingRecordPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = new ParkingRecordPartitionMaintenance(jdbcTemplate, transactionManager, 2, 12);
+    }
+
+    @Test
+    void runMaintenance_deveCriarPartitionsDoMesAtualEDosProximosMeses() {
+        stubCatalog(List.of(), List.of());
+
+        maintenance.runMaintenance(CURRENT_MONTH);
+
+        verify(jdbcTemplate).execute(contains("ATTACH PARTITION parking_records_p202506 FOR VALUES FROM ('2025-06-01 00:00:00.0') TO ('2025-07-01 00:00:00.0')"));
+        verify(jdbcTemplate).execute(contains("ATTACH PARTITION parking_records_p202507"));
+        verify(jdbcTemplate).execute(contains("ATTACH PARTITION parking_records_p202508"));
+        verify(jdbcTemplate, never()).execute(contains("ATTACH PARTITION parking_records_p202509"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION"));
+    }
+
+    @Test
+    void runMaintenance_comRegistrosNaPartitionDefault_deveCriarAPartitionDoMesEMoverOsRegistros() {
+        stubCatalog(List.of(Date.valueOf(LocalDate.of(2025, 3, 1))), List.of());
+
+        maintenance.runMaintenance(CURRENT_MONTH);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO parking_records_p202503 SELECT * FROM parking_records_completed_default"),
+                any(Timestamp.class), any(Timestamp.class));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM parking_records_completed_default"),
+                eq(Timestamp.valueOf("2025-03-01 00:00:00")), eq(Timestamp.valueOf("2025-04-01 00:00:00")));
+        verify(jdbcTemplate).execute(contains("ATTACH PARTITION parking_records_p202503"));
+    }
+
+    @Test
+    void runMaintenance_comPartitionsForaDaRetencao_deveDesanexarEArquivar() {
+        stubCatalog(List.of(), List.of("parking_records_p202405", "parking_records_p202406", "parking_records_completed_default"));
+
+        maintenance.runMaintenance(CURRENT_MONTH);
+
+        verify(jdbcTemplate).execute("ALTER TABLE parking_records_completed DETACH PARTITION parking_records_p202405");
+        verify(jdbcTemplate).execute("ALTER TABLE parking_records_p202405 SET SCHEMA parking_archive");
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION parking_records_p202406"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION parking_records_completed_default"));
+    }
+
+    @Test
+    void runMaintenance_comMesJaArquivado_deveRenomearAPartitionAntesDeMoverParaOArquivo() {
+        stubCatalog(List.of(), List.of("parking_records_p202405"));
+        when(jdbcTemplate.queryForObject(contains("pg_namespace"), eq(Boolean.class),
+                eq("parking_records_p202405"), eq("parking_archive"))).thenReturn(true);
+
+        maintenance.runMaintenance(CURRENT_MONTH);
+
+        verify(jdbcTemplate).execute("ALTER TABLE parking_records_completed DETACH PARTITION parking_records_p202405");
+        verify(jdbcTemplate).execute("ALTER TABLE parking_records_p202405 RENAME TO parking_records_p202405_2");
+        verify(jdbcTemplate).execute("ALTER TABLE parking_records_p202405_2 SET SCHEMA parking_archive");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE parking_records_p202405 SET SCHEMA parking_archive");
+    }
+
+    @Test
+    void runMaintenance_quandoTabelaNaoEParticionada_naoDeveAlterarNada() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(false);
+
+        maintenance.runMaintenance(CURRENT_MONTH);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void partitionMonth_deveReconhecerSomenteNomesDePartitionsMensais() {
+        assertEquals(Optional.of(YearMonth.of(2025, 1)), ParkingRecordPartitionMaintenance.partitionMonth("parking_records_p202501"));
+        assertEquals("parking_records_p202501", ParkingRecordPartitionMaintenance.partitionName(YearMonth.of(2025, 1)));
+        assertTrue(ParkingRecordPartitionMaintenance.partitionMonth("parking_records_completed_default").isEmpty());
+    }
+
+    private void stubCatalog(List<Date> monthsInDefault, List<String> attachedPartitions) {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS (SELECT 1 FROM pg_class"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForList(contains("date_trunc"), eq(Date.class))).thenReturn(monthsInDefault);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), any(Object[].class)))
+                .thenReturn(attachedPartitions);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Mock
+    private Connection connection;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearTransactionState() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_emTransacaoSomenteLeituraComReplicaEmDia_deveUsarAReplica() throws Exception {
+        // Arrange
+        ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaLagMonitor.isAvailable()).thenReturn(true);
+        when(replica.getConnection()).thenReturn(connection);
+
+        // Act & Assert
+        assertSame(connection, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+        assertEquals(1.0, connections("replica"));
+    }
+
+    @Test
+    void getConnection_emTransacaoSomenteLeituraComReplicaAtrasada_deveVoltarParaOPrimario() throws Exception {
+        // Arrange
+        ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaLagMonitor.isAvailable()).thenReturn(false);
+        when(primary.getConnection()).thenReturn(connection);
+
+        // Act & Assert
+        assertSame(connection, dataSource.getConnection());
+        verify(replica, never()).getConnection();
+        assertEquals(1.0, meterRegistry.get("parking.datasource.replica.fallbacks").functionCounter().count());
+    }
+
+    @Test
+    void getConnection_foraDeTransacaoSomenteLeitura_deveUsarOPrimarioSemConsultarOAtraso() throws Exception {
+        // Arrange
+        ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+        when(primary.getConnection()).thenReturn(connection);
+
+        // Act & Assert
+        assertSame(connection, dataSource.getConnection());
+        verify(replicaLagMonitor, never()).isAvailable();
+        assertEquals(1.0, connections("primary"));
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("parking.datasource.connections").tag("target", target).functionCounter().count();
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.estapar.parkingmanagement.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaLagMonitorTest {
+
+    private static final String LAG_QUERY = "SELECT 0";
+
+    @Mock
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ReplicaLagMonitor(replicaJdbcTemplate, LAG_QUERY, 5, meterRegistry);
+    }
+
+    @Test
+    void check_comAtrasoDentroDoLimite_deveLiberarAReplica() {
+        // Arrange
+        when(replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class)).thenReturn(1.5);
+
+        // Act
+        monitor.check();
+
+        // Assert
+        assertTrue(monitor.isAvailable());
+        assertEquals(1.5, meterRegistry.get("parking.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void check_comAtrasoAcimaDoLimite_deveVoltarParaOPrimario() {
+        // Arrange
+        when(replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class)).thenReturn(1.0, 12.0);
+
+        // Act
+        monitor.check();
+        monitor.check();
+
+        // Assert
+        assertFalse(monitor.isAvailable());
+        assertEquals(0.0, meterRegistry.get("parking.datasource.replica.available").gauge().value());
+    }
+
+    @Test
+    void check_comReplicaForaDoAr_deveVoltarParaOPrimario() {
+        // Arrange
+        when(replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class))
+                .thenReturn(0.0)
+                .thenThrow(new DataAccessResourceFailureException("Conexão recusada"));
+
+        // Act
+        monitor.check();
+        monitor.check();
+
+        // Assert
+        assertFalse(monitor.isAvailable());
+    }
+
+    @Test
+    void isAvailable_antesDaPrimeiraVerificacao_deveSerFalso() {
+        assertFalse(monitor.isAvailable());
+    }
+}
@@ -0,0 +1,189 @@
+package br.com.estapar.parkingmanagement.infrastructure.web.controller;
+
+import br.com.estapar.parkingmanagement.application.cache.WebhookDeduplicationCache;
+import br.com.estapar.parkingmanagement.application.dto.webhook.EventType;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventDTO;
+import br.com.estapar.parkingmanagement.application.dto.webhook.WebhookEventResultDTO;
+import br.com.estapar.parkingmanagement.application.exception.EventQueueFullException;
+import br.com.estapar.parkingmanagement.application.service.GarageInitializer;
+import br.com.estapar.parkingmanagement.application.service.ParkingEventService;
+import br.com.estapar.parkingmanagement.application.service.SectorEventEngine;
+import br.com.estapar.parkingmanagement.application.service.WebhookBatchService;
+import br.com.estapar.parkingmanagement.application.service.WebhookEventDispatcher;
+import br.com.estapar.parkingmanagement.infrastructure.journal.EventJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookControllerTest {
+
+    @Mock
+    private ParkingEventService parkingEventService;
+
+    @Mock
+    private WebhookBatchService webhookBatchService;
+
+    @Mock
+    private WebhookEventDispatcher webhookEventDispatcher;
+
+    @Mock
+    private EventJournal eventJournal;
+
+    @Mock
+    private GarageInitializer garageInitializer;
+
+    @Mock
+    private WebhookDeduplicationCache webhookDeduplicationCache;
+
+    @Mock
+    private SectorEventEngine sectorEventEngine;
+
+    private WebhookController webhookController;
+
+    @BeforeEach
+    void setUp() {
+        webhookController = new WebhookController(parkingEventService, webhookBatchService, webhookEventDispatcher,
+                eventJournal, garageInitializer, webhookDeduplicationCache, sectorEventEngine);
+        when(garageInitializer.isReady()).thenReturn(true);
+        when(webhookDeduplicationCache.register(any())).thenReturn(true);
+    }
+
+    @Test
+    void receiveEventEBatch_comMotorPorSetor_devemEnfileirarNoMotorNaOrdemRecebida() {
+        // Arrange
+        when(sectorEventEngine.isEnabled()).thenReturn(true);
+        when(sectorEventEngine.submit(any())).thenReturn(true);
+        WebhookEventDTO entry = event(EventType.ENTRY, "ABC1234");
+        WebhookEventDTO parked = event(EventType.PARKED, "ABC1234");
+        WebhookEventDTO exit = event(EventType.EXIT, "ABC1234");
+
+        // Act: o evento avulso e o lote da mesma placa chegam em sequência
+        ResponseEntity<String> single = webhookController.receiveEvent(entry);
+        ResponseEntity<List<WebhookEventResultDTO>> batch = webhookController.receiveBatch(List.of(parked, exit));
+
+        // Assert: nenhum evento escapa do laço do setor
+        assertEquals(HttpStatus.ACCEPTED, single.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, batch.getStatusCode());
+        assertTrue(batch.getBody().stream().allMatch(WebhookEventResultDTO::isSuccess));
+        InOrder inOrder = inOrder(sectorEventEngine);
+        inOrder.verify(sectorEventEngine).submit(entry);
+        inOrder.verify(sectorEventEngine).submit(parked);
+        inOrder.verify(sectorEventEngine).submit(exit);
+        verifyNoInteractions(webhookBatchService, parkingEventService, webhookEventDispatcher);
+    }
+
+    @Test
+    void receiveEventEBatch_comModoAssincrono_devemEnfileirarNoDespachante() {
+        // Arrange
+        when(webhookEventDispatcher.isEnabled()).thenReturn(true);
+        when(webhookEventDispatcher.submit(any())).thenReturn(true);
+        WebhookEventDTO entry = event(EventType.ENTRY, "XYZ9876");
+        WebhookEventDTO exit = event(EventType.EXIT, "XYZ9876");
+
+        // Act
+        webhookController.receiveEvent(entry);
+        ResponseEntity<List<WebhookEventResultDTO>> batch = webhookController.receiveBatch(List.of(exit));
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, batch.getStatusCode());
+        InOrder inOrder = inOrder(webhookEventDispatcher);
+        inOrder.verify(webhookEventDispatcher).submit(entry);
+        inOrder.verify(webhookEventDispatcher).submit(exit);
+        verifyNoInteractions(webhookBatchService, parkingEventService);
+    }
+
+    @Test
+    void receiveEvent_comDiario_deveConfirmarAposOFsyncSemProcessarNaRequisicao() {
+        // Arrange: o despachante fica habilitado sempre que o diário está
+        when(eventJournal.isEnabled()).thenReturn(true);
+        when(webhookEventDispatcher.isEnabled()).thenReturn(true);
+        when(webhookEventDispatcher.submit(any())).thenReturn(true);
+        WebhookEventDTO entry = event(EventType.ENTRY, "ABC1234");
+
+        // Act
+        ResponseEntity<String> response = webhookController.receiveEvent(entry);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        InOrder inOrder = inOrder(eventJournal, webhookEventDispatcher);
+        inOrder.verify(eventJournal).appendDurably(List.of(entry));
+        inOrder.verify(webhookEventDispatcher).submit(entry);
+        verifyNoInteractions(parkingEventService, webhookBatchService);
+    }
+
+    @Test
+    void receiveBatch_comFilaCheia_deveRecusarOEventoEOsSeguintes() {
+        // Arrange
+        when(sectorEventEngine.isEnabled()).thenReturn(true);
+        WebhookEventDTO entry = event(EventType.ENTRY, "ABC1234");
+        WebhookEventDTO parked = event(EventType.PARKED, "ABC1234");
+        WebhookEventDTO exit = event(EventType.EXIT, "ABC1234");
+        when(sectorEventEngine.submit(entry)).thenReturn(true);
+        when(sectorEventEngine.submit(parked)).thenReturn(false);
+
+        // Act
+        List<WebhookEventResultDTO> results = webhookController.receiveBatch(List.of(entry, parked, exit)).getBody();
+
+        // Assert: o EXIT não pode passar à frente do PARKED recusado
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        verify(sectorEventEngine, never()).submit(exit);
+        verify(webhookDeduplicationCache).forget(parked);
+        verify(webhookDeduplicationCache).forget(exit);
+        verify(webhookDeduplicationCache, never()).forget(entry);
+        // Os recusados não seguram o checkpoint do diário; o aceito só o libera depois de aplicado
+        verify(eventJournal).markApplied(parked);
+        verify(eventJournal).markApplied(exit);
+        verify(eventJournal, never()).markApplied(entry);
+    }
+
+    @Test
+    void receiveEvent_comDiarioEFilaCheia_deveLiberarOCheckpointEEsquecerOEvento() {
+        // Arrange
+        when(eventJournal.isEnabled()).thenReturn(true);
+        when(webhookEventDispatcher.isEnabled()).thenReturn(true);
+        when(webhookEventDispatcher.submit(any())).thenReturn(false);
+        WebhookEventDTO entry = event(EventType.ENTRY, "ABC1234");
+
+        // Act & Assert
+        assertThrows(EventQueueFullException.class, () -> webhookController.receiveEvent(entry));
+        verify(eventJournal).markApplied(entry);
+        verify(webhookDeduplicationCache).forget(entry);
+    }
+
+    @Test
+    void receiveBatch_semProcessamentoAssincrono_deveProcessarEmLote() {
+        // Arrange
+        WebhookEventDTO entry = event(EventType.ENTRY, "ABC1234");
+        when(webhookBatchService.processBatch(List.of(entry)))
+                .thenReturn(List.of(WebhookEventResultDTO.success(0, entry)));
+
+        // Act
+        ResponseEntity<List<WebhookEventResultDTO>> batch = webhookController.receiveBatch(List.of(entry));
+
+        // Assert
+        assertEquals(HttpStatus.OK, batch.getStatusCode());
+        verify(webhookBatchService, times(1)).processBatch(List.of(entry));
+        verify(sectorEventEngine, never()).submit(any());
+    }
+
+    private WebhookEventDTO event(EventType eventType, String licensePlate) {
+        WebhookEventDTO eventDTO = new WebhookEventDTO();
+        eventDTO.setEventType(eventType);
+        eventDTO.setLicensePlate(licensePlate);
+        return eventDTO;
+    }
+}